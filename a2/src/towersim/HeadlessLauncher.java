@@ -0,0 +1,81 @@
+package towersim;
+
+import towersim.control.AirportNetwork;
+import towersim.control.ControlTower;
+import towersim.control.EventDrivenSimulator;
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point for running the Control Tower Simulation without a GUI.
+ */
+public class HeadlessLauncher {
+
+    /**
+     * Loads one or more control towers from the given save files, advances them by the given
+     * number of ticks and prints a summary of the resulting state.
+     * <p>
+     * Usage: {@code tick_file aircraft_file queues_file terminalsWithGates_file [...] num_ticks}
+     * <p>
+     * Each group of four save files is the same as the arguments to
+     * {@link Launcher#main(String[])}, and {@code num_ticks} is the number of ticks to simulate.
+     * A single control tower is advanced with an {@link EventDrivenSimulator}, which skips over
+     * quiet ticks. Several control towers are ticked concurrently as an {@link AirportNetwork}.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 5 || (args.length - 1) % 4 != 0) {
+            System.err.println("Usage: tick_file aircraft_file queues_file"
+                    + " terminalsWithGates_file [...] num_ticks");
+            System.exit(1);
+        }
+        long ticks;
+        try {
+            ticks = Long.parseLong(args[args.length - 1]);
+        } catch (NumberFormatException e) {
+            System.err.println("Number of ticks must be an integer: " + args[args.length - 1]);
+            System.exit(1);
+            return;
+        }
+        if (ticks < 0) {
+            System.err.println("Number of ticks cannot be negative: " + ticks);
+            System.exit(1);
+            return;
+        }
+
+        List<List<String>> saveFiles = new ArrayList<>();
+        for (int i = 0; i + 4 < args.length; i += 4) {
+            saveFiles.add(Arrays.asList(args).subList(i, i + 4));
+        }
+        AirportNetwork network = new AirportNetwork();
+        try {
+            network.loadControlTowers(saveFiles);
+        } catch (MalformedSaveException | IOException e) {
+            System.err.println("Error loading from file. Stack trace below:");
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+
+        long start = System.nanoTime();
+        if (saveFiles.size() == 1) {
+            new EventDrivenSimulator(network.getControlTowers().get(0)).advance(ticks);
+        } else {
+            network.advance(ticks);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        for (ControlTower tower : network.getControlTowers()) {
+            System.out.println(tower);
+        }
+        if (saveFiles.size() > 1) {
+            System.out.println(network);
+        }
+        System.out.printf("Simulated %d ticks in %.3f seconds%n", ticks, elapsed / 1e9);
+    }
+}
@@ -7,6 +7,9 @@ import towersim.util.Encodable;
 import towersim.util.OccupancyLevel;
 import towersim.util.Tickable;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -21,8 +24,11 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     public static final double LITRE_OF_FUEL_WEIGHT = 0.8;
 
-    /** Unique callsign to identify the aircraft */
-    private String callsign;
+    /** Value of a cached quantity that has not been calculated since it was last invalidated */
+    private static final int NOT_CALCULATED = -1;
+
+    /** Unique callsign to identify the aircraft, interned so that it can be compared by reference */
+    private final String callsign;
 
     /** Characteristics of this aircraft including weight, fuel capacity, etc. */
     private AircraftCharacteristics characteristics;
@@ -30,12 +36,33 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
     /** List of tasks representing the aircraft's desired operations */
     private TaskList tasks;
 
-    /** Current amount of fuel onboard, in litres */
+    /** Current amount of fuel onboard, in litres, while the aircraft is not in a fleet store */
     private double fuelAmount;
 
-    /** Whether the aircraft is currently in a state of emergency */
+    /** Whether the aircraft is in a state of emergency, while it is not in a fleet store */
     private boolean emergency;
 
+    /**
+     * Amount of cargo (passengers or freight) onboard, in the units used by the subclass, while
+     * the aircraft is not in a fleet store
+     */
+    private int cargoAmount;
+
+    /** Fleet store holding the state of this aircraft, or null if it holds its own state */
+    private FleetStore fleetStore;
+
+    /** Row of this aircraft in its fleet store */
+    private int fleetRow;
+
+    /** Loading time for the current task, or NOT_CALCULATED if the task has since changed */
+    private int loadingTime;
+
+    /** Percentage of fuel remaining, or NOT_CALCULATED if the fuel has since changed */
+    private int fuelPercentRemaining;
+
+    /** Listeners to notify when the state of this aircraft changes */
+    private final List<AircraftListener> listeners;
+
     /**
      * Creates a new aircraft with the given callsign, task list, fuel capacity and amount.
      * <p>
@@ -60,11 +87,41 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
         if (fuelAmount > characteristics.fuelCapacity) {
             throw new IllegalArgumentException("Amount of fuel onboard cannot exceed capacity");
         }
-        this.callsign = callsign;
+        this.callsign = callsign.intern();
         this.characteristics = characteristics;
         this.tasks = tasks;
         this.fuelAmount = fuelAmount;
         this.emergency = false;
+        this.cargoAmount = 0;
+        this.fleetStore = null;
+        this.fleetRow = -1;
+        this.loadingTime = NOT_CALCULATED;
+        this.fuelPercentRemaining = NOT_CALCULATED;
+        this.listeners = new ArrayList<>();
+        tasks.addListener((taskList, previousTask) -> {
+            this.loadingTime = NOT_CALCULATED;
+            notifyTaskChanged(previousTask.getType());
+        });
+    }
+
+    /**
+     * Registers the given listener to be notified when the state of this aircraft changes.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(AircraftListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Stops notifying the given listener of changes to this aircraft.
+     * <p>
+     * If the listener was never registered, no action is taken.
+     *
+     * @param listener listener to remove
+     */
+    public void removeListener(AircraftListener listener) {
+        this.listeners.remove(listener);
     }
 
     /**
@@ -84,7 +141,75 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public double getFuelAmount() {
-        return fuelAmount;
+        return fleetStore == null ? fuelAmount : fleetStore.getFuelAmount(fleetRow);
+    }
+
+    /* Sets the current amount of fuel onboard, in litres */
+    private void setFuelAmount(double fuelAmount) {
+        if (fleetStore == null) {
+            this.fuelAmount = fuelAmount;
+        } else {
+            fleetStore.setFuelAmount(fleetRow, fuelAmount);
+        }
+    }
+
+    /**
+     * Returns the amount of cargo currently onboard.
+     * <p>
+     * Subclasses store the amount of the cargo they carry, such as the number of passengers or
+     * the kilograms of freight, here rather than in fields of their own, so that it can be held
+     * in a {@link FleetStore}.
+     *
+     * @return amount of cargo onboard
+     */
+    public int getCargoAmount() {
+        return fleetStore == null ? cargoAmount : fleetStore.getCargoAmount(fleetRow);
+    }
+
+    /**
+     * Sets the amount of cargo currently onboard.
+     *
+     * @param cargoAmount amount of cargo onboard
+     * @see #getCargoAmount()
+     */
+    protected void setCargoAmount(int cargoAmount) {
+        if (fleetStore == null) {
+            this.cargoAmount = cargoAmount;
+        } else {
+            fleetStore.setCargoAmount(fleetRow, cargoAmount);
+        }
+    }
+
+    /* Sets whether the aircraft is currently in a state of emergency */
+    private void setEmergency(boolean emergency) {
+        if (fleetStore == null) {
+            this.emergency = emergency;
+        } else {
+            fleetStore.setEmergency(fleetRow, emergency);
+        }
+    }
+
+    /*
+     * Moves the state of this aircraft into the given row of the given fleet store. The row must
+     * already hold a copy of the aircraft's state. The aircraft's own state fields are cleared,
+     * as from then on the row is the only copy of its state.
+     */
+    void attachToFleetStore(FleetStore fleetStore, int fleetRow) {
+        this.fleetStore = fleetStore;
+        this.fleetRow = fleetRow;
+        this.fuelAmount = 0;
+        this.emergency = false;
+        this.cargoAmount = 0;
+    }
+
+    /* Returns the fleet store holding the state of this aircraft, or null if there is none */
+    FleetStore getFleetStore() {
+        return fleetStore;
+    }
+
+    /* Returns the row of this aircraft in its fleet store */
+    int getFleetRow() {
+        return fleetRow;
     }
 
     /**
@@ -101,13 +226,18 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * Returns the percentage of fuel remaining, rounded to the nearest whole percentage, 0 to 100.
      * <p>
      * This is calculated as 100 multiplied by the fuel amount divided by the fuel capacity,
-     * rounded to the nearest integer.
+     * rounded to the nearest integer. The result is calculated at most once each time the amount
+     * of fuel onboard changes.
      *
      * @return percentage of fuel remaining
      * @ass1
      */
     public int getFuelPercentRemaining() {
-        return (int) Math.round(100 * fuelAmount / this.characteristics.fuelCapacity);
+        if (this.fuelPercentRemaining == NOT_CALCULATED) {
+            this.fuelPercentRemaining = (int) Math.round(100 * getFuelAmount()
+                    / this.characteristics.fuelCapacity);
+        }
+        return this.fuelPercentRemaining;
     }
 
     /**
@@ -124,7 +254,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * @ass1
      */
     public double getTotalWeight() {
-        return this.getCharacteristics().emptyWeight + this.fuelAmount * LITRE_OF_FUEL_WEIGHT;
+        return this.getCharacteristics().emptyWeight + getFuelAmount() * LITRE_OF_FUEL_WEIGHT;
     }
 
     /**
@@ -147,6 +277,23 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     public abstract int getLoadingTime();
 
+    /**
+     * Returns the number of ticks required to load the aircraft at the gate, as given by
+     * {@link #getLoadingTime()}, calculating it at most once for each task.
+     * <p>
+     * The loading time of an aircraft may only depend on its characteristics and its current
+     * task. Subclasses should call this method rather than {@code getLoadingTime()} wherever the
+     * loading time is needed repeatedly, such as on every tick.
+     *
+     * @return time to load aircraft, in ticks
+     */
+    protected final int getCachedLoadingTime() {
+        if (this.loadingTime == NOT_CALCULATED) {
+            this.loadingTime = getLoadingTime();
+        }
+        return this.loadingTime;
+    }
+
     /**
      * Unloads the aircraft of all cargo (passengers/freight) it is currently carrying.
      * This action should be performed instantly. After calling unload(),
@@ -175,64 +322,154 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
     @Override
     public void tick() {
         TaskType currentTaskType = this.tasks.getCurrentTask().getType();
+        double previousFuelAmount = getFuelAmount();
+        double fuelAmount = previousFuelAmount;
 
         // fuel amount drops by 10% of capacity each AWAY tick
         if (currentTaskType == TaskType.AWAY) {
-            this.fuelAmount -= this.characteristics.fuelCapacity / 10;
+            fuelAmount -= this.characteristics.fuelCapacity / 10;
             // fuel amount can't go below 0
-            if (this.fuelAmount < 0) {
-                this.fuelAmount = 0;
+            if (fuelAmount < 0) {
+                fuelAmount = 0;
             }
         }
 
         // loading replenishes fuelCapacity/loadingTime of maximum fuel capacity
         if (currentTaskType == TaskType.LOAD) {
-            this.fuelAmount = Math.min(this.characteristics.fuelCapacity,
-                    this.fuelAmount + this.characteristics.fuelCapacity / getLoadingTime());
+            fuelAmount = Math.min(this.characteristics.fuelCapacity,
+                    fuelAmount + this.characteristics.fuelCapacity / getCachedLoadingTime());
+        }
+
+        if (fuelAmount != previousFuelAmount) {
+            setFuelAmount(fuelAmount);
+            notifyFuelChanged();
+        }
+    }
+
+    /**
+     * Performs the given number of consecutive ticks in which this aircraft is {@code AWAY} or
+     * {@code WAIT}ing, moving on to the next task in its task list after each tick.
+     * <p>
+     * This has the same effect as calling {@link #tick()} followed by
+     * {@code getTaskList().moveToNextTask()} the given number of times, provided that the type of
+     * the current task stays the same throughout (see
+     * {@link TaskList#getMovesUntilTypeChanges()}). Listeners are notified at most once of the
+     * change in fuel and once of the change in task, rather than after every tick.
+     * <p>
+     * Subclasses that override {@link #tick()} to act on {@code AWAY} or {@code WAIT} tasks
+     * should override this method to match.
+     *
+     * @param ticks number of ticks to perform
+     * @throws IllegalArgumentException if ticks &lt; 0
+     * @throws IllegalStateException if the current task is not {@code AWAY} or {@code WAIT}, or
+     *                               its type would change within the given number of ticks
+     */
+    public void tickAndMove(int ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Cannot perform a negative number of ticks");
+        }
+        TaskType currentTaskType = this.tasks.getCurrentTask().getType();
+        if (currentTaskType != TaskType.AWAY && currentTaskType != TaskType.WAIT) {
+            throw new IllegalStateException("Current task must be AWAY or WAIT");
+        }
+        int movesUntilTypeChanges = this.tasks.getMovesUntilTypeChanges();
+        if (movesUntilTypeChanges != -1 && ticks >= movesUntilTypeChanges) {
+            throw new IllegalStateException("Current task type would change within "
+                    + ticks + " ticks");
+        }
+        double previousFuelAmount = getFuelAmount();
+        double fuelAmount = previousFuelAmount;
+
+        // burn fuel one tick at a time so that the result matches tick() exactly
+        if (currentTaskType == TaskType.AWAY) {
+            for (int i = 0; i < ticks && fuelAmount > 0; i++) {
+                fuelAmount -= this.characteristics.fuelCapacity / 10;
+                if (fuelAmount < 0) {
+                    fuelAmount = 0;
+                }
+            }
+        }
+
+        if (fuelAmount != previousFuelAmount) {
+            setFuelAmount(fuelAmount);
+            notifyFuelChanged();
         }
+        this.tasks.moveForward(ticks);
     }
 
     /**
-     * Returns true if and only if this aircraft is equal to the other given aircraft.
-     * For two aircraft to be equal, they must:
+     * Performs the given number of consecutive ticks in which this aircraft is {@code LOAD}ing,
+     * without moving on to the next task.
+     * <p>
+     * This has the same effect as calling {@link #tick()} the given number of times while the
+     * current task is {@code LOAD}. Listeners are notified at most once of the change in fuel,
+     * rather than after every tick.
+     * <p>
+     * Subclasses that override {@link #tick()} to act on {@code LOAD} tasks should override this
+     * method to match.
      *
-     * have the same callsign
-     * have the same characteristics (AircraftCharacteristics)
-     * @param obj - other object to check equality
+     * @param ticks number of ticks to perform
+     * @throws IllegalArgumentException if ticks &lt; 0
+     * @throws IllegalStateException if the current task is not {@code LOAD}
+     */
+    public void tickLoading(int ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Cannot perform a negative number of ticks");
+        }
+        if (this.tasks.getCurrentTask().getType() != TaskType.LOAD) {
+            throw new IllegalStateException("Current task must be LOAD");
+        }
+        double previousFuelAmount = getFuelAmount();
+        double fuelAmount = previousFuelAmount;
+
+        // refuel one tick at a time so that the result matches tick() exactly
+        double fuelCapacity = this.characteristics.fuelCapacity;
+        double fuelPerTick = fuelCapacity / getLoadingTime();
+        for (int i = 0; i < ticks && fuelAmount < fuelCapacity; i++) {
+            fuelAmount = Math.min(fuelCapacity, fuelAmount + fuelPerTick);
+        }
+
+        if (fuelAmount != previousFuelAmount) {
+            setFuelAmount(fuelAmount);
+            notifyFuelChanged();
+        }
+    }
+
+    /**
+     * Returns true if and only if this aircraft is equal to the other given object.
+     * <p>
+     * An aircraft is identified by its callsign, which never changes. Two aircraft are equal if
+     * and only if they have the same callsign, so aircraft can be used as keys in hash-based
+     * collections regardless of how their state changes.
+     *
+     * @param obj other object to check equality
      * @return true if equal, false otherwise
      */
     @Override
     public boolean equals(Object obj) {
-        boolean state = false;
-        // declare obj to be class
-        if (obj == null) {
-            return false;
+        if (this == obj) {
+            return true;
         }
-        if (hashCode() == obj.hashCode()) {
-            state = true;
+        if (!(obj instanceof Aircraft)) {
+            return false;
         }
-        return state;
+        // callsigns are interned, so equal callsigns are the same string
+        return this.callsign == ((Aircraft) obj).callsign;
     }
 
     /**
      * Returns the hash code of this aircraft.
      * Two aircraft that are equal according to equals(Object) should have the same hash code.
+     * <p>
+     * The hash code is that of the aircraft's callsign.
      *
      * @return hashcode of this aircraft
      */
     @Override
     public int hashCode() {
-        int hashcode = 0;
-        // iterate through the callsign and change characters to integers
-        for (char callsignEntry : callsign.toCharArray()) {
-            hashcode += Character.getNumericValue(callsignEntry);
-        }
-        hashcode += getCharacteristics().fuelCapacity;
-        hashcode += getLoadingTime();
-        return hashcode;
+        return callsign.hashCode();
     }
 
-
     /**
      * Returns the human-readable string representation of this aircraft.
      * <p>
@@ -257,7 +494,7 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
                 this.callsign,
                 this.characteristics,
                 this.tasks.getCurrentTask().getType(),
-                this.emergency ? " (EMERGENCY)" : "");
+                hasEmergency() ? " (EMERGENCY)" : "");
     }
 
     /**
@@ -273,15 +510,64 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      * fuelAmount is the aircraft's current amount of fuel onboard, formatted to exactly two
      * (2) decimal places
      * emergency is whether or not the aircraft is currently in a state of emergency
+     *
+     * Subclasses may follow this with further fields, as described in their
+     * encodeTo(Appendable).
      * @return encoded string representation of this aircraft
      */
+    @Override
     public String encode() {
-        String result = "";
-        result += getCallsign() + ":";
-        result += getCharacteristics() + ":";
-        result += getTaskList().encode();
-        result += ":" + String.format("%.2f", getFuelAmount()) + ":" + hasEmergency();
-        return result;
+        return Encodable.encodeToString(this);
+    }
+
+    /**
+     * Appends the machine-readable string representation of this aircraft, as returned by
+     * {@link #encode()}, to the given appendable.
+     *
+     * @param out appendable to write the encoded representation to
+     * @throws IOException if an IOException occurs when appending to the appendable
+     */
+    @Override
+    public void encodeTo(Appendable out) throws IOException {
+        out.append(getCallsign()).append(':')
+                .append(String.valueOf(getCharacteristics())).append(':');
+        getTaskList().encodeTo(out);
+        out.append(':');
+        appendFuelAmount(out, getFuelAmount());
+        out.append(':').append(String.valueOf(hasEmergency()));
+    }
+
+    /*
+     * Appends the given amount of fuel to the given appendable, formatted to exactly two decimal
+     * places in the same way as String.format("%.2f", fuelAmount), but without building a
+     * formatter or any strings.
+     */
+    private static void appendFuelAmount(Appendable out, double fuelAmount) throws IOException {
+        // doubles this large are still spaced far closer together than a hundredth; anything
+        // else (including -0.0 and NaN) is left to the formatter
+        if (!(Double.compare(fuelAmount, 0.0) >= 0 && fuelAmount < 1e12)) {
+            out.append(String.format("%.2f", fuelAmount));
+            return;
+        }
+        // String.format rounds the shortest decimal representation of the amount half up, which
+        // is the same as rounding up from the double nearest to each halfway point
+        long hundredths = (long) Math.floor(fuelAmount * 100 + 0.5);
+        while (hundredths > 0 && fuelAmount < (2 * hundredths - 1) / 200.0) {
+            hundredths--;
+        }
+        while (fuelAmount >= (2 * hundredths + 1) / 200.0) {
+            hundredths++;
+        }
+        long whole = hundredths / 100;
+        long divisor = 1;
+        while (divisor <= whole / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + whole / divisor % 10));
+        }
+        int fraction = (int) (hundredths % 100);
+        out.append('.').append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
     }
 
     /**
@@ -290,7 +576,10 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public void declareEmergency() {
-        this.emergency = true;
+        if (!hasEmergency()) {
+            setEmergency(true);
+            notifyEmergencyChanged();
+        }
     }
 
     /**
@@ -299,7 +588,10 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public void clearEmergency() {
-        this.emergency = false;
+        if (hasEmergency()) {
+            setEmergency(false);
+            notifyEmergencyChanged();
+        }
     }
 
     /**
@@ -308,6 +600,31 @@ public abstract class Aircraft implements OccupancyLevel, Tickable, EmergencySta
      */
     @Override
     public boolean hasEmergency() {
-        return emergency;
+        return fleetStore == null ? emergency : fleetStore.hasEmergency(fleetRow);
+    }
+
+    /*
+     * Notifies all registered listeners that the amount of fuel onboard has changed, after
+     * invalidating any quantities calculated from the previous amount
+     */
+    void notifyFuelChanged() {
+        this.fuelPercentRemaining = NOT_CALCULATED;
+        for (int i = 0; i < this.listeners.size(); i++) {
+            this.listeners.get(i).fuelChanged(this);
+        }
+    }
+
+    /* Notifies all registered listeners that the emergency state has changed */
+    private void notifyEmergencyChanged() {
+        for (int i = 0; i < this.listeners.size(); i++) {
+            this.listeners.get(i).emergencyChanged(this);
+        }
+    }
+
+    /* Notifies all registered listeners that the current task has changed */
+    private void notifyTaskChanged(TaskType previousType) {
+        for (int i = 0; i < this.listeners.size(); i++) {
+            this.listeners.get(i).taskChanged(this, previousType);
+        }
     }
 }
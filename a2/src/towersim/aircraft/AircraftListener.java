@@ -0,0 +1,40 @@
+package towersim.aircraft;
+
+import towersim.tasks.TaskType;
+
+/**
+ * Receives notifications when the state of an aircraft changes in a way that may affect the
+ * structures it has been placed in, such as the order of a landing queue or the grouping of
+ * aircraft by task in a control tower.
+ * <p>
+ * Listeners are registered with {@link Aircraft#addListener(AircraftListener)} and removed with
+ * {@link Aircraft#removeListener(AircraftListener)}.
+ */
+public interface AircraftListener {
+
+    /**
+     * Called after the given aircraft declares or clears a state of emergency.
+     *
+     * @param aircraft aircraft whose emergency state changed
+     */
+    default void emergencyChanged(Aircraft aircraft) {
+    }
+
+    /**
+     * Called after the amount of fuel onboard the given aircraft changes.
+     *
+     * @param aircraft aircraft whose fuel amount changed
+     */
+    default void fuelChanged(Aircraft aircraft) {
+    }
+
+    /**
+     * Called after the current task of the given aircraft moves on to the next task in its
+     * task list.
+     *
+     * @param aircraft     aircraft whose current task changed
+     * @param previousType type of the task that was current before the change
+     */
+    default void taskChanged(Aircraft aircraft, TaskType previousType) {
+    }
+}
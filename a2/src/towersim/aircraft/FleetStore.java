@@ -0,0 +1,225 @@
+package towersim.aircraft;
+
+import towersim.tasks.TaskType;
+
+import java.util.Arrays;
+
+/**
+ * A columnar store for the changing state of a fleet of aircraft.
+ * <p>
+ * Each aircraft added to the store is given a row, and from then on its amount of fuel, amount
+ * of cargo and emergency state are held in primitive arrays (one per kind of state) rather than
+ * in the aircraft itself. The aircraft becomes a view over its row: all of its methods behave
+ * exactly as before, but read and write the store.
+ * <p>
+ * The store also keeps the characteristics and current task type of each aircraft in columns,
+ * so that {@link #tick()} can tick the whole fleet as a tight loop over the columns rather than
+ * calling {@link Aircraft#tick()} on each aircraft in turn.
+ * <p>
+ * The store does not reduce the memory used by each aircraft. Aircraft remain the objects that
+ * queues, gates and control towers refer to, so each keeps the fields that hold its state while
+ * it is not in a store; they are left unused while it is. With the columns and the reference to
+ * its row, an aircraft in a store takes slightly more memory than one that is not. What the
+ * store gains is the column loop of {@link #tick()}, which reads only the columns it needs.
+ */
+public class FleetStore {
+
+    /** All aircraft characteristics, indexed by ordinal */
+    private static final AircraftCharacteristics[] CHARACTERISTICS =
+            AircraftCharacteristics.values();
+
+    /** All task types, indexed by ordinal */
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+
+    /** Initial number of rows allocated for a new store */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Aircraft viewing each row */
+    private Aircraft[] aircraft;
+
+    /** Amount of fuel onboard each aircraft, in litres */
+    private double[] fuelAmounts;
+
+    /** Amount of cargo onboard each aircraft */
+    private int[] cargoAmounts;
+
+    /** Whether each aircraft is in a state of emergency */
+    private boolean[] emergencies;
+
+    /** Ordinal of the characteristics of each aircraft */
+    private byte[] characteristics;
+
+    /** Ordinal of the type of the current task of each aircraft */
+    private byte[] taskTypes;
+
+    /**
+     * Whether each aircraft is a passenger or freight aircraft, whose tick() is known to only burn
+     * fuel while AWAY, and so can be performed directly on the columns
+     */
+    private boolean[] standardTick;
+
+    /** Number of rows in use */
+    private int size;
+
+    /** Listener that keeps the column of current task types up to date */
+    private final AircraftListener taskListener;
+
+    /**
+     * Creates a new, empty FleetStore.
+     */
+    public FleetStore() {
+        this.aircraft = new Aircraft[INITIAL_CAPACITY];
+        this.fuelAmounts = new double[INITIAL_CAPACITY];
+        this.cargoAmounts = new int[INITIAL_CAPACITY];
+        this.emergencies = new boolean[INITIAL_CAPACITY];
+        this.characteristics = new byte[INITIAL_CAPACITY];
+        this.taskTypes = new byte[INITIAL_CAPACITY];
+        this.standardTick = new boolean[INITIAL_CAPACITY];
+        this.size = 0;
+        this.taskListener = new AircraftListener() {
+            @Override
+            public void taskChanged(Aircraft aircraft, TaskType previousType) {
+                taskTypes[aircraft.getFleetRow()] = (byte) aircraft.getTaskList()
+                        .getCurrentTask().getType().ordinal();
+            }
+        };
+    }
+
+    /**
+     * Moves the state of the given aircraft into a new row at the end of this store, and returns
+     * the index of that row.
+     * <p>
+     * Rows are numbered from zero in the order aircraft are added.
+     *
+     * @param aircraft aircraft to add
+     * @return row holding the state of the aircraft
+     * @throws IllegalArgumentException if the aircraft's state is already held in a fleet store
+     */
+    public int add(Aircraft aircraft) {
+        if (aircraft.getFleetStore() != null) {
+            throw new IllegalArgumentException("Aircraft is already in a fleet store");
+        }
+        if (size == this.aircraft.length) {
+            int capacity = size * 2;
+            this.aircraft = Arrays.copyOf(this.aircraft, capacity);
+            this.fuelAmounts = Arrays.copyOf(this.fuelAmounts, capacity);
+            this.cargoAmounts = Arrays.copyOf(this.cargoAmounts, capacity);
+            this.emergencies = Arrays.copyOf(this.emergencies, capacity);
+            this.characteristics = Arrays.copyOf(this.characteristics, capacity);
+            this.taskTypes = Arrays.copyOf(this.taskTypes, capacity);
+            this.standardTick = Arrays.copyOf(this.standardTick, capacity);
+        }
+        int row = size++;
+        this.aircraft[row] = aircraft;
+        this.fuelAmounts[row] = aircraft.getFuelAmount();
+        this.cargoAmounts[row] = aircraft.getCargoAmount();
+        this.emergencies[row] = aircraft.hasEmergency();
+        this.characteristics[row] = (byte) aircraft.getCharacteristics().ordinal();
+        this.taskTypes[row] = (byte) aircraft.getTaskList().getCurrentTask().getType().ordinal();
+        this.standardTick[row] = aircraft.getClass() == PassengerAircraft.class
+                || aircraft.getClass() == FreightAircraft.class;
+        aircraft.attachToFleetStore(this, row);
+        aircraft.addListener(this.taskListener);
+        return row;
+    }
+
+    /**
+     * Returns the number of aircraft in this store.
+     *
+     * @return number of rows in use
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the aircraft whose state is held in the given row.
+     *
+     * @param row row of the aircraft
+     * @return aircraft viewing the row
+     * @throws IndexOutOfBoundsException if the row is not in use
+     */
+    public Aircraft getAircraft(int row) {
+        return aircraft[checkRow(row)];
+    }
+
+    /**
+     * Returns the type of the current task of the aircraft in the given row.
+     *
+     * @param row row of the aircraft
+     * @return type of the aircraft's current task
+     * @throws IndexOutOfBoundsException if the row is not in use
+     */
+    public TaskType getCurrentTaskType(int row) {
+        return TASK_TYPES[taskTypes[checkRow(row)]];
+    }
+
+    /**
+     * Ticks every aircraft in this store, in row order.
+     * <p>
+     * The result is exactly the same as calling {@link Aircraft#tick()} on each aircraft in row
+     * order. Passenger and freight aircraft that are {@code AWAY} burn fuel directly in the
+     * columns of the store, and aircraft waiting to land, take off or be loaded are skipped, as
+     * ticking has no effect on them. All other aircraft are ticked by calling {@code tick()}.
+     */
+    public void tick() {
+        int away = TaskType.AWAY.ordinal();
+        int load = TaskType.LOAD.ordinal();
+        for (int row = 0; row < size; row++) {
+            int taskType = taskTypes[row];
+            if (!standardTick[row] || taskType == load) {
+                aircraft[row].tick();
+            } else if (taskType == away) {
+                double previousFuelAmount = fuelAmounts[row];
+                // same calculation as Aircraft.tick()
+                double fuelAmount = previousFuelAmount
+                        - CHARACTERISTICS[characteristics[row]].fuelCapacity / 10;
+                if (fuelAmount < 0) {
+                    fuelAmount = 0;
+                }
+                if (fuelAmount != previousFuelAmount) {
+                    fuelAmounts[row] = fuelAmount;
+                    aircraft[row].notifyFuelChanged();
+                }
+            }
+        }
+    }
+
+    /* Returns the amount of fuel onboard the aircraft in the given row, in litres */
+    double getFuelAmount(int row) {
+        return fuelAmounts[row];
+    }
+
+    /* Sets the amount of fuel onboard the aircraft in the given row, in litres */
+    void setFuelAmount(int row, double fuelAmount) {
+        fuelAmounts[row] = fuelAmount;
+    }
+
+    /* Returns the amount of cargo onboard the aircraft in the given row */
+    int getCargoAmount(int row) {
+        return cargoAmounts[row];
+    }
+
+    /* Sets the amount of cargo onboard the aircraft in the given row */
+    void setCargoAmount(int row, int cargoAmount) {
+        cargoAmounts[row] = cargoAmount;
+    }
+
+    /* Returns whether the aircraft in the given row is in a state of emergency */
+    boolean hasEmergency(int row) {
+        return emergencies[row];
+    }
+
+    /* Sets whether the aircraft in the given row is in a state of emergency */
+    void setEmergency(int row, boolean emergency) {
+        emergencies[row] = emergency;
+    }
+
+    /* Returns the given row if it is in use, throwing IndexOutOfBoundsException otherwise */
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is not in use");
+        }
+        return row;
+    }
+}
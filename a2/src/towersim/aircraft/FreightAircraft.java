@@ -3,15 +3,14 @@ package towersim.aircraft;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 
+import java.io.IOException;
+
 /**
  * Represents an aircraft capable of carrying freight cargo.
  * @ass1
  */
 public class FreightAircraft extends Aircraft {
 
-    /** Amount of freight currently onboard, in kilograms */
-    private int freightAmount;
-
     /**
      * Creates a new freight aircraft with the given callsign, task list, fuel capacity, amount of
      * fuel and kilograms of freight.
@@ -41,7 +40,7 @@ public class FreightAircraft extends Aircraft {
                     + "capacity");
         }
 
-        this.freightAmount = freightAmount;
+        setCargoAmount(freightAmount);
     }
 
     /**
@@ -52,7 +51,7 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public void unload() {
-        this.freightAmount = 0;
+        setCargoAmount(0);
     }
 
 
@@ -71,7 +70,7 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public double getTotalWeight() {
-        return super.getTotalWeight() + this.freightAmount;
+        return super.getTotalWeight() + getCargoAmount();
     }
 
     /**
@@ -122,7 +121,7 @@ public class FreightAircraft extends Aircraft {
      */
     @Override
     public int calculateOccupancyLevel() {
-        return (int) Math.round((double) this.freightAmount * 100
+        return (int) Math.round((double) getCargoAmount() * 100
                 / this.getCharacteristics().freightCapacity);
     }
 
@@ -171,15 +170,35 @@ public class FreightAircraft extends Aircraft {
 
         if (this.getTaskList().getCurrentTask().getType() == TaskType.LOAD) {
             int freightToLoadThisTick = (int) Math.round(this.getFreightToLoad()
-                    / (double) this.getLoadingTime());
-            this.freightAmount = Math.min(this.freightAmount + freightToLoadThisTick,
-                    this.getCharacteristics().freightCapacity);
+                    / (double) this.getCachedLoadingTime());
+            setCargoAmount(Math.min(getCargoAmount() + freightToLoadThisTick,
+                    this.getCharacteristics().freightCapacity));
         }
     }
 
     /**
-     * Returns the machine-readable string representation of this freight aircraft.
-     * The format of the string to return is
+     * Performs the given number of consecutive ticks in which this aircraft is {@code LOAD}ing.
+     * <p>
+     * The same amount of freight is loaded on every tick (see {@link #tick()}), so freight is
+     * loaded for all of the ticks at once.
+     *
+     * @param ticks number of ticks to perform
+     * @throws IllegalArgumentException if ticks &lt; 0
+     * @throws IllegalStateException if the current task is not {@code LOAD}
+     */
+    @Override
+    public void tickLoading(int ticks) {
+        super.tickLoading(ticks);
+        long freightToLoadPerTick = Math.round(this.getFreightToLoad()
+                / (double) this.getLoadingTime());
+        setCargoAmount((int) Math.min(getCargoAmount() + ticks * freightToLoadPerTick,
+                this.getCharacteristics().freightCapacity));
+    }
+
+    /**
+     * Appends the machine-readable string representation of this freight aircraft to the given
+     * appendable.
+     * The format of the string appended is
      *
      * callsign:model:taskListEncoded:fuelAmount:emergency:freightAmount
      * where:
@@ -191,10 +210,12 @@ public class FreightAircraft extends Aircraft {
      * formatted to exactly two (2) decimal places
      * emergency is whether or not the aircraft is currently in a state of emergency
      * freightAmount is the amount of freight currently onboard
-     * @return encoded string representation of this aircraft
+     * @param out appendable to write the encoded representation to
+     * @throws IOException if an IOException occurs when appending to the appendable
      */
     @Override
-    public String encode() {
-        return super.encode() + ":" + freightAmount;
+    public void encodeTo(Appendable out) throws IOException {
+        super.encodeTo(out);
+        out.append(':').append(String.valueOf(getCargoAmount()));
     }
 }
@@ -3,6 +3,8 @@ package towersim.aircraft;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 
+import java.io.IOException;
+
 /**
  * Represents an aircraft capable of carrying passenger cargo.
  * @ass1
@@ -15,9 +17,6 @@ public class PassengerAircraft extends Aircraft {
      */
     public static final double AVG_PASSENGER_WEIGHT = 90;
 
-    /** Number of passengers currently onboard the aircraft */
-    private int numPassengers;
-
     /**
      * Creates a new passenger aircraft with the given callsign, task list, fuel capacity, amount of
      * fuel and number of passengers.
@@ -47,7 +46,7 @@ public class PassengerAircraft extends Aircraft {
                     + "capacity");
         }
 
-        this.numPassengers = numPassengers;
+        setCargoAmount(numPassengers);
     }
 
     /**
@@ -57,7 +56,7 @@ public class PassengerAircraft extends Aircraft {
      * to indicate that the aircraft is empty.
      */
     public void unload() {
-        this.numPassengers = 0;
+        setCargoAmount(0);
     }
 
     /**
@@ -72,7 +71,7 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public double getTotalWeight() {
-        return super.getTotalWeight() + this.numPassengers * AVG_PASSENGER_WEIGHT;
+        return super.getTotalWeight() + getCargoAmount() * AVG_PASSENGER_WEIGHT;
     }
 
     /**
@@ -115,7 +114,7 @@ public class PassengerAircraft extends Aircraft {
      */
     @Override
     public int calculateOccupancyLevel() {
-        return (int) Math.round((double) this.numPassengers * 100
+        return (int) Math.round((double) getCargoAmount() * 100
                 / this.getCharacteristics().passengerCapacity);
     }
 
@@ -163,15 +162,35 @@ public class PassengerAircraft extends Aircraft {
         super.tick();
         if (this.getTaskList().getCurrentTask().getType() == TaskType.LOAD) {
             int paxToLoadThisTick = (int) Math.round(this.getPassengersToLoad()
-                    / (double) this.getLoadingTime());
-            this.numPassengers = Math.min(this.numPassengers + paxToLoadThisTick,
-                    this.getCharacteristics().passengerCapacity);
+                    / (double) this.getCachedLoadingTime());
+            setCargoAmount(Math.min(getCargoAmount() + paxToLoadThisTick,
+                    this.getCharacteristics().passengerCapacity));
         }
     }
 
     /**
-     * Returns the machine-readable string representation of this passenger aircraft.
-     * The format of the string to return is
+     * Performs the given number of consecutive ticks in which this aircraft is {@code LOAD}ing.
+     * <p>
+     * The same number of passengers is loaded on every tick (see {@link #tick()}), so passengers
+     * are loaded for all of the ticks at once.
+     *
+     * @param ticks number of ticks to perform
+     * @throws IllegalArgumentException if ticks &lt; 0
+     * @throws IllegalStateException if the current task is not {@code LOAD}
+     */
+    @Override
+    public void tickLoading(int ticks) {
+        super.tickLoading(ticks);
+        long paxToLoadPerTick = Math.round(this.getPassengersToLoad()
+                / (double) this.getLoadingTime());
+        setCargoAmount((int) Math.min(getCargoAmount() + ticks * paxToLoadPerTick,
+                this.getCharacteristics().passengerCapacity));
+    }
+
+    /**
+     * Appends the machine-readable string representation of this passenger aircraft to the given
+     * appendable.
+     * The format of the string appended is
      *
      * callsign:model:taskListEncoded:fuelAmount:emergency:numPassengers
      * where:
@@ -183,10 +202,12 @@ public class PassengerAircraft extends Aircraft {
      * formatted to exactly two (2) decimal places
      * emergency is whether or not the aircraft is currently in a state of emergency
      * numPassengers is the number of passengers currently onboard the aircraft
-     * @return encoded string representation of this aircraft
+     * @param out appendable to write the encoded representation to
+     * @throws IOException if an IOException occurs when appending to the appendable
      */
     @Override
-    public String encode() {
-        return super.encode() + ":" + numPassengers;
+    public void encodeTo(Appendable out) throws IOException {
+        super.encodeTo(out);
+        out.append(':').append(String.valueOf(getCargoAmount()));
     }
 }
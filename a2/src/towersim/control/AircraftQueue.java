@@ -3,6 +3,7 @@ package towersim.control;
 import towersim.aircraft.Aircraft;
 import towersim.util.Encodable;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -79,10 +80,11 @@ public abstract class AircraftQueue extends Object implements Encodable {
     public String toString() {
         String result = "";
         result += getClass().getSimpleName() + " [";
+        List<Aircraft> aircraftInOrder = getAircraftInOrder();
         int i = 0;
-        while (i < getAircraftInOrder().size()) {
-            result += getAircraftInOrder().get(i).getCallsign();
-            if (i == getAircraftInOrder().size() - 1) {
+        while (i < aircraftInOrder.size()) {
+            result += aircraftInOrder.get(i).getCallsign();
+            if (i == aircraftInOrder.size() - 1) {
                 result += "]";
             } else {
                 result += ", ";
@@ -107,22 +109,35 @@ public abstract class AircraftQueue extends Object implements Encodable {
      * the number of aircraft in the queue
      * @return encoded string representation of this aircraft queue
      */
+    @Override
     public String encode() {
-        String result = "";
-        int size = getAircraftInOrder().size();
-        result += getClass().getSimpleName() + ":" + size;
+        return Encodable.encodeToString(this);
+    }
+
+    /**
+     * Appends the machine-readable string representation of this aircraft queue, as returned by
+     * {@link #encode()}, to the given appendable.
+     * <p>
+     * The aircraft in the queue are put in order once, by a single call to
+     * {@link #getAircraftInOrder()}.
+     *
+     * @param out appendable to write the encoded representation to
+     * @throws IOException if an IOException occurs when appending to the appendable
+     */
+    @Override
+    public void encodeTo(Appendable out) throws IOException {
+        List<Aircraft> aircraftInOrder = getAircraftInOrder();
+        int size = aircraftInOrder.size();
+        out.append(getClass().getSimpleName()).append(':').append(String.valueOf(size));
         if (size != 0) {
-            result += "\n";
-            int i = 0;
-            while (i < size) {
-                result += getAircraftInOrder().get(i).getCallsign();
-                if (i != size - 1) {
-                    result += ",";
+            out.append('\n');
+            for (int i = 0; i < size; i++) {
+                if (i != 0) {
+                    out.append(',');
                 }
-                i++;
+                out.append(aircraftInOrder.get(i).getCallsign());
             }
         }
-        return result;
     }
 
 }
@@ -0,0 +1,285 @@
+package towersim.control;
+
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+import towersim.util.Tickable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Represents a network of airports, each managed by its own control tower, that are simulated
+ * together.
+ * <p>
+ * On each tick of the network, every control tower is ticked concurrently on a work-stealing
+ * {@link ForkJoinPool}. All control towers finish their tick before the tick of the network
+ * completes, so the network always observes every airport at the same number of ticks.
+ * <p>
+ * Control towers in a network are independent of each other, so the result of ticking each
+ * control tower is the same as if it were ticked on its own.
+ */
+public class AirportNetwork implements Tickable {
+
+    /** Control towers of all airports in the network */
+    private final List<ControlTower> towers;
+
+    /** Pool on which control towers are ticked and loaded */
+    private final ForkJoinPool pool;
+
+    /** Number of ticks that have elapsed since the network was created */
+    private long ticksElapsed;
+
+    /**
+     * Creates a new empty AirportNetwork whose control towers are ticked on the common
+     * {@link ForkJoinPool}.
+     */
+    public AirportNetwork() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new empty AirportNetwork whose control towers are ticked on the given pool.
+     *
+     * @param pool pool on which to tick control towers
+     */
+    public AirportNetwork(ForkJoinPool pool) {
+        this.towers = new ArrayList<>();
+        this.pool = pool;
+        this.ticksElapsed = 0;
+    }
+
+    /**
+     * Adds the given control tower to the network.
+     *
+     * @param tower control tower to add
+     * @throws IllegalArgumentException if the control tower is already in the network
+     */
+    public void addControlTower(ControlTower tower) {
+        for (ControlTower existing : towers) {
+            if (existing == tower) {
+                throw new IllegalArgumentException("Control tower is already in the network");
+            }
+        }
+        towers.add(tower);
+    }
+
+    /**
+     * Loads a control tower from the given save files and adds it to the network.
+     * <p>
+     * The save files are read with
+     * {@link ControlTowerInitialiser#createControlTower(Path, Path, Path, Path, ForkJoinPool)},
+     * parsing the aircraft in parallel on the network's pool.
+     *
+     * @param tickFile               name of file containing the number of elapsed ticks
+     * @param aircraftFile           name of file containing the aircraft
+     * @param queuesFile             name of file containing the queues and loading aircraft
+     * @param terminalsWithGatesFile name of file containing the terminals and gates
+     * @return control tower that was loaded
+     * @throws MalformedSaveException if any of the save files are invalid
+     * @throws IOException            if an IOException is encountered when reading the files
+     */
+    public ControlTower loadControlTower(String tickFile, String aircraftFile, String queuesFile,
+            String terminalsWithGatesFile) throws MalformedSaveException, IOException {
+        ControlTower tower = readControlTower(List.of(tickFile, aircraftFile, queuesFile,
+                terminalsWithGatesFile));
+        addControlTower(tower);
+        return tower;
+    }
+
+    /**
+     * Loads a control tower from each of the given sets of save files concurrently, and adds them
+     * to the network in the order given.
+     * <p>
+     * Each set of save files is a list of four file names, in the same order as the parameters
+     * of {@link #loadControlTower(String, String, String, String)}. If any control tower cannot
+     * be loaded, none of the control towers are added, and the exception for the first set of
+     * save files that failed to load is thrown.
+     *
+     * @param saveFiles sets of save files to load control towers from
+     * @return control towers that were loaded, in the order given
+     * @throws MalformedSaveException if any of the save files are invalid
+     * @throws IOException            if an IOException is encountered when reading the files
+     * @throws IllegalArgumentException if any set of save files does not contain four file names
+     */
+    public List<ControlTower> loadControlTowers(List<List<String>> saveFiles)
+            throws MalformedSaveException, IOException {
+        for (List<String> files : saveFiles) {
+            if (files.size() != 4) {
+                throw new IllegalArgumentException("Each control tower needs four save files");
+            }
+        }
+        List<ForkJoinTask<ControlTower>> loads = new ArrayList<>();
+        for (List<String> files : saveFiles) {
+            loads.add(pool.submit(() -> readControlTower(files)));
+        }
+        List<ControlTower> loaded = new ArrayList<>();
+        for (ForkJoinTask<ControlTower> load : loads) {
+            try {
+                loaded.add(load.get());
+            } catch (ExecutionException e) {
+                // the pool may wrap checked exceptions in unchecked ones, so search the causes
+                for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                    if (cause instanceof MalformedSaveException) {
+                        throw (MalformedSaveException) cause;
+                    } else if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading control towers", e);
+            }
+        }
+        for (ControlTower tower : loaded) {
+            addControlTower(tower);
+        }
+        return loaded;
+    }
+
+    /* Reads a control tower from the four save files with the given names */
+    private ControlTower readControlTower(List<String> files)
+            throws MalformedSaveException, IOException {
+        return ControlTowerInitialiser.createControlTower(Path.of(files.get(0)),
+                Path.of(files.get(1)), Path.of(files.get(2)), Path.of(files.get(3)), pool);
+    }
+
+    /**
+     * Returns a list of the control towers of all airports in the network, in the order they
+     * were added.
+     * <p>
+     * Adding or removing elements from the returned list should not affect the original list.
+     *
+     * @return all control towers
+     */
+    public List<ControlTower> getControlTowers() {
+        return new ArrayList<>(towers);
+    }
+
+    /**
+     * Returns the number of ticks that have elapsed since the network was created.
+     *
+     * @return number of ticks elapsed
+     */
+    public long getTicksElapsed() {
+        return ticksElapsed;
+    }
+
+    /**
+     * Advances every control tower in the network by one tick.
+     * <p>
+     * Control towers are ticked concurrently, and this method returns once all of them have
+     * finished. If ticking any control tower throws an exception, the exception is propagated
+     * after the remaining control towers have finished their tick.
+     */
+    @Override
+    public void tick() {
+        if (towers.size() == 1) {
+            towers.get(0).tick();
+        } else if (!towers.isEmpty()) {
+            List<RecursiveAction> tickActions = new ArrayList<>(towers.size());
+            for (ControlTower tower : towers) {
+                tickActions.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        tower.tick();
+                    }
+                });
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tickActions);
+                }
+            });
+        }
+        ticksElapsed++;
+    }
+
+    /**
+     * Advances every control tower in the network by the given number of ticks.
+     *
+     * @param ticks number of ticks to advance the network by
+     * @throws IllegalArgumentException if ticks &lt; 0
+     */
+    public void advance(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Cannot advance by a negative number of ticks");
+        }
+        for (long i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    /**
+     * Returns the total number of aircraft managed by all control towers in the network.
+     *
+     * @return number of aircraft across the network
+     */
+    public int countAircraft() {
+        int count = 0;
+        for (ControlTower tower : towers) {
+            count += tower.countAircraft();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the total number of terminals across all airports in the network.
+     *
+     * @return number of terminals across the network
+     */
+    public int countTerminals() {
+        int count = 0;
+        for (ControlTower tower : towers) {
+            count += tower.countTerminals();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the total number of aircraft across the network whose current task is of the
+     * given type.
+     *
+     * @param taskType type of task to count aircraft for
+     * @return number of aircraft across the network currently performing a task of the given type
+     * @see ControlTower#countAircraftWithTask(TaskType)
+     */
+    public int countAircraftWithTask(TaskType taskType) {
+        int count = 0;
+        for (ControlTower tower : towers) {
+            count += tower.countAircraftWithTask(taskType);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the human-readable string representation of this airport network.
+     * <p>
+     * The format of the string to return is
+     * <pre>
+     * AirportNetwork: numTowers control towers, numTerminals terminals, numAircraft total
+     * aircraft (numLanding LAND, numTakeoff TAKEOFF, numLoad LOAD)</pre>
+     * where each number is totalled across all control towers in the network, in the same way as
+     * for {@link ControlTower#toString()}.
+     *
+     * @return string representation of this airport network
+     */
+    @Override
+    public String toString() {
+        return String.format("AirportNetwork: %d control towers, %d terminals, "
+                        + "%d total aircraft (%d LAND, %d TAKEOFF, %d LOAD)",
+                towers.size(),
+                countTerminals(),
+                countAircraft(),
+                countAircraftWithTask(TaskType.LAND),
+                countAircraftWithTask(TaskType.TAKEOFF),
+                countAircraftWithTask(TaskType.LOAD));
+    }
+}
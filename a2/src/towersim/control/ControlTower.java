@@ -1,17 +1,26 @@
 package towersim.control;
 
 import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftListener;
 import towersim.aircraft.AircraftType;
+import towersim.aircraft.FleetStore;
 import towersim.ground.AirplaneTerminal;
 import towersim.ground.Gate;
+import towersim.ground.GateListener;
 import towersim.ground.HelicopterTerminal;
 import towersim.ground.Terminal;
+import towersim.ground.TerminalListener;
+import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 import towersim.util.NoSpaceException;
 import towersim.util.NoSuitableGateException;
 import towersim.util.Tickable;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Represents a the control tower of an airport.
@@ -23,16 +32,36 @@ import java.util.*;
  * @ass1
  */
 public class ControlTower implements Tickable {
+    /**
+     * Minimum number of aircraft for which aircraft are ticked in parallel, when enabled.
+     */
+    private static final int PARALLEL_TICK_THRESHOLD = 8192;
+
+    /**
+     * Number of aircraft ticked serially by each parallel subtask.
+     */
+    private static final int PARALLEL_TICK_BATCH_SIZE = 2048;
+
     /**
      * List of all aircraft managed by the control tower.
      */
     private final List<Aircraft> aircraft;
 
+    /**
+     * read-only view of all aircraft managed by the control tower
+     */
+    private final List<Aircraft> aircraftView;
+
     /**
      * List of all terminals in the airport.
      */
     private final List<Terminal> terminals;
 
+    /**
+     * read-only view of all terminals in the airport
+     */
+    private final List<Terminal> terminalsView;
+
     /**
      * number of ticks that have elapsed since the tower was first created
      */
@@ -49,10 +78,116 @@ public class ControlTower implements Tickable {
     private TakeoffQueue takeoffQueue;
 
     /**
-     * mapping of aircraft that are loading cargo to the number of ticks remaining for loading
+     * mapping of aircraft that are loading cargo to the number of ticks remaining for loading, as
+     * last reported by getLoadingAircraft()
+     */
+    private final Map<Aircraft, Integer> loadingAircraft;
+
+    /**
+     * mapping of aircraft that are loading cargo but are not managed by the control tower to the
+     * number of ticks remaining for loading
+     */
+    private final Map<Aircraft, Integer> unmanagedLoadingAircraft;
+
+    /**
+     * aircraft that are loading cargo, by position in the list of all aircraft, and the load step
+     * on which each will finish
+     */
+    private final LoadingSchedule loadingSchedule;
+
+    /**
+     * whether any aircraft has started or finished loading, or had its loading time updated,
+     * since the map of loading aircraft was last updated
+     */
+    private boolean loadingAircraftChanged;
+
+    /**
+     * number of aircraft managed by the control tower with each type of current task, by ordinal
+     */
+    private final int[] aircraftCountsByTask;
+
+    /**
+     * position of each aircraft in the list of all aircraft
+     */
+    private final Map<Aircraft, Integer> aircraftIndices;
+
+    /**
+     * positions of aircraft whose current task has changed since they were last placed in queues
+     */
+    private final BitSet changedAircraft;
+
+    /**
+     * listener that moves aircraft between task groups when their current task changes
+     */
+    private final AircraftListener taskListener;
+
+    /**
+     * mapping of aircraft parked at gates in the airport's terminals to the gate they occupy
+     */
+    private final Map<Aircraft, Gate> aircraftGates;
+
+    /**
+     * listener that keeps the mapping of aircraft to gates up to date
+     */
+    private final GateListener gateListener;
+
+    /**
+     * for each aircraft type, the positions in the list of terminals of those terminals that can
+     * currently accept an aircraft of that type
+     */
+    private final Map<AircraftType, BitSet> availableTerminals;
+
+    /**
+     * position of each terminal in the list of terminals
+     */
+    private final Map<Terminal, Integer> terminalIndices;
+
+    /**
+     * listener that keeps the sets of available terminals up to date
+     */
+    private final TerminalListener terminalListener;
+
+    /**
+     * runways at the airport, in the order they are used on each tick
+     */
+    private List<RunwayUse> runways;
+
+    /**
+     * pool used to tick aircraft in parallel, or null if aircraft are ticked serially
+     */
+    private ForkJoinPool tickPool;
+
+    /**
+     * task lists of all aircraft managed by the control tower
      */
-    private Map<Aircraft, Integer> loadingAircraft;
+    private final Set<TaskList> taskLists;
 
+    /**
+     * whether any two aircraft managed by the control tower share the same task list
+     */
+    private boolean sharedTaskLists;
+
+    /**
+     * whether aircraft are currently being ticked in parallel
+     */
+    private boolean tickingInParallel;
+
+    /**
+     * while ticking in parallel, the type of the task each aircraft moved on from, by position
+     * in the list of all aircraft; null for aircraft that have not moved on
+     */
+    private TaskType[] previousTaskTypes;
+
+    /**
+     * while ticking in parallel, whether each aircraft was left to be ticked serially because it
+     * is waiting in the landing queue, by position in the list of all aircraft
+     */
+    private boolean[] tickedSerially;
+
+    /**
+     * columnar store holding the state of all aircraft, or null if aircraft hold their own state
+     */
+    private FleetStore fleetStore;
 
     /**
      * Creates a new ControlTower.
@@ -60,6 +195,11 @@ public class ControlTower implements Tickable {
      * loading aircraft to loading times should all be set to the values passed as parameters.
      * <p>
      * The list of terminals should be initialised as an empty list.
+     * <p>
+     * The airport initially has a single {@link RunwayUse#MIXED} runway.
+     * <p>
+     * The control tower keeps track of loading aircraft itself, starting from a copy of the given
+     * map of loading aircraft. The given map is not modified or retained.
      *
      * @param ticksElapsed    - number of ticks that have elapsed since the tower was first created
      * @param aircraft        - list of aircraft managed by the control tower
@@ -67,15 +207,76 @@ public class ControlTower implements Tickable {
      * @param takeoffQueue    - queue of aircraft waiting to take off
      * @param loadingAircraft - mapping of aircraft that are loading cargo
      *                       to the number of ticks remaining for loading
+     * @throws IllegalArgumentException if two aircraft in the list have the same callsign
      */
     public ControlTower(long ticksElapsed, List<Aircraft> aircraft, LandingQueue landingQueue,
                         TakeoffQueue takeoffQueue, Map<Aircraft, Integer> loadingAircraft) {
         this.aircraft = aircraft;
+        this.aircraftView = Collections.unmodifiableList(aircraft);
         this.ticksElapsed = ticksElapsed;
         this.landingQueue = landingQueue;
         this.takeoffQueue = takeoffQueue;
-        this.loadingAircraft = loadingAircraft;
+        this.loadingAircraft = copyEmpty(loadingAircraft);
+        this.unmanagedLoadingAircraft = new LinkedHashMap<>();
         this.terminals = new ArrayList<>();
+        this.terminalsView = Collections.unmodifiableList(this.terminals);
+        this.runways = List.of(RunwayUse.MIXED);
+        this.loadingSchedule = new LoadingSchedule(Math.max(aircraft.size(), 8));
+        this.loadingAircraftChanged = false;
+        this.aircraftCountsByTask = new int[TaskType.values().length];
+        this.aircraftIndices = new HashMap<>();
+        this.changedAircraft = new BitSet();
+        this.taskListener = new AircraftListener() {
+            @Override
+            public void taskChanged(Aircraft aircraft, TaskType previousType) {
+                if (tickingInParallel) {
+                    // each aircraft has its own slot, so this is safe from any thread
+                    previousTaskTypes[aircraftIndices.get(aircraft)] = previousType;
+                } else {
+                    recordTaskChange(aircraft, previousType);
+                }
+            }
+        };
+        this.aircraftGates = new HashMap<>();
+        this.gateListener = new GateListener() {
+            @Override
+            public void aircraftParked(Gate gate, Aircraft aircraft) {
+                aircraftGates.put(aircraft, gate);
+            }
+
+            @Override
+            public void aircraftLeft(Gate gate, Aircraft aircraft) {
+                // keep the entry so that parking the aircraft again does not allocate a new one
+                aircraftGates.replace(aircraft, gate, null);
+            }
+        };
+        this.availableTerminals = new EnumMap<>(AircraftType.class);
+        for (AircraftType aircraftType : AircraftType.values()) {
+            this.availableTerminals.put(aircraftType, new BitSet());
+        }
+        this.terminalIndices = new IdentityHashMap<>();
+        this.terminalListener = this::updateTerminalAvailability;
+        this.tickPool = null;
+        this.taskLists = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.sharedTaskLists = false;
+        this.tickingInParallel = false;
+        this.previousTaskTypes = new TaskType[0];
+        this.tickedSerially = new boolean[0];
+        this.fleetStore = null;
+        for (int i = 0; i < aircraft.size(); i++) {
+            registerAircraft(aircraft.get(i), i);
+        }
+        for (Map.Entry<Aircraft, Integer> loadingEntry : loadingAircraft.entrySet()) {
+            Integer index = this.aircraftIndices.get(loadingEntry.getKey());
+            if (index == null) {
+                this.unmanagedLoadingAircraft.put(loadingEntry.getKey(), loadingEntry.getValue());
+            } else {
+                startLoading(index, loadingEntry.getValue());
+            }
+        }
+        this.loadingAircraftChanged = true;
+        // aircraft may not yet be in the queues their tasks require, so check them all
+        this.changedAircraft.set(0, aircraft.size());
     }
 
     /**
@@ -86,6 +287,36 @@ public class ControlTower implements Tickable {
      */
     public void addTerminal(Terminal terminal) {
         this.terminals.add(terminal);
+        // index aircraft that were parked before the terminal joined this tower
+        for (Gate gate : terminal.getGatesView()) {
+            if (gate.isOccupied()) {
+                this.aircraftGates.putIfAbsent(gate.getAircraftAtGate(), gate);
+            }
+        }
+        terminal.addGateListener(this.gateListener);
+        this.terminalIndices.put(terminal, this.terminals.size() - 1);
+        terminal.addListener(this.terminalListener);
+        updateTerminalAvailability(terminal);
+    }
+
+    /*
+     * Records whether the given terminal can currently accept an aircraft of the type it serves.
+     * Only terminals of the same type as the aircraft that aren't in a state of emergency are
+     * available, except that helicopter terminals remain available during an emergency.
+     */
+    private void updateTerminalAvailability(Terminal terminal) {
+        AircraftType aircraftType;
+        if (terminal instanceof AirplaneTerminal) {
+            aircraftType = AircraftType.AIRPLANE;
+        } else if (terminal instanceof HelicopterTerminal) {
+            aircraftType = AircraftType.HELICOPTER;
+        } else {
+            return;
+        }
+        boolean available = terminal.hasUnoccupiedGate()
+                && (aircraftType == AircraftType.HELICOPTER || !terminal.hasEmergency());
+        this.availableTerminals.get(aircraftType)
+                .set(this.terminalIndices.get(terminal), available);
     }
 
     /**
@@ -103,6 +334,33 @@ public class ControlTower implements Tickable {
         return new ArrayList<>(this.terminals);
     }
 
+    /**
+     * Returns a read-only view of all terminals managed by this control tower.
+     * <p>
+     * Terminals appear in the same order as in {@link #getTerminals()}. Unlike getTerminals(), no
+     * copy is made: the view reflects terminals added after it was returned, and attempting to
+     * modify it throws an {@code UnsupportedOperationException}.
+     *
+     * @return read-only view of all terminals
+     */
+    public List<Terminal> getTerminalsView() {
+        return this.terminalsView;
+    }
+
+    /**
+     * Performs the given action on each gate of each terminal managed by this control tower.
+     * <p>
+     * Terminals are visited in the same order as in {@link #getTerminals()}, and the gates of
+     * each terminal in the same order as in {@link Terminal#getGates()}.
+     *
+     * @param action action to perform on each gate
+     */
+    public void forEachGate(Consumer<? super Gate> action) {
+        for (int i = 0; i < this.terminals.size(); i++) {
+            this.terminals.get(i).forEachGate(action);
+        }
+    }
+
     /**
      * Adds the given aircraft to the jurisdiction of this control tower.
      * <p>
@@ -112,11 +370,17 @@ public class ControlTower implements Tickable {
      * {@code findUnoccupiedGate()} should be propagated out of this method.
      *
      * @param aircraft aircraft to add
-     * @throws NoSuitableGateException if there is no suitable gate for an aircraft with a current
-     *                                 task type of {@code WAIT} or {@code LOAD}
+     * @throws NoSuitableGateException  if there is no suitable gate for an aircraft with a
+     *                                  current task type of {@code WAIT} or {@code LOAD}
+     * @throws IllegalArgumentException if the control tower already manages an aircraft with the
+     *                                  same callsign
      * @ass1
      */
     public void addAircraft(Aircraft aircraft) throws NoSuitableGateException {
+        if (this.aircraftIndices.containsKey(aircraft)) {
+            throw new IllegalArgumentException("Aircraft " + aircraft.getCallsign()
+                    + " is already managed by the tower");
+        }
         TaskType currentTaskType = aircraft.getTaskList().getCurrentTask().getType();
         if (currentTaskType == TaskType.WAIT || currentTaskType == TaskType.LOAD) {
             Gate gate = findUnoccupiedGate(aircraft);
@@ -126,8 +390,97 @@ public class ControlTower implements Tickable {
                 // not possible, gate unoccupied
             }
         }
-        placeAircraftInQueues(aircraft);
         this.aircraft.add(aircraft);
+        registerAircraft(aircraft, this.aircraft.size() - 1);
+        if (this.fleetStore != null) {
+            this.fleetStore.add(aircraft);
+        }
+        placeAircraftInQueues(aircraft);
+    }
+
+    /*
+     * Starts tracking the current task of the given aircraft, stored at the given position.
+     * Throws IllegalArgumentException if an aircraft with the same callsign is already tracked,
+     * since aircraft are indexed by callsign.
+     */
+    private void registerAircraft(Aircraft aircraft, int index) {
+        if (this.aircraftIndices.putIfAbsent(aircraft, index) != null) {
+            throw new IllegalArgumentException("Aircraft " + aircraft.getCallsign()
+                    + " is already managed by the tower");
+        }
+        this.loadingSchedule.ensureCapacity(index + 1);
+        this.aircraftCountsByTask[currentTaskTypeOf(aircraft).ordinal()]++;
+        if (!this.taskLists.add(aircraft.getTaskList())) {
+            this.sharedTaskLists = true;
+        }
+        aircraft.addListener(this.taskListener);
+    }
+
+    /* Moves the given aircraft into the count for its current task and marks it as changed */
+    private void recordTaskChange(Aircraft aircraft, TaskType previousType) {
+        this.aircraftCountsByTask[previousType.ordinal()]--;
+        this.aircraftCountsByTask[currentTaskTypeOf(aircraft).ordinal()]++;
+        this.changedAircraft.set(this.aircraftIndices.get(aircraft));
+    }
+
+    /* Starts loading the aircraft at the given position, with the given ticks remaining */
+    private void startLoading(int index, int ticksRemaining) {
+        this.loadingSchedule.start(index, ticksRemaining);
+        this.loadingAircraftChanged = true;
+    }
+
+    /*
+     * Returns a new, empty map for loading aircraft that orders its aircraft in the same way as
+     * the given map if that map is sorted, and in the order they are added otherwise.
+     */
+    private static Map<Aircraft, Integer> copyEmpty(Map<Aircraft, Integer> loadingAircraft) {
+        if (loadingAircraft instanceof SortedMap) {
+            return new TreeMap<>(((SortedMap<Aircraft, Integer>) loadingAircraft).comparator());
+        }
+        return new LinkedHashMap<>();
+    }
+
+    /* Returns the type of the given aircraft's current task */
+    private static TaskType currentTaskTypeOf(Aircraft aircraft) {
+        return aircraft.getTaskList().getCurrentTask().getType();
+    }
+
+    /**
+     * Returns the number of aircraft managed by this control tower whose current task is of the
+     * given type.
+     *
+     * @param taskType type of task to count aircraft for
+     * @return number of aircraft currently performing a task of the given type
+     */
+    public int countAircraftWithTask(TaskType taskType) {
+        return this.aircraftCountsByTask[taskType.ordinal()];
+    }
+
+    /**
+     * Returns the number of aircraft managed by this control tower.
+     *
+     * @return number of aircraft
+     */
+    public int countAircraft() {
+        return this.aircraft.size();
+    }
+
+    /**
+     * Returns the number of terminals managed by this control tower.
+     *
+     * @return number of terminals
+     */
+    public int countTerminals() {
+        return this.terminals.size();
+    }
+
+    /*
+     * Returns the position of the given aircraft in the list of aircraft managed by this control
+     * tower, or -1 if the aircraft is not managed by this control tower.
+     */
+    int indexOfAircraft(Aircraft aircraft) {
+        Integer index = this.aircraftIndices.get(aircraft);
+        return index == null ? -1 : index;
     }
 
     /**
@@ -145,6 +498,31 @@ public class ControlTower implements Tickable {
         return new ArrayList<>(this.aircraft);
     }
 
+    /**
+     * Returns a read-only view of all aircraft managed by this control tower.
+     * <p>
+     * Aircraft appear in the same order as in {@link #getAircraft()}. Unlike getAircraft(), no
+     * copy is made: the view reflects aircraft added after it was returned, and attempting to
+     * modify it throws an {@code UnsupportedOperationException}.
+     *
+     * @return read-only view of all aircraft
+     */
+    public List<Aircraft> getAircraftView() {
+        return this.aircraftView;
+    }
+
+    /**
+     * Performs the given action on each aircraft managed by this control tower, in the same
+     * order as in {@link #getAircraft()}.
+     *
+     * @param action action to perform on each aircraft
+     */
+    public void forEachAircraft(Consumer<? super Aircraft> action) {
+        for (int i = 0; i < this.aircraft.size(); i++) {
+            action.accept(this.aircraft.get(i));
+        }
+    }
+
     /**
      * Returns the number of ticks that have elapsed for this control tower.
      * If the control tower was created with a non-zero number of elapsed ticks,
@@ -177,15 +555,155 @@ public class ControlTower implements Tickable {
         return takeoffQueue;
     }
 
+    /**
+     * Returns the runways at the airport, in the order they are used on each tick.
+     * <p>
+     * Adding or removing elements from the returned list should not affect the original list.
+     *
+     * @return all runways
+     */
+    public List<RunwayUse> getRunways() {
+        return new ArrayList<>(runways);
+    }
+
+    /**
+     * Replaces the runways at the airport with the given runways.
+     * <p>
+     * On each tick, every runway is used once, in the order given, to land or take off an
+     * aircraft as allowed by its {@link RunwayUse}. An airport with a single
+     * {@link RunwayUse#MIXED} runway lands or launches at most one aircraft per tick.
+     *
+     * @param runways runways to use, in order
+     * @throws IllegalArgumentException if the given list of runways is empty
+     */
+    public void setRunways(List<RunwayUse> runways) {
+        if (runways.isEmpty()) {
+            throw new IllegalArgumentException("Airport must have at least one runway");
+        }
+        this.runways = List.copyOf(runways);
+    }
+
+    /**
+     * Returns the pool used to tick aircraft in parallel, or null if aircraft are ticked serially.
+     *
+     * @return parallel tick pool; or null if none is set
+     */
+    public ForkJoinPool getParallelTickPool() {
+        return tickPool;
+    }
+
+    /**
+     * Sets the pool used to tick aircraft in parallel, or disables parallel ticking if null.
+     * <p>
+     * When a pool is set, {@link #tick()} calls {@link Aircraft#tick()} on large fleets of
+     * aircraft in parallel using the given pool, then performs loading, landing, takeoff and
+     * queue placement serially as usual. The results of each tick are exactly the same as when
+     * ticking serially.
+     * <p>
+     * Small fleets, and fleets in which two or more aircraft share the same task list, are always
+     * ticked serially.
+     *
+     * @param pool pool to tick aircraft with; or null to tick aircraft serially
+     */
+    public void setParallelTickPool(ForkJoinPool pool) {
+        this.tickPool = pool;
+    }
+
+    /**
+     * Moves the state of all aircraft managed by this control tower into a new {@link FleetStore},
+     * and ticks them through the store from then on.
+     * <p>
+     * Aircraft added to the control tower afterwards are also added to the store. The aircraft
+     * themselves remain the same objects and behave exactly as before; only where their state is
+     * held changes. When aircraft are ticked serially, {@link #tick()} then ticks the whole fleet
+     * with {@link FleetStore#tick()}. The results of each tick are exactly the same as without a
+     * fleet store. The fleet store does not reduce the memory used by each aircraft (see
+     * {@link FleetStore}).
+     * <p>
+     * If a fleet store is already in use, this method has no effect.
+     *
+     * @throws IllegalArgumentException if the state of any aircraft is already held in a fleet
+     *                                  store, such as that of another control tower
+     */
+    public void useFleetStore() {
+        if (this.fleetStore != null) {
+            return;
+        }
+        FleetStore store = new FleetStore();
+        for (Aircraft aircraftEntry : this.aircraft) {
+            store.add(aircraftEntry);
+        }
+        this.fleetStore = store;
+    }
+
+    /**
+     * Returns the fleet store holding the state of all aircraft managed by this control tower, or
+     * null if {@link #useFleetStore()} has not been called.
+     * <p>
+     * The row of each aircraft in the store is its position in the list returned by
+     * {@link #getAircraft()}.
+     *
+     * @return fleet store; or null if none is in use
+     */
+    public FleetStore getFleetStore() {
+        return fleetStore;
+    }
+
     /**
      * Returns the mapping of loading aircraft to their remaining load times.
+     * <p>
+     * The returned map belongs to this control tower, and is updated to hold the aircraft that
+     * are currently loading whenever this method is called after any aircraft has been loaded.
+     * Changes made to the map are not seen by the control tower, and are overwritten by the next
+     * such update.
      *
      * @return loading aircraft map
      */
     public Map<Aircraft, Integer> getLoadingAircraft() {
+        if (this.loadingAircraftChanged) {
+            this.loadingAircraft.clear();
+            for (int index : this.loadingSchedule.getLoadingInOrder()) {
+                this.loadingAircraft.put(this.aircraft.get(index),
+                        this.loadingSchedule.getTicksRemaining(index));
+            }
+            this.loadingAircraft.putAll(this.unmanagedLoadingAircraft);
+            this.loadingAircraftChanged = false;
+        }
         return loadingAircraft;
     }
 
+    /*
+     * Returns the smallest number of ticks remaining for loading among aircraft that will finish
+     * loading, or -1 if no loading aircraft will ever finish.
+     * <p>
+     * Loading aircraft that are not managed by the control tower count down from a negative time
+     * remaining until it wraps around from Integer.MIN_VALUE, which must happen on a tick of its
+     * own, so for such aircraft the number of ticks until their time remaining reaches
+     * Integer.MIN_VALUE is counted instead.
+     */
+    int getMinLoadingTicksRemaining() {
+        int minTicksRemaining = this.loadingSchedule.getMinTicksRemaining();
+        if (!this.unmanagedLoadingAircraft.isEmpty()) {
+            for (int ticksRemaining : this.unmanagedLoadingAircraft.values()) {
+                minTicksRemaining = minTicksRemaining(minTicksRemaining, ticksRemaining);
+            }
+        }
+        return minTicksRemaining;
+    }
+
+    /*
+     * Returns the smaller of the given minimum, or -1 for none, and the ticks before the given
+     * time remaining for loading finishes or wraps around.
+     */
+    private static int minTicksRemaining(int minTicksRemaining, int ticksRemaining) {
+        int ticksUntilEvent = ticksRemaining >= 0 ? ticksRemaining
+                : ticksRemaining - Integer.MIN_VALUE;
+        if (minTicksRemaining == -1 || ticksUntilEvent < minTicksRemaining) {
+            return ticksUntilEvent;
+        }
+        return minTicksRemaining;
+    }
+
     /**
      * Attempts to find an unoccupied gate in a compatible terminal for the given aircraft.
      * <p>
@@ -208,25 +726,32 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public Gate findUnoccupiedGate(Aircraft aircraft) throws NoSuitableGateException {
-        AircraftType aircraftType = aircraft.getCharacteristics().type;
-        for (Terminal terminal : terminals) {
-            /*
-             * Only check for available gates at terminals that are of the same aircraft type as
-             * the aircraft and aren't in a state of emergency
-             */
-            if ((terminal instanceof AirplaneTerminal && aircraftType == AircraftType.AIRPLANE)
-                    && (!terminal.hasEmergency())
-                    || (terminal instanceof HelicopterTerminal
-                    && aircraftType == AircraftType.HELICOPTER)) {
-                try {
-                    // This terminal found a gate, return it
-                    return terminal.findUnoccupiedGate();
-                } catch (NoSuitableGateException e) {
-                    // If this terminal has no unoccupied gates, try the next one
-                }
-            }
+        Gate gate = findUnoccupiedGateOrNull(aircraft);
+        if (gate == null) {
+            throw new NoSuitableGateException("No gate available for aircraft");
+        }
+        return gate;
+    }
+
+    /**
+     * Attempts to find an unoccupied gate in a compatible terminal for the given aircraft,
+     * returning null if there is none.
+     * <p>
+     * The gate returned is the same as the one found by {@link #findUnoccupiedGate(Aircraft)},
+     * but no exception is thrown when no suitable gate exists. Terminals with an unoccupied gate
+     * are tracked as gates are occupied and vacated, so this method does not search every
+     * terminal.
+     *
+     * @param aircraft aircraft for which to find gate
+     * @return gate for given aircraft; or null if no suitable gate could be found
+     */
+    public Gate findUnoccupiedGateOrNull(Aircraft aircraft) {
+        int terminalIndex = this.availableTerminals.get(aircraft.getCharacteristics().type)
+                .nextSetBit(0);
+        if (terminalIndex < 0) {
+            return null;
         }
-        throw new NoSuitableGateException("No gate available for aircraft");
+        return this.terminals.get(terminalIndex).findUnoccupiedGateOrNull();
     }
 
     /**
@@ -256,13 +781,7 @@ public class ControlTower implements Tickable {
         // check if returns not null
         Aircraft aircraft = getLandingQueue().peekAircraft();
         if (aircraft != null) {
-            // check if there are available gates, do i have to surround in catch block?
-            Gate unoccupied;
-            try {
-                unoccupied = findUnoccupiedGate(getLandingQueue().peekAircraft());
-            } catch (NoSuitableGateException e) {
-                unoccupied = null;
-            }
+            Gate unoccupied = findUnoccupiedGateOrNull(aircraft);
             if (unoccupied != null) {
                 try {
                     unoccupied.parkAircraft(aircraft);
@@ -302,19 +821,41 @@ public class ControlTower implements Tickable {
      * at and should move on to its next task.
      */
     public void loadAircraft() {
-        List<Aircraft> remove = new ArrayList<>();
-        for (Map.Entry<Aircraft, Integer> aircraftEntry : loadingAircraft.entrySet()) {
-            if (aircraftEntry.getValue() != 0) {
-                aircraftEntry.setValue(aircraftEntry.getValue() - 1);
+        if (!this.unmanagedLoadingAircraft.isEmpty()) {
+            loadUnmanagedAircraft();
+        }
+        if (this.loadingSchedule.size() == 0) {
+            return;
+        }
+        // only aircraft with no time remaining are visited; the rest count down implicitly
+        int index;
+        while ((index = this.loadingSchedule.pollFinished()) != -1) {
+            Aircraft finished = this.aircraft.get(index);
+            findGateOfAircraft(finished).aircraftLeaves();
+            finished.getTaskList().moveToNextTask();
+        }
+        this.loadingSchedule.advance();
+        this.loadingAircraftChanged = true;
+    }
+
+    /*
+     * Loads the loading aircraft that are not managed by the control tower, in the same way as
+     * loadAircraft() loads those that are.
+     */
+    private void loadUnmanagedAircraft() {
+        Iterator<Map.Entry<Aircraft, Integer>> loadingEntries =
+                this.unmanagedLoadingAircraft.entrySet().iterator();
+        while (loadingEntries.hasNext()) {
+            Map.Entry<Aircraft, Integer> loadingEntry = loadingEntries.next();
+            if (loadingEntry.getValue() != 0) {
+                loadingEntry.setValue(loadingEntry.getValue() - 1);
             } else {
-                findGateOfAircraft(aircraftEntry.getKey()).aircraftLeaves();
-                aircraftEntry.getKey().getTaskList().moveToNextTask();
-                remove.add(aircraftEntry.getKey());
+                findGateOfAircraft(loadingEntry.getKey()).aircraftLeaves();
+                loadingEntry.getKey().getTaskList().moveToNextTask();
+                loadingEntries.remove();
             }
         }
-        for (Aircraft aircraft : remove) {
-            loadingAircraft.remove(aircraft);
-        }
+        this.loadingAircraftChanged = true;
     }
 
 
@@ -323,9 +864,23 @@ public class ControlTower implements Tickable {
      * Calls placeAircraftInQueues(Aircraft) on all aircraft managed by the control tower.
      */
     public void placeAllAircraftInQueues() {
-        for (Aircraft aircraftEntry : aircraft) {
-            placeAircraftInQueues(aircraftEntry);
+        for (int i = 0; i < this.aircraft.size(); i++) {
+            placeAircraftInQueues(this.aircraft.get(i));
+        }
+        changedAircraft.clear();
+    }
+
+    /*
+     * Calls placeAircraftInQueues(Aircraft) on only those aircraft whose current task has changed
+     * since they were last placed, in the same order as they appear in the list of all aircraft.
+     * Aircraft whose task has not changed are already in the queue their task requires.
+     */
+    private void placeChangedAircraftInQueues() {
+        for (int i = changedAircraft.nextSetBit(0); i >= 0;
+                i = changedAircraft.nextSetBit(i + 1)) {
+            placeAircraftInQueues(aircraft.get(i));
         }
+        changedAircraft.clear();
     }
 
     /**
@@ -345,13 +900,22 @@ public class ControlTower implements Tickable {
      * @param aircraft - aircraft to move to appropriate queue
      */
     public void placeAircraftInQueues(Aircraft aircraft) {
-        String currentTask = aircraft.getTaskList().getCurrentTask().getType().name();
-        if (currentTask.equals("LAND") && !getLandingQueue().containsAircraft(aircraft)) {
+        TaskType currentTask = currentTaskTypeOf(aircraft);
+        if (currentTask == TaskType.LAND && !getLandingQueue().containsAircraft(aircraft)) {
             getLandingQueue().addAircraft(aircraft);
-        } else if (currentTask.equals("TAKEOFF") && !getTakeoffQueue().containsAircraft(aircraft)) {
+        } else if (currentTask == TaskType.TAKEOFF
+                && !getTakeoffQueue().containsAircraft(aircraft)) {
             getTakeoffQueue().addAircraft(aircraft);
-        } else if (currentTask.equals("LOAD") && !getLoadingAircraft().containsKey(aircraft)) {
-            getLoadingAircraft().put(aircraft, aircraft.getLoadingTime());
+        } else if (currentTask == TaskType.LOAD) {
+            Integer index = this.aircraftIndices.get(aircraft);
+            if (index == null) {
+                if (this.unmanagedLoadingAircraft.putIfAbsent(aircraft,
+                        aircraft.getLoadingTime()) == null) {
+                    this.loadingAircraftChanged = true;
+                }
+            } else if (!this.loadingSchedule.isLoading(index)) {
+                startLoading(index, aircraft.getLoadingTime());
+            }
         }
     }
 
@@ -364,14 +928,7 @@ public class ControlTower implements Tickable {
      * @ass1
      */
     public Gate findGateOfAircraft(Aircraft aircraft) {
-        for (Terminal terminal : this.terminals) {
-            for (Gate gate : terminal.getGates()) {
-                if (Objects.equals(gate.getAircraftAtGate(), aircraft)) {
-                    return gate;
-                }
-            }
-        }
-        return null;
+        return this.aircraftGates.get(aircraft);
     }
 
     /**
@@ -390,23 +947,172 @@ public class ControlTower implements Tickable {
     @Override
     public void tick() {
         // Call tick() on all other sub-entities
-        for (Aircraft aircraftEntry : this.aircraft) {
-            aircraftEntry.tick();
-            String currentTask = aircraftEntry.getTaskList().getCurrentTask().getType().name();
-            if (currentTask.equals("AWAY") || currentTask.equals("WAIT")) {
-                aircraftEntry.getTaskList().moveToNextTask();
+        if (tickPool != null && !sharedTaskLists && aircraft.size() >= PARALLEL_TICK_THRESHOLD) {
+            tickAircraftInParallel();
+        } else if (fleetStore != null && !sharedTaskLists) {
+            tickFleetStore();
+        } else {
+            for (int i = 0; i < this.aircraft.size(); i++) {
+                tickAircraft(this.aircraft.get(i));
             }
         }
         loadAircraft();
-        if (ticksElapsed % 2 == 0) {
-            if (!tryLandAircraft()) {
-                tryTakeOffAircraft();
+        useRunways();
+        placeChangedAircraftInQueues();
+        ticksElapsed++;
+    }
+
+    /* Ticks the given aircraft and moves it on to its next task if it is AWAY or WAITING */
+    private static void tickAircraft(Aircraft aircraft) {
+        aircraft.tick();
+        TaskType currentTask = currentTaskTypeOf(aircraft);
+        if (currentTask == TaskType.AWAY || currentTask == TaskType.WAIT) {
+            aircraft.getTaskList().moveToNextTask();
+        }
+    }
+
+    /*
+     * Ticks all aircraft through the fleet store, then moves those that are AWAY or WAITING on to
+     * their next task. Ticking an aircraft cannot affect the tick of any other aircraft that does
+     * not share its task list, so this has the same result as ticking and moving each in turn.
+     */
+    private void tickFleetStore() {
+        this.fleetStore.tick();
+        for (int i = 0; i < this.aircraft.size(); i++) {
+            TaskType currentTask = this.fleetStore.getCurrentTaskType(i);
+            if (currentTask == TaskType.AWAY || currentTask == TaskType.WAIT) {
+                this.aircraft.get(i).getTaskList().moveToNextTask();
+            }
+        }
+    }
+
+    /*
+     * Ticks all aircraft using the parallel tick pool, with the same result as ticking them
+     * serially. Aircraft only affect each other through the control tower's listeners, so while
+     * ticking in parallel, task changes are recorded per aircraft and applied afterwards in order.
+     * Aircraft waiting in the landing queue are ticked serially afterwards, since the landing
+     * queue reorders itself when their fuel changes.
+     */
+    private void tickAircraftInParallel() {
+        int size = this.aircraft.size();
+        if (this.previousTaskTypes.length < size) {
+            this.previousTaskTypes = new TaskType[size];
+            this.tickedSerially = new boolean[size];
+        }
+        this.tickingInParallel = true;
+        try {
+            this.tickPool.invoke(new AircraftTickAction(0, size));
+        } finally {
+            this.tickingInParallel = false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (this.previousTaskTypes[i] != null) {
+                recordTaskChange(this.aircraft.get(i), this.previousTaskTypes[i]);
+                this.previousTaskTypes[i] = null;
+            } else if (this.tickedSerially[i]) {
+                tickAircraft(this.aircraft.get(i));
+                this.tickedSerially[i] = false;
+            }
+        }
+    }
+
+    /**
+     * Advances the simulation by the given number of ticks.
+     * <p>
+     * This has the same effect as calling {@link #tick()} the given number of times, and is
+     * intended for running simulations without a GUI attached.
+     *
+     * @param ticks number of ticks to advance the simulation by
+     * @throws IllegalArgumentException if ticks &lt; 0
+     */
+    public void advance(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Cannot advance by a negative number of ticks");
+        }
+        for (long i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    /**
+     * Advances the simulation one tick at a time until the given condition holds for this
+     * control tower, or until the given maximum number of ticks have been performed.
+     * <p>
+     * The condition is checked before each tick, so if it already holds when this method is
+     * called, no ticks are performed.
+     *
+     * @param condition condition to wait for
+     * @param maxTicks  maximum number of ticks to perform
+     * @return number of ticks performed
+     * @throws IllegalArgumentException if maxTicks &lt; 0
+     */
+    public long runUntil(Predicate<? super ControlTower> condition, long maxTicks) {
+        if (maxTicks < 0) {
+            throw new IllegalArgumentException("Maximum number of ticks cannot be negative");
+        }
+        long ticksPerformed = 0;
+        while (ticksPerformed < maxTicks && !condition.test(this)) {
+            tick();
+            ticksPerformed++;
+        }
+        return ticksPerformed;
+    }
+
+    /*
+     * Returns true if some aircraft have changed task since they were last placed in queues, and
+     * so may not yet be in the queue their task requires.
+     */
+    boolean hasPendingPlacements() {
+        return !changedAircraft.isEmpty();
+    }
+
+    /* Returns the aircraft at the given position in the order the aircraft were added */
+    Aircraft getAircraft(int index) {
+        return this.aircraft.get(index);
+    }
+
+    /*
+     * Skips the given number of ticks, all of which must be quiet: no aircraft can land or take
+     * off, no aircraft finishes loading and no aircraft starts a task other than AWAY or WAIT.
+     * Only the tick count and the time remaining for each loading aircraft are updated; the
+     * aircraft themselves are not visited, and must be brought up to date by the caller (see
+     * Aircraft.tickAndMove() and Aircraft.tickLoading()) before anything else observes them.
+     */
+    void skipQuietTicks(long ticks) {
+        for (Map.Entry<Aircraft, Integer> loadingEntry : unmanagedLoadingAircraft.entrySet()) {
+            loadingEntry.setValue((int) (loadingEntry.getValue() - ticks));
+        }
+        if (this.loadingSchedule.size() > 0 || !this.unmanagedLoadingAircraft.isEmpty()) {
+            this.loadingSchedule.skip(ticks);
+            this.loadingAircraftChanged = true;
+        }
+        ticksElapsed += ticks;
+    }
+
+    /*
+     * Lands and launches aircraft on each runway in turn. Mixed runways alternate between landing
+     * (or taking off if no aircraft could land) on even ticks and taking off on odd ticks.
+     */
+    private void useRunways() {
+        for (int i = 0; i < runways.size(); i++) {
+            switch (runways.get(i)) {
+                case LANDING:
+                    tryLandAircraft();
+                    break;
+                case TAKEOFF:
+                    tryTakeOffAircraft();
+                    break;
+                default:
+                    if (ticksElapsed % 2 == 0) {
+                        if (!tryLandAircraft()) {
+                            tryTakeOffAircraft();
+                        }
+                    } else {
+                        tryTakeOffAircraft();
+                    }
+                    break;
             }
-        } else {
-            tryTakeOffAircraft();
         }
-        placeAllAircraftInQueues();
-        ticksElapsed++;
     }
 
     /**
@@ -429,20 +1135,54 @@ public class ControlTower implements Tickable {
         String result = "ControlTower: ";
         result += terminals.size() + " terminals, ";
         result += aircraft.size() + " total aircraft (";
-        int land = 0;
-        int takeOff = 0;
-        int load = 0;
-        for (Aircraft aircraftEntry : aircraft) {
-            String currentTask = aircraftEntry.getTaskList().getCurrentTask().getType().name();
-            if (currentTask.equals("LAND")) {
-                land++;
-            } else if (currentTask.equals("TAKEOFF")) {
-                takeOff++;
-            } else if (currentTask.equals("LOAD")) {
-                load++;
-            }
-        }
+        int land = countAircraftWithTask(TaskType.LAND);
+        int takeOff = countAircraftWithTask(TaskType.TAKEOFF);
+        int load = countAircraftWithTask(TaskType.LOAD);
         result += land + " LAND, " + takeOff + " TAKEOFF, " + load + " LOAD)";
         return result;
     }
+
+    /**
+     * Ticks a range of aircraft in the list of all aircraft, splitting the range between
+     * subtasks while it is larger than the batch size.
+     */
+    private class AircraftTickAction extends RecursiveAction {
+
+        /** Version of the serialized form of this action */
+        private static final long serialVersionUID = 1L;
+
+        /** Position of the first aircraft to tick */
+        private final int from;
+
+        /** Position after the last aircraft to tick */
+        private final int to;
+
+        /**
+         * Creates a new action to tick the aircraft in the given range of positions.
+         *
+         * @param from position of the first aircraft to tick
+         * @param to   position after the last aircraft to tick
+         */
+        private AircraftTickAction(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_TICK_BATCH_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new AircraftTickAction(from, middle), new AircraftTickAction(middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                Aircraft aircraftEntry = aircraft.get(i);
+                if (landingQueue.containsAircraft(aircraftEntry)) {
+                    tickedSerially[i] = true;
+                } else {
+                    tickAircraft(aircraftEntry);
+                }
+            }
+        }
+    }
 }
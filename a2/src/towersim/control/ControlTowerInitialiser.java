@@ -10,14 +10,19 @@ import towersim.ground.HelicopterTerminal;
 import towersim.ground.Terminal;
 import towersim.tasks.Task;
 import towersim.tasks.TaskList;
+import towersim.tasks.TaskSchedulePool;
 import towersim.tasks.TaskType;
 import towersim.util.MalformedSaveException;
 import towersim.util.NoSpaceException;
 
 import java.io.BufferedReader;
+import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Utility class that contains static methods for loading a control tower and associated
@@ -25,6 +30,13 @@ import java.util.*;
  */
 public class ControlTowerInitialiser {
 
+    /** Every aircraft model, in declaration order */
+    private static final AircraftCharacteristics[] CHARACTERISTICS =
+            AircraftCharacteristics.values();
+
+    /** Least number of bytes of an aircraft file parsed by each parallel subtask */
+    private static final int PARALLEL_LOAD_CHUNK_SIZE = 1 << 20;
+
     /**
      * Loads the number of ticks elapsed from the given reader instance.
      * The contents of the reader should match the format specified in the tickWriter row
@@ -86,6 +98,7 @@ public class ControlTowerInitialiser {
      * The number of aircraft specified on the first line is not equal to the number of
      * aircraft actually read from the reader.
      * Any of the conditions listed in the Javadoc for readAircraft(String) are true.
+     * Two or more aircraft have the same callsign.
      * This method should call readAircraft(String).
      * @param reader - reader from which to load the list of aircraft
      * @return list of aircraft read from the reader
@@ -95,6 +108,64 @@ public class ControlTowerInitialiser {
      */
     public static List<Aircraft> loadAircraft(Reader reader)
             throws IOException, MalformedSaveException {
+        return new ArrayList<>(loadAircraftByCallsign(reader).values());
+    }
+
+    /**
+     * Loads the list of all aircraft managed by the control tower from the file at the given
+     * path, in the same way as {@link #loadAircraft(Reader)} would from a FileReader of the file.
+     * <p>
+     * Rather than decoding the whole file into strings, the file is mapped into memory and each
+     * aircraft is parsed directly from the bytes of its line, so that the only strings created
+     * are the callsigns of the aircraft. This makes large aircraft files quicker to load, and
+     * keeps the text of the file out of the heap while it is loaded. Lines containing characters
+     * outside the ASCII range are decoded with the platform's default charset, which must encode
+     * ASCII characters as single bytes, as UTF-8 does.
+     *
+     * @param path path of the file from which to load the list of aircraft
+     * @return list of aircraft read from the file
+     * @throws IOException            if an IOException is encountered when reading from the file
+     * @throws MalformedSaveException if the contents of the file are invalid according to the
+     *                                rules in {@link #loadAircraft(Reader)}
+     */
+    public static List<Aircraft> loadAircraft(Path path)
+            throws IOException, MalformedSaveException {
+        try (MappedSaveFile file = new MappedSaveFile(path)) {
+            return new ArrayList<>(loadAircraftByCallsign(file).values());
+        }
+    }
+
+    /**
+     * Loads the list of all aircraft managed by the control tower from the file at the given
+     * path, parsing the aircraft in parallel using the given pool.
+     * <p>
+     * The lines of aircraft are split into chunks of about a megabyte, each starting at the
+     * beginning of a line, and each chunk is mapped into memory and parsed as for
+     * {@link #loadAircraft(Path)} by a separate task in the pool. The result is the same as that
+     * of {@link #loadAircraft(Path)}: the aircraft are returned in the order they appear in the
+     * file, and if the file is invalid, the exception thrown is the one for the first invalid
+     * line in the file, no matter which chunk finishes parsing first. Files smaller than a chunk
+     * are parsed by a single task.
+     *
+     * @param path path of the file from which to load the list of aircraft
+     * @param pool pool used to parse the aircraft
+     * @return list of aircraft read from the file
+     * @throws IOException            if an IOException is encountered when reading from the file
+     * @throws MalformedSaveException if the contents of the file are invalid according to the
+     *                                rules in {@link #loadAircraft(Reader)}
+     */
+    public static List<Aircraft> loadAircraft(Path path, ForkJoinPool pool)
+            throws IOException, MalformedSaveException {
+        return new ArrayList<>(loadAircraftByCallsign(path, pool).values());
+    }
+
+    /*
+     * Loads all aircraft from the given reader as for loadAircraft(Reader), returning a registry
+     * that maps each callsign to its aircraft, in the order the aircraft were read. The registry
+     * is used to resolve callsigns in all later load stages in constant time.
+     */
+    private static Map<String, Aircraft> loadAircraftByCallsign(Reader reader)
+            throws IOException, MalformedSaveException {
         BufferedReader bufferedReader = new BufferedReader(reader);
         String line = bufferedReader.readLine();
         int aircrafts;
@@ -104,19 +175,112 @@ public class ControlTowerInitialiser {
             throw new MalformedSaveException();
         }
         int i = 0;
-        List<Aircraft> listOfAircraft = new ArrayList<>();
+        Map<String, Aircraft> aircraftByCallsign = new LinkedHashMap<>();
+        // aircraft flying the same rotation share one schedule of tasks
+        TaskSchedulePool schedules = new TaskSchedulePool();
         // go through each encoded Aircraft
         while (i < aircrafts) {
             line = bufferedReader.readLine();
-            Aircraft aircraft = readAircraft(line);
-            String[] contents = line.split(":");
-            if (Boolean.parseBoolean(contents[4])) {
-                aircraft.declareEmergency();
-            }
-            listOfAircraft.add(aircraft);
+            registerAircraft(aircraftByCallsign, readAircraft(line, schedules, true));
             i++;
         }
-        return listOfAircraft;
+        return aircraftByCallsign;
+    }
+
+    /*
+     * Loads all aircraft from the given mapped file as for loadAircraftByCallsign(Reader),
+     * parsing each line in place.
+     */
+    private static Map<String, Aircraft> loadAircraftByCallsign(MappedSaveFile file)
+            throws IOException, MalformedSaveException {
+        if (!file.nextLine()) {
+            throw new MalformedSaveException();
+        }
+        int aircrafts = SaveTokenizer.parseInt(file.lineText(), file.lineStart(),
+                file.lineEnd());
+        Map<String, Aircraft> aircraftByCallsign = new LinkedHashMap<>();
+        TaskSchedulePool schedules = new TaskSchedulePool();
+        for (int i = 0; i < aircrafts; i++) {
+            if (!file.nextLine()) {
+                throw new MalformedSaveException();
+            }
+            registerAircraft(aircraftByCallsign, readAircraft(file.lineText(), file.lineStart(),
+                    file.lineEnd(), schedules, true));
+        }
+        return aircraftByCallsign;
+    }
+
+    /*
+     * Loads all aircraft from the file at the given path as for loadAircraftByCallsign(Reader),
+     * parsing chunks of the file in parallel using the given pool. Every chunk is parsed up to
+     * its first invalid line, then the chunks are registered in file order, so that the first
+     * failure among the declared number of aircraft is the one thrown. Lines after the declared
+     * number of aircraft are ignored, as they are by the serial loaders.
+     */
+    private static Map<String, Aircraft> loadAircraftByCallsign(Path path, ForkJoinPool pool)
+            throws IOException, MalformedSaveException {
+        int aircrafts;
+        List<Long> offsets;
+        try (MappedSaveFile file = new MappedSaveFile(path)) {
+            if (!file.nextLine()) {
+                throw new MalformedSaveException();
+            }
+            aircrafts = SaveTokenizer.parseInt(file.lineText(), file.lineStart(),
+                    file.lineEnd());
+            offsets = file.splitRemainingLines(PARALLEL_LOAD_CHUNK_SIZE);
+        }
+        Map<String, Aircraft> aircraftByCallsign = new LinkedHashMap<>();
+        if (aircrafts <= 0) {
+            return aircraftByCallsign;
+        }
+        AircraftChunk[] chunks = new AircraftChunk[offsets.size() - 1];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = new AircraftChunk(offsets.get(i), offsets.get(i + 1));
+        }
+        pool.invoke(new AircraftChunkAction(path, chunks, new TaskSchedulePool(),
+                0, chunks.length));
+        for (AircraftChunk chunk : chunks) {
+            for (Aircraft aircraft : chunk.aircraft) {
+                if (aircraftByCallsign.size() == aircrafts) {
+                    return aircraftByCallsign;
+                }
+                registerAircraft(aircraftByCallsign, aircraft);
+            }
+            if (aircraftByCallsign.size() < aircrafts) {
+                chunk.throwFailure();
+            }
+        }
+        if (aircraftByCallsign.size() < aircrafts) {
+            throw new MalformedSaveException();
+        }
+        return aircraftByCallsign;
+    }
+
+    /*
+     * Adds the given aircraft to the given registry of aircraft by callsign. Throws
+     * MalformedSaveException if an aircraft with the same callsign has already been added.
+     */
+    private static void registerAircraft(Map<String, Aircraft> aircraftByCallsign,
+                                         Aircraft aircraft) throws MalformedSaveException {
+        if (aircraftByCallsign.putIfAbsent(aircraft.getCallsign(), aircraft) != null) {
+            throw new MalformedSaveException();
+        }
+    }
+
+    /*
+     * Returns a registry mapping the callsign of each of the given aircraft to the aircraft.
+     * Throws MalformedSaveException if two or more of the aircraft have the same callsign.
+     */
+    private static Map<String, Aircraft> indexByCallsign(List<Aircraft> aircraft)
+            throws MalformedSaveException {
+        Map<String, Aircraft> aircraftByCallsign = new HashMap<>();
+        for (Aircraft aircraftEntry : aircraft) {
+            if (aircraftByCallsign.putIfAbsent(aircraftEntry.getCallsign(), aircraftEntry)
+                    != null) {
+                throw new MalformedSaveException();
+            }
+        }
+        return aircraftByCallsign;
     }
 
     /**
@@ -151,6 +315,15 @@ public class ControlTowerInitialiser {
     public static void loadQueues(Reader reader, List<Aircraft> aircraft, TakeoffQueue takeoffQueue,
                                   LandingQueue landingQueue, Map<Aircraft, Integer> loadingAircraft)
             throws MalformedSaveException, IOException {
+        loadQueues(reader, indexByCallsign(aircraft), takeoffQueue, landingQueue,
+                loadingAircraft);
+    }
+
+    /* Loads the queues and loading map, resolving callsigns with the given registry */
+    private static void loadQueues(Reader reader, Map<String, Aircraft> aircraftByCallsign,
+                                   TakeoffQueue takeoffQueue, LandingQueue landingQueue,
+                                   Map<Aircraft, Integer> loadingAircraft)
+            throws MalformedSaveException, IOException {
         BufferedReader bufferedReader;
         try {
             bufferedReader = new BufferedReader(reader);
@@ -159,9 +332,9 @@ public class ControlTowerInitialiser {
         }
 
         // Add aircrafts to Queues as LoadingAircraft
-        readQueue(bufferedReader, aircraft, takeoffQueue);
-        readQueue(bufferedReader, aircraft, landingQueue);
-        readLoadingAircraft(bufferedReader, aircraft, loadingAircraft);
+        readQueue(bufferedReader, aircraftByCallsign, takeoffQueue);
+        readQueue(bufferedReader, aircraftByCallsign, landingQueue);
+        readLoadingAircraft(bufferedReader, aircraftByCallsign, loadingAircraft);
         bufferedReader.close();
     }
 
@@ -193,6 +366,12 @@ public class ControlTowerInitialiser {
      */
     public static List<Terminal> loadTerminalsWithGates(Reader reader, List<Aircraft> aircraft)
             throws MalformedSaveException, IOException {
+        return loadTerminalsWithGates(reader, indexByCallsign(aircraft));
+    }
+
+    /* Loads the terminals and their gates, resolving callsigns with the given registry */
+    private static List<Terminal> loadTerminalsWithGates(Reader reader,
+            Map<String, Aircraft> aircraftByCallsign) throws MalformedSaveException, IOException {
         List<Terminal> terminals = new ArrayList<>();
         BufferedReader bufferedReader;
         try {
@@ -212,7 +391,7 @@ public class ControlTowerInitialiser {
         int i = 0;
         while (i < amountOfTerminals) {
             line = bufferedReader.readLine();
-            terminals.add(readTerminal(line, bufferedReader, aircraft));
+            terminals.add(readTerminal(line, bufferedReader, aircraftByCallsign));
             i++;
         }
 
@@ -246,16 +425,95 @@ public class ControlTowerInitialiser {
                                                   Reader terminalsWithGates)
             throws MalformedSaveException, IOException {
         long ticksElapsed = loadTick(tick);
-        List<Aircraft> aircrafts = loadAircraft(aircraft);
+        return createControlTower(ticksElapsed, loadAircraftByCallsign(aircraft), queues,
+                terminalsWithGates);
+    }
+
+    /**
+     * Creates a control tower instance by reading various airport entities from the files at the
+     * given paths, in the same way as
+     * {@link #createControlTower(Reader, Reader, Reader, Reader)} would from a FileReader of each
+     * file.
+     * <p>
+     * The aircraft are loaded with {@link #loadAircraft(Path)}, by mapping the aircraft file into
+     * memory. Every file is opened before any is read, and all are closed before this method
+     * returns.
+     *
+     * @param tick               path of the file from which to load the number of ticks elapsed
+     * @param aircraft           path of the file from which to load the list of aircraft
+     * @param queues             path of the file from which to load the aircraft queues and map
+     *                           of loading aircraft
+     * @param terminalsWithGates path of the file from which to load the terminals and their
+     *                           gates
+     * @return control tower created by reading from the given files
+     * @throws MalformedSaveException if the contents of any of the files are invalid
+     * @throws IOException            if an IOException is encountered when opening or reading
+     *                                from any of the files
+     */
+    public static ControlTower createControlTower(Path tick, Path aircraft, Path queues,
+                                                  Path terminalsWithGates)
+            throws MalformedSaveException, IOException {
+        try (Reader tickReader = new FileReader(tick.toFile());
+             MappedSaveFile aircraftFile = new MappedSaveFile(aircraft);
+             Reader queuesReader = new FileReader(queues.toFile());
+             Reader terminalsReader = new FileReader(terminalsWithGates.toFile())) {
+            long ticksElapsed = loadTick(tickReader);
+            return createControlTower(ticksElapsed, loadAircraftByCallsign(aircraftFile),
+                    queuesReader, terminalsReader);
+        }
+    }
+
+    /**
+     * Creates a control tower instance by reading various airport entities from the files at the
+     * given paths, in the same way as {@link #createControlTower(Path, Path, Path, Path)}, but
+     * parsing the aircraft in parallel using the given pool.
+     * <p>
+     * The aircraft are loaded with {@link #loadAircraft(Path, ForkJoinPool)}; the other files are
+     * read as they are by {@link #createControlTower(Path, Path, Path, Path)}.
+     *
+     * @param tick               path of the file from which to load the number of ticks elapsed
+     * @param aircraft           path of the file from which to load the list of aircraft
+     * @param queues             path of the file from which to load the aircraft queues and map
+     *                           of loading aircraft
+     * @param terminalsWithGates path of the file from which to load the terminals and their
+     *                           gates
+     * @param pool               pool used to parse the aircraft
+     * @return control tower created by reading from the given files
+     * @throws MalformedSaveException if the contents of any of the files are invalid
+     * @throws IOException            if an IOException is encountered when opening or reading
+     *                                from any of the files
+     */
+    public static ControlTower createControlTower(Path tick, Path aircraft, Path queues,
+                                                  Path terminalsWithGates, ForkJoinPool pool)
+            throws MalformedSaveException, IOException {
+        try (Reader tickReader = new FileReader(tick.toFile());
+             Reader queuesReader = new FileReader(queues.toFile());
+             Reader terminalsReader = new FileReader(terminalsWithGates.toFile())) {
+            long ticksElapsed = loadTick(tickReader);
+            return createControlTower(ticksElapsed, loadAircraftByCallsign(aircraft, pool),
+                    queuesReader, terminalsReader);
+        }
+    }
+
+    /*
+     * Creates a control tower with the given ticks elapsed and registry of aircraft, reading the
+     * queues, terminals and gates from the given readers.
+     */
+    private static ControlTower createControlTower(long ticksElapsed,
+                                                   Map<String, Aircraft> aircraftByCallsign,
+                                                   Reader queues, Reader terminalsWithGates)
+            throws MalformedSaveException, IOException {
         TakeoffQueue takeoffQueue = new TakeoffQueue();
         LandingQueue landingQueue = new LandingQueue();
         TreeMap<Aircraft, Integer> loadingAircraft =
                 new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
-        loadQueues(queues, aircrafts,
+        loadQueues(queues, aircraftByCallsign,
                 takeoffQueue, landingQueue, loadingAircraft);
-        List<Terminal> terminals = loadTerminalsWithGates(terminalsWithGates, aircrafts);
+        List<Terminal> terminals = loadTerminalsWithGates(terminalsWithGates,
+                aircraftByCallsign);
         ControlTower controlTower = new ControlTower(ticksElapsed,
-                aircrafts, landingQueue, takeoffQueue, loadingAircraft);
+                new ArrayList<>(aircraftByCallsign.values()), landingQueue, takeoffQueue,
+                loadingAircraft);
 
         // add terminals to tower
         for (Terminal terminal : terminals) {
@@ -294,29 +552,59 @@ public class ControlTowerInitialiser {
      * string is invalid according to the rules above
      */
     public static Aircraft readAircraft(String line) throws MalformedSaveException {
-        String[] contents;
-        try {
-            contents = line.split(":");
-        } catch (Exception e) {
+        return readAircraft(line, new TaskSchedulePool(), false);
+    }
+
+    /*
+     * Reads an aircraft as for readAircraft(String), creating its task list with the given pool
+     * so that it shares its schedule with other aircraft read using the same pool. If
+     * withEmergency is true, the aircraft is also put in a state of emergency if its encoding
+     * says it is in one.
+     */
+    private static Aircraft readAircraft(String line, TaskSchedulePool schedules,
+                                         boolean withEmergency) throws MalformedSaveException {
+        if (line == null) {
             throw new MalformedSaveException();
         }
-        if (contents.length == 6) {
-            try {
-                AircraftCharacteristics characteristics =
-                        AircraftCharacteristics.valueOf(contents[1]);
-                TaskList tasks = readTaskList(contents[2]);
-                double fuel = Double.parseDouble(contents[3]);
-                int freight = Integer.parseInt(contents[5]);
-                if (characteristics.passengerCapacity == 0) {
-                    return new FreightAircraft(contents[0], characteristics, tasks, fuel, freight);
-                } else {
-                    return new PassengerAircraft(contents[0],
-                            characteristics, tasks, fuel, freight);
-                }
-            } catch (Exception e) {
-                throw new MalformedSaveException();
+        return readAircraft(line, 0, line.length(), schedules, withEmergency);
+    }
+
+    /*
+     * Reads an aircraft as for readAircraft(String, TaskSchedulePool, boolean) from the given
+     * characters from start (inclusive) to end (exclusive).
+     */
+    private static Aircraft readAircraft(CharSequence text, int start, int end,
+                                         TaskSchedulePool schedules, boolean withEmergency)
+            throws MalformedSaveException {
+        SaveTokenizer fields = new SaveTokenizer(text, start, end, ':');
+        if (fields.countFields() != 6) {
+            throw new MalformedSaveException();
+        }
+        try {
+            fields.nextField();
+            String callsign = fields.field();
+            fields.nextField();
+            AircraftCharacteristics characteristics = fields.parseEnum(CHARACTERISTICS);
+            fields.nextField();
+            TaskList tasks = readTaskList(text, fields.fieldStart(), fields.fieldEnd(),
+                    schedules);
+            fields.nextField();
+            double fuel = fields.parseDouble();
+            fields.nextField();
+            boolean emergency = fields.parseBoolean();
+            fields.nextField();
+            int freight = fields.parseInt();
+            Aircraft aircraft;
+            if (characteristics.passengerCapacity == 0) {
+                aircraft = new FreightAircraft(callsign, characteristics, tasks, fuel, freight);
+            } else {
+                aircraft = new PassengerAircraft(callsign, characteristics, tasks, fuel, freight);
             }
-        } else {
+            if (withEmergency && emergency) {
+                aircraft.declareEmergency();
+            }
+            return aircraft;
+        } catch (Exception e) {
             throw new MalformedSaveException();
         }
     }
@@ -334,45 +622,97 @@ public class ControlTowerInitialiser {
      * parsed by Integer.parseInt(String)).
      * A task's load percentage is less than zero.
      * More than one at-symbol (@) is detected for any task in the task list.
+     * More than one asterisk (*) is detected for any task in the task list.
+     * A task's repeat count is not an integer (i.e. cannot be parsed by
+     * Integer.parseInt(String)).
+     * A task's repeat count is less than one, or greater than one for a task type that cannot
+     * be repeated (see Task(TaskType, int, int)).
      * The task list is invalid according to the rules specified in TaskList(List).
+     *
+     * Task lists written before repeat counts were supported contain no asterisks, and are read
+     * in the same way as before.
      * @param taskListPart - string containing the encoded task list
      * @return decoded task list instance
      * @throws MalformedSaveException - if the format of the given string is
      * invalid according to the rules above
      */
     public static TaskList readTaskList(String taskListPart) throws MalformedSaveException {
-        String[] tasks = taskListPart.split(",");
+        return readTaskList(taskListPart, 0, taskListPart.length(), new TaskSchedulePool());
+    }
+
+    /*
+     * Reads a task list as for readTaskList(String) from the given characters from start
+     * (inclusive) to end (exclusive), sharing its schedule with any task list previously
+     * read using the given pool that cycles through the same tasks.
+     */
+    private static TaskList readTaskList(CharSequence text, int start, int end,
+                                         TaskSchedulePool schedules)
+            throws MalformedSaveException {
+        SaveTokenizer tokens = new SaveTokenizer(text, start, end, ',');
         List<Task> taskString = new ArrayList<>();
-        for (String task : tasks) {
-            if (task.length() < 4) {
+        while (tokens.nextField()) {
+            taskString.add(readTask(text, tokens.fieldStart(), tokens.fieldEnd()));
+        }
+        return schedules.createTaskList(taskString);
+    }
+
+    /*
+     * Reads a single encoded task from the characters of the given string from start (inclusive)
+     * to end (exclusive), as described in Task.encode().
+     */
+    private static Task readTask(CharSequence text, int start, int end)
+            throws MalformedSaveException {
+        int repeatCount = 1;
+        int star = SaveTokenizer.indexOf(text, '*', start, end);
+        if (star != -1) {
+            if (SaveTokenizer.indexOf(text, '*', star + 1, end) != -1) {
                 throw new MalformedSaveException();
             }
-            if (task.equals("AWAY") || task.equals("LAND")
-                    || task.equals("WAIT") || task.equals("TAKEOFF")) {
-                try {
-                    taskString.add(new Task(TaskType.valueOf(task)));
-                } catch (Exception e) {
-                    throw new MalformedSaveException();
-                }
-            } else if (task.startsWith("LOAD")) {
-                String[] loadPercentage = task.split("@");
-                int value;
-                try {
-                    value = Integer.parseInt(loadPercentage[1]);
-                } catch (Exception e) {
-                    throw new MalformedSaveException();
-                }
-                if (loadPercentage.length == 2 && value >= 0) {
-                    taskString.add(new Task(TaskType.valueOf(loadPercentage[0]),
-                            value));
-                } else {
+            repeatCount = SaveTokenizer.parseInt(text, star + 1, end);
+            if (repeatCount < 1) {
+                throw new MalformedSaveException();
+            }
+            end = star;
+        }
+        if (end - start < 4) {
+            throw new MalformedSaveException();
+        }
+        TaskType type = null;
+        if (SaveTokenizer.regionEquals(text, start, end, "AWAY")) {
+            type = TaskType.AWAY;
+        } else if (SaveTokenizer.regionEquals(text, start, end, "LAND")) {
+            type = TaskType.LAND;
+        } else if (SaveTokenizer.regionEquals(text, start, end, "WAIT")) {
+            type = TaskType.WAIT;
+        } else if (SaveTokenizer.regionEquals(text, start, end, "TAKEOFF")) {
+            type = TaskType.TAKEOFF;
+        }
+        int loadPercent = 0;
+        if (type == null) {
+            // LOAD@percent, where any at-symbols after the percentage are ignored
+            if (end - start < 5 || !SaveTokenizer.regionStartsWith(text, start, "LOAD@")) {
+                throw new MalformedSaveException();
+            }
+            int percentEnd = SaveTokenizer.indexOf(text, '@', start + 5, end);
+            if (percentEnd == -1) {
+                percentEnd = end;
+            }
+            loadPercent = SaveTokenizer.parseInt(text, start + 5, percentEnd);
+            for (int i = percentEnd; i < end; i++) {
+                if (text.charAt(i) != '@') {
                     throw new MalformedSaveException();
                 }
-            } else {
+            }
+            if (loadPercent < 0) {
                 throw new MalformedSaveException();
             }
+            type = TaskType.LOAD;
+        }
+        try {
+            return new Task(type, loadPercent, repeatCount);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedSaveException();
         }
-        return new TaskList(taskString);
     }
 
     /**
@@ -396,6 +736,7 @@ public class ControlTowerInitialiser {
      * specified on the first line.
      * A callsign listed on the second line does not correspond to the callsign of any aircraft
      * contained in the list of aircraft given as a parameter.
+     * Two or more aircraft in the list of aircraft given as a parameter have the same callsign.
      *
      * @param reader   - reader from which to load the aircraft queue
      * @param aircraft - list of all aircraft, used when validating that callsigns exist
@@ -408,34 +749,37 @@ public class ControlTowerInitialiser {
     public static void readQueue(BufferedReader reader,
                                  List<Aircraft> aircraft, AircraftQueue queue)
             throws IOException, MalformedSaveException {
-        String line = reader.readLine();
-        String[] content = line.split(":");
-        if (content.length != 2 || !(queue.getClass().getSimpleName().equals(content[0]))) {
+        readQueue(reader, indexByCallsign(aircraft), queue);
+    }
 
+    /* Reads an aircraft queue, resolving callsigns with the given registry */
+    private static void readQueue(BufferedReader reader,
+                                  Map<String, Aircraft> aircraftByCallsign, AircraftQueue queue)
+            throws IOException, MalformedSaveException {
+        String line = reader.readLine();
+        SaveTokenizer fields = new SaveTokenizer(line, ':');
+        if (fields.countFields() != 2) {
             throw new MalformedSaveException();
         }
-        int aircraftAmount;
-        try {
-            aircraftAmount = Integer.parseInt(content[1]);
-        } catch (Exception e) {
+        fields.nextField();
+        if (!fields.fieldEquals(queue.getClass().getSimpleName())) {
             throw new MalformedSaveException();
         }
+        fields.nextField();
+        int aircraftAmount = fields.parseInt();
         int i = 0;
+        SaveTokenizer callsigns = null;
         if (aircraftAmount >= 1) {
             line = reader.readLine();
-            content = line.split(",");
+            callsigns = new SaveTokenizer(line, ',');
         }
         while (i < aircraftAmount) {
-            boolean callsignExists = false;
-            for (Aircraft aircraftEntry : aircraft) {
-                if (aircraftEntry.getCallsign().equals(content[i])) {
-                    queue.addAircraft(aircraftEntry);
-                    callsignExists = true;
-                }
-            }
-            if (!callsignExists) {
+            callsigns.requireField();
+            Aircraft aircraftEntry = aircraftByCallsign.get(callsigns.field());
+            if (aircraftEntry == null) {
                 throw new MalformedSaveException();
             }
+            queue.addAircraft(aircraftEntry);
             i++;
         }
 
@@ -477,6 +821,7 @@ public class ControlTowerInitialiser {
      * Any ticksRemaining value on the second line is not
      * an integer (i.e. cannot be parsed by Integer.parseInt(String)).
      * Any ticksRemaining value on the second line is less than one (1).
+     * Two or more aircraft in the list of aircraft given as a parameter have the same callsign.
      * @param reader - reader from which to load the map of loading aircraft
      * @param aircraft - list of all aircraft, used when validating that callsigns exist
      * @param loadingAircraft - empty map that aircraft and
@@ -488,50 +833,49 @@ public class ControlTowerInitialiser {
     public static void readLoadingAircraft(BufferedReader reader, List<Aircraft> aircraft,
                                            Map<Aircraft, Integer> loadingAircraft)
             throws IOException, MalformedSaveException {
+        readLoadingAircraft(reader, indexByCallsign(aircraft), loadingAircraft);
+    }
+
+    /* Reads the map of loading aircraft, resolving callsigns with the given registry */
+    private static void readLoadingAircraft(BufferedReader reader,
+                                            Map<String, Aircraft> aircraftByCallsign,
+                                            Map<Aircraft, Integer> loadingAircraft)
+            throws IOException, MalformedSaveException {
         String line = reader.readLine();
-        String[] contentOfLine = line.split(":");
-        if (contentOfLine.length != 2) {
-            throw new MalformedSaveException();
-        }
-        int aircraftAmount;
-        try {
-            aircraftAmount = Integer.parseInt(contentOfLine[1]);
-        } catch (Exception e) {
+        SaveTokenizer fields = new SaveTokenizer(line, ':');
+        if (fields.countFields() != 2) {
             throw new MalformedSaveException();
         }
+        fields.nextField();
+        fields.nextField();
+        int aircraftAmount = fields.parseInt();
         if (aircraftAmount == 0) {
             return;
         }
         line = reader.readLine();
-        try {
-            contentOfLine = line.split(",");
-        } catch (Exception e) {
+        if (line == null) {
             throw new MalformedSaveException();
         }
-        if (contentOfLine.length != aircraftAmount) {
+        SaveTokenizer entries = new SaveTokenizer(line, ',');
+        if (entries.countFields() != aircraftAmount) {
             throw new MalformedSaveException();
         }
-        for (String string : contentOfLine) {
-            contentOfLine = string.split(":");
-            int ticks;
-            try {
-                ticks = Integer.parseInt(contentOfLine[1]);
-            } catch (Exception e) {
+        while (entries.nextField()) {
+            // any fields after the callsign and ticks remaining are ignored
+            SaveTokenizer entry = entries.fieldTokenizer(':');
+            if (entry.countFields() < 2) {
                 throw new MalformedSaveException();
             }
-            boolean callsignExists = false;
-            for (Aircraft aircraftEntry : aircraft) {
-                if (aircraftEntry.getCallsign().equals(contentOfLine[0])) {
-                    loadingAircraft.put(aircraftEntry, ticks);
-                    callsignExists = true;
-                }
-            }
-            if (!callsignExists) {
+            entry.nextField();
+            String callsign = entry.field();
+            entry.nextField();
+            int ticks = entry.parseInt();
+            Aircraft aircraftEntry = aircraftByCallsign.get(callsign);
+            if (aircraftEntry == null) {
                 throw new MalformedSaveException();
             }
+            loadingAircraft.put(aircraftEntry, ticks);
         }
-
-
     }
 
     /**
@@ -573,24 +917,30 @@ public class ControlTowerInitialiser {
     public static Terminal readTerminal(String line,
                                         BufferedReader reader, List<Aircraft> aircraft)
             throws IOException, MalformedSaveException {
-        String[] content = line.split(":");
-        if (content.length != 4) {
-            throw new MalformedSaveException();
-        }
-        int amountOfTerminals;
-        int terminalNumber;
-        boolean state;
-        try {
-            amountOfTerminals = Integer.parseInt(content[3]);
-            terminalNumber = Integer.parseInt(content[1]);
-            state = Boolean.parseBoolean(content[2]);
-        } catch (Exception e) {
+        return readTerminal(line, reader, indexByCallsign(aircraft));
+    }
+
+    /* Reads a terminal and its gates, resolving callsigns with the given registry */
+    private static Terminal readTerminal(String line, BufferedReader reader,
+                                         Map<String, Aircraft> aircraftByCallsign)
+            throws IOException, MalformedSaveException {
+        SaveTokenizer fields = new SaveTokenizer(line, ':');
+        if (fields.countFields() != 4) {
             throw new MalformedSaveException();
         }
+        fields.nextField();
+        boolean airplaneTerminal = fields.fieldEquals("AirplaneTerminal");
+        boolean helicopterTerminal = fields.fieldEquals("HelicopterTerminal");
+        fields.nextField();
+        int terminalNumber = fields.parseInt();
+        fields.nextField();
+        boolean state = fields.parseBoolean();
+        fields.nextField();
+        int amountOfTerminals = fields.parseInt();
         Terminal terminal;
-        if (content[0].equals("AirplaneTerminal")) {
+        if (airplaneTerminal) {
             terminal = new AirplaneTerminal(terminalNumber);
-        } else if (content[0].equals("HelicopterTerminal")) {
+        } else if (helicopterTerminal) {
             terminal = new HelicopterTerminal(terminalNumber);
         } else {
             throw new MalformedSaveException();
@@ -599,7 +949,7 @@ public class ControlTowerInitialiser {
         while (i < amountOfTerminals) {
             line = reader.readLine();
             try {
-                terminal.addGate(readGate(line, aircraft));
+                terminal.addGate(readGate(line, aircraftByCallsign));
             } catch (NoSpaceException e) {
                 throw new MalformedSaveException();
             }
@@ -627,6 +977,7 @@ public class ControlTowerInitialiser {
      * not empty and the callsign does not
      * correspond to the callsign of any aircraft contained
      * in the list of aircraft given as a parameter.
+     * Two or more aircraft in the list of aircraft given as a parameter have the same callsign.
      * @param line - string containing the encoded gate
      * @param aircraft - list of all aircraft, used when validating that callsigns exist
      * @return decoded gate instance
@@ -635,28 +986,123 @@ public class ControlTowerInitialiser {
      */
     public static Gate readGate(String line, List<Aircraft> aircraft)
             throws MalformedSaveException {
-        String[] content = line.split(":");
-        if (content.length != 2) {
-            throw new MalformedSaveException();
-        }
-        int gateNumber;
-        try {
-            gateNumber = Integer.parseInt(content[0]);
-        } catch (Exception e) {
+        return readGate(line, indexByCallsign(aircraft));
+    }
+
+    /* Reads a gate, resolving the callsign of any aircraft at the gate with the given registry */
+    private static Gate readGate(String line, Map<String, Aircraft> aircraftByCallsign)
+            throws MalformedSaveException {
+        SaveTokenizer fields = new SaveTokenizer(line, ':');
+        if (fields.countFields() != 2) {
             throw new MalformedSaveException();
         }
+        fields.nextField();
+        int gateNumber = fields.parseInt();
         Gate gate = new Gate(gateNumber);
-        if (!(content[1].equals("empty"))) {
-            for (Aircraft aircraftEntry : aircraft) {
-                if (aircraftEntry.getCallsign().equals(content[1])) {
-                    try {
-                        gate.parkAircraft(aircraftEntry);
-                    } catch (NoSpaceException e) {
-                        throw new MalformedSaveException();
-                    }
+        fields.nextField();
+        if (!fields.fieldEquals("empty")) {
+            Aircraft aircraftEntry = aircraftByCallsign.get(fields.field());
+            if (aircraftEntry != null) {
+                try {
+                    gate.parkAircraft(aircraftEntry);
+                } catch (NoSpaceException e) {
+                    throw new MalformedSaveException();
                 }
             }
         }
         return gate;
     }
+
+    /*
+     * Aircraft parsed from a chunk of the lines of an aircraft file, in the order they appear,
+     * and the exception thrown for the line after the last of them if parsing stopped early.
+     */
+    private static final class AircraftChunk {
+
+        /** Offset in the file of the first line of the chunk */
+        private final long start;
+
+        /** Offset in the file just past the last line of the chunk */
+        private final long end;
+
+        /** Aircraft parsed from the chunk, in the order they appear */
+        private final List<Aircraft> aircraft;
+
+        /** Exception thrown for the line after the last aircraft parsed, or null if none was */
+        private Exception failure;
+
+        /* Creates an unparsed chunk of the lines between the given offsets */
+        private AircraftChunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+            this.aircraft = new ArrayList<>();
+        }
+
+        /* Parses the lines of the chunk from the file at the given path, up to any invalid line */
+        private void parse(Path path, TaskSchedulePool schedules) {
+            try (MappedSaveFile file = new MappedSaveFile(path, this.start, this.end)) {
+                while (file.nextLine()) {
+                    this.aircraft.add(readAircraft(file.lineText(), file.lineStart(),
+                            file.lineEnd(), schedules, true));
+                }
+            } catch (IOException | MalformedSaveException e) {
+                this.failure = e;
+            }
+        }
+
+        /* Throws the exception that stopped parsing of the chunk, if any */
+        private void throwFailure() throws IOException, MalformedSaveException {
+            if (this.failure instanceof IOException) {
+                throw (IOException) this.failure;
+            } else if (this.failure instanceof MalformedSaveException) {
+                throw (MalformedSaveException) this.failure;
+            }
+        }
+    }
+
+    /*
+     * Parses a range of chunks of an aircraft file, splitting the range between subtasks until
+     * each parses a single chunk.
+     */
+    private static final class AircraftChunkAction extends RecursiveAction {
+
+        /** Version of the serialized form of this action */
+        private static final long serialVersionUID = 1L;
+
+        /** Path of the aircraft file */
+        private final Path path;
+
+        /** Every chunk of the file */
+        private final AircraftChunk[] chunks;
+
+        /** Pool shared by every aircraft parsed from the file */
+        private final TaskSchedulePool schedules;
+
+        /** Index of the first chunk to parse */
+        private final int from;
+
+        /** Index after the last chunk to parse */
+        private final int to;
+
+        /* Creates a new action to parse the chunks in the given range of indices */
+        private AircraftChunkAction(Path path, AircraftChunk[] chunks,
+                                    TaskSchedulePool schedules, int from, int to) {
+            this.path = path;
+            this.chunks = chunks;
+            this.schedules = schedules;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new AircraftChunkAction(path, chunks, schedules, from, middle),
+                        new AircraftChunkAction(path, chunks, schedules, middle, to));
+            } else if (to - from == 1) {
+                chunks[from].parse(path, schedules);
+            }
+        }
+    }
 }
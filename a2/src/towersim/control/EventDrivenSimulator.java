@@ -0,0 +1,247 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftListener;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Advances a control tower by jumping directly from one meaningful event to the next, rather
+ * than performing every tick in turn.
+ * <p>
+ * Most ticks are quiet: aircraft that are {@code AWAY} simply burn fuel, aircraft that are
+ * loading count down towards completion and nothing lands or takes off. The only ticks on which
+ * the state of the airport as a whole can change are those on which
+ * <ul>
+ *     <li>an aircraft starts a task other than {@code AWAY} or {@code WAIT}, and so joins a
+ *     queue or starts loading;</li>
+ *     <li>a loading aircraft finishes loading and leaves its gate; or</li>
+ *     <li>a runway can be used, that is, an aircraft is waiting to take off, or the aircraft at
+ *     the front of the landing queue has a gate available.</li>
+ * </ul>
+ * The simulator performs each of these ticks with {@link ControlTower#tick()}, and skips over
+ * every run of quiet ticks in between at once. The observable state of the control tower and
+ * its aircraft after calling {@link #advance(long)} is exactly the same as after calling
+ * {@link ControlTower#tick()} the same number of times.
+ * <p>
+ * The tick on which each {@code AWAY} or {@code WAIT}ing aircraft next starts a different type
+ * of task is kept in a priority queue, and updated only when the simulator is told by an
+ * {@link AircraftListener} that the aircraft has changed task, so finding the next event does
+ * not visit every aircraft. Skipping quiet ticks does not visit the aircraft either: they are
+ * brought up to date in a single step each, with {@link Aircraft#tickAndMove(int)} or
+ * {@link Aircraft#tickLoading(int)}, just before the next tick that is performed in full and at
+ * the end of each call to {@link #advance(long)}.
+ * <p>
+ * Emergencies declared or cleared between calls to {@link #advance(long)} are taken into account
+ * by the next call.
+ */
+public class EventDrivenSimulator {
+
+    /** Control tower whose simulation is advanced */
+    private final ControlTower tower;
+
+    /** Aircraft whose events are tracked, in the same order as in the control tower */
+    private final List<Aircraft> aircraft;
+
+    /** Task lists of the aircraft whose events are tracked */
+    private final Set<TaskList> taskLists;
+
+    /** Whether any two aircraft whose events are tracked share the same task list */
+    private boolean sharedTaskLists;
+
+    /** Tick on which each aircraft next starts a task other than AWAY or WAIT, by position */
+    private final EventSchedule events;
+
+    /** Positions of aircraft whose next event must be found again, as their task has changed */
+    private final BitSet changedAircraft;
+
+    /** Whether the simulation is being advanced by this simulator */
+    private boolean advancing;
+
+    /** Number of quiet ticks skipped that aircraft have not yet been brought up to date with */
+    private long ticksBehind;
+
+    /**
+     * Creates a new simulator for the given control tower.
+     *
+     * @param tower control tower to advance
+     */
+    public EventDrivenSimulator(ControlTower tower) {
+        this.tower = tower;
+        this.aircraft = new ArrayList<>();
+        this.taskLists = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.sharedTaskLists = false;
+        this.events = new EventSchedule(tower.countAircraft());
+        this.changedAircraft = new BitSet();
+        this.advancing = false;
+        this.ticksBehind = 0;
+    }
+
+    /**
+     * Returns the control tower advanced by this simulator.
+     *
+     * @return control tower
+     */
+    public ControlTower getControlTower() {
+        return tower;
+    }
+
+    /**
+     * Advances the control tower by the given number of ticks, skipping over quiet ticks.
+     * <p>
+     * If two or more aircraft managed by the control tower share the same task list, moving one
+     * of them on to its next task moves the others too. In this case, events cannot be predicted
+     * for each aircraft separately, so every tick is performed with {@link ControlTower#tick()}.
+     *
+     * @param ticks number of ticks to advance the simulation by
+     * @throws IllegalArgumentException if ticks &lt; 0
+     */
+    public void advance(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Cannot advance by a negative number of ticks");
+        }
+        // aircraft and runways cannot change while the simulation is advancing
+        trackNewAircraft();
+        if (sharedTaskLists) {
+            tower.advance(ticks);
+            return;
+        }
+        boolean canLand = false;
+        boolean canTakeOff = false;
+        for (RunwayUse runway : tower.getRunways()) {
+            canLand |= runway != RunwayUse.TAKEOFF;
+            canTakeOff |= runway != RunwayUse.LANDING;
+        }
+
+        advancing = true;
+        try {
+            long remaining = ticks;
+            while (remaining > 0) {
+                scheduleChangedAircraft();
+                long quietTicks = 0;
+                if (!tower.hasPendingPlacements() && !canUseRunway(canLand, canTakeOff)) {
+                    quietTicks = Math.min(remaining, ticksUntilNextEvent());
+                }
+                if (quietTicks == 0) {
+                    catchUpAircraft();
+                    tower.tick();
+                    remaining--;
+                } else {
+                    tower.skipQuietTicks(quietTicks);
+                    ticksBehind += quietTicks;
+                    remaining -= quietTicks;
+                }
+            }
+            catchUpAircraft();
+        } finally {
+            advancing = false;
+        }
+    }
+
+    /*
+     * Starts tracking the events of aircraft added to the control tower since the last call.
+     */
+    private void trackNewAircraft() {
+        int aircraftCount = tower.countAircraft();
+        events.ensureCapacity(aircraftCount);
+        for (int i = aircraft.size(); i < aircraftCount; i++) {
+            Aircraft newAircraft = tower.getAircraft(i);
+            aircraft.add(newAircraft);
+            if (!taskLists.add(newAircraft.getTaskList())) {
+                sharedTaskLists = true;
+            }
+            int position = i;
+            newAircraft.addListener(new AircraftListener() {
+                @Override
+                public void taskChanged(Aircraft changed, TaskType previousType) {
+                    // while advancing, an aircraft moving on to a task of the same type has
+                    // simply been ticked, which does not change the tick of its next event
+                    if (!advancing
+                            || previousType != changed.getTaskList().getCurrentTask().getType()) {
+                        changedAircraft.set(position);
+                    }
+                }
+            });
+            changedAircraft.set(position);
+        }
+    }
+
+    /*
+     * Finds the next event of each aircraft whose task has changed since its event was last
+     * scheduled.
+     */
+    private void scheduleChangedAircraft() {
+        for (int i = changedAircraft.nextSetBit(0); i >= 0; i = changedAircraft.nextSetBit(i + 1)) {
+            TaskList taskList = aircraft.get(i).getTaskList();
+            TaskType currentTask = taskList.getCurrentTask().getType();
+            int movesUntilTypeChanges = taskList.getMovesUntilTypeChanges();
+            if ((currentTask == TaskType.AWAY || currentTask == TaskType.WAIT)
+                    && movesUntilTypeChanges != -1) {
+                // the last move happens on a tick of its own
+                events.schedule(i, tower.getTicksElapsed() + movesUntilTypeChanges - 1);
+            } else {
+                events.cancel(i);
+            }
+        }
+        changedAircraft.clear();
+    }
+
+    /*
+     * Brings every aircraft up to date with the quiet ticks that have been skipped.
+     */
+    private void catchUpAircraft() {
+        while (ticksBehind > 0) {
+            int ticks = (int) Math.min(ticksBehind, Integer.MAX_VALUE);
+            for (Aircraft aircraftEntry : aircraft) {
+                TaskType currentTask = aircraftEntry.getTaskList().getCurrentTask().getType();
+                if (currentTask == TaskType.AWAY || currentTask == TaskType.WAIT) {
+                    aircraftEntry.tickAndMove(ticks);
+                } else if (currentTask == TaskType.LOAD) {
+                    aircraftEntry.tickLoading(ticks);
+                }
+                // aircraft waiting to land or take off are unaffected by tick()
+            }
+            ticksBehind -= ticks;
+        }
+    }
+
+    /*
+     * Returns true if any runway could be used on the next tick, given whether there are runways
+     * that can be used for landing and for taking off.
+     */
+    private boolean canUseRunway(boolean canLand, boolean canTakeOff) {
+        if (canTakeOff && tower.getTakeoffQueue().peekAircraft() != null) {
+            return true;
+        }
+        if (canLand) {
+            Aircraft nextToLand = tower.getLandingQueue().peekAircraft();
+            return nextToLand != null && tower.findUnoccupiedGateOrNull(nextToLand) != null;
+        }
+        return false;
+    }
+
+    /*
+     * Returns the number of quiet ticks before the next tick on which an aircraft starts a task
+     * that needs a queue, finishes loading or has its loading time wrap around, or
+     * Long.MAX_VALUE if there will be no such tick.
+     */
+    private long ticksUntilNextEvent() {
+        long ticksUntilNextEvent = Long.MAX_VALUE;
+        long earliestTick = events.getEarliestTick();
+        if (earliestTick != EventSchedule.NO_EVENT) {
+            ticksUntilNextEvent = Math.max(0, earliestTick - tower.getTicksElapsed());
+        }
+        int minLoadingTicksRemaining = tower.getMinLoadingTicksRemaining();
+        if (minLoadingTicksRemaining != -1) {
+            ticksUntilNextEvent = Math.min(ticksUntilNextEvent, minLoadingTicksRemaining);
+        }
+        return ticksUntilNextEvent;
+    }
+}
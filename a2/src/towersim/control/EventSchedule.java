@@ -0,0 +1,149 @@
+package towersim.control;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of the tick on which each of a number of aircraft has its next event, and which
+ * event comes first.
+ * <p>
+ * Aircraft are identified by their position in the control tower's list of aircraft. Aircraft
+ * with a scheduled event are kept in a binary min-heap ordered by the tick of the event, along
+ * with the position of each aircraft in the heap, so that an event can be rescheduled or
+ * cancelled without searching for it.
+ */
+class EventSchedule {
+
+    /** Tick returned by {@link #getEarliestTick()} when no event is scheduled */
+    static final long NO_EVENT = Long.MAX_VALUE;
+
+    /** Tick of the event scheduled for each aircraft, by position */
+    private long[] eventTicks;
+
+    /** Index of each aircraft in the heap, or -1 if it has no event scheduled, by position */
+    private int[] heapIndices;
+
+    /** Binary min-heap of positions of aircraft with a scheduled event, by tick of the event */
+    private int[] heap;
+
+    /** Number of positions in the heap */
+    private int heapSize;
+
+    /*
+     * Creates a new, empty schedule with room for aircraft at positions below the given capacity.
+     */
+    EventSchedule(int capacity) {
+        this.eventTicks = new long[capacity];
+        this.heapIndices = new int[capacity];
+        Arrays.fill(this.heapIndices, -1);
+        this.heap = new int[capacity];
+        this.heapSize = 0;
+    }
+
+    /*
+     * Makes room for aircraft at positions below the given capacity.
+     */
+    void ensureCapacity(int capacity) {
+        int oldCapacity = this.heapIndices.length;
+        if (capacity <= oldCapacity) {
+            return;
+        }
+        capacity = Math.max(capacity, oldCapacity * 2);
+        this.eventTicks = Arrays.copyOf(this.eventTicks, capacity);
+        this.heapIndices = Arrays.copyOf(this.heapIndices, capacity);
+        Arrays.fill(this.heapIndices, oldCapacity, capacity, -1);
+        this.heap = Arrays.copyOf(this.heap, capacity);
+    }
+
+    /*
+     * Schedules the next event of the aircraft at the given position for the given tick,
+     * replacing any event already scheduled for it.
+     */
+    void schedule(int position, long tick) {
+        int heapIndex = this.heapIndices[position];
+        if (heapIndex == -1) {
+            this.eventTicks[position] = tick;
+            this.heap[this.heapSize] = position;
+            this.heapIndices[position] = this.heapSize;
+            siftUp(this.heapSize++);
+        } else if (tick < this.eventTicks[position]) {
+            this.eventTicks[position] = tick;
+            siftUp(heapIndex);
+        } else {
+            this.eventTicks[position] = tick;
+            siftDown(heapIndex);
+        }
+    }
+
+    /*
+     * Cancels the event scheduled for the aircraft at the given position, if any.
+     */
+    void cancel(int position) {
+        int heapIndex = this.heapIndices[position];
+        if (heapIndex == -1) {
+            return;
+        }
+        this.heapIndices[position] = -1;
+        this.heapSize--;
+        if (heapIndex == this.heapSize) {
+            return;
+        }
+        int last = this.heap[this.heapSize];
+        this.heap[heapIndex] = last;
+        this.heapIndices[last] = heapIndex;
+        siftDown(heapIndex);
+        if (this.heap[heapIndex] == last) {
+            siftUp(heapIndex);
+        }
+    }
+
+    /*
+     * Returns the tick of the earliest scheduled event, or NO_EVENT if no event is scheduled.
+     */
+    long getEarliestTick() {
+        if (this.heapSize == 0) {
+            return NO_EVENT;
+        }
+        return this.eventTicks[this.heap[0]];
+    }
+
+    /* Moves the position at the given heap index up until its parent's event is no later */
+    private void siftUp(int index) {
+        int position = this.heap[index];
+        while (index > 0) {
+            int parentIndex = (index - 1) / 2;
+            int parent = this.heap[parentIndex];
+            if (this.eventTicks[parent] <= this.eventTicks[position]) {
+                break;
+            }
+            this.heap[index] = parent;
+            this.heapIndices[parent] = index;
+            index = parentIndex;
+        }
+        this.heap[index] = position;
+        this.heapIndices[position] = index;
+    }
+
+    /* Moves the position at the given heap index down until no child's event is earlier */
+    private void siftDown(int index) {
+        int position = this.heap[index];
+        while (true) {
+            int childIndex = 2 * index + 1;
+            if (childIndex >= this.heapSize) {
+                break;
+            }
+            if (childIndex + 1 < this.heapSize && this.eventTicks[this.heap[childIndex + 1]]
+                    < this.eventTicks[this.heap[childIndex]]) {
+                childIndex++;
+            }
+            int child = this.heap[childIndex];
+            if (this.eventTicks[position] <= this.eventTicks[child]) {
+                break;
+            }
+            this.heap[index] = child;
+            this.heapIndices[child] = index;
+            index = childIndex;
+        }
+        this.heap[index] = position;
+        this.heapIndices[position] = index;
+    }
+}
@@ -1,36 +1,108 @@
 package towersim.control;
 
 import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftListener;
+import towersim.aircraft.PassengerAircraft;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a rule-based queue of aircraft waiting in the air to land.
  * The rules in the landing queue are designed to ensure that aircraft are prioritised
  * for landing based on "urgency" factors such as remaining fuel onboard,
  * emergency status and cargo type.
+ * <p>
+ * Internally, the queue is an indexed binary heap ordered by each aircraft's landing priority
+ * and the order in which it was added. The queue listens for changes to the emergency state and
+ * fuel of its aircraft so that their position in the heap is always up to date.
  */
 public class LandingQueue extends AircraftQueue {
 
-    /** List of aircraft in LandingQueue */
-    private ArrayList<Aircraft> aircrafts;
+    /** Priority of aircraft in a state of emergency */
+    private static final int EMERGENCY_PRIORITY = 0;
+
+    /** Priority of aircraft with a critical level of fuel onboard */
+    private static final int LOW_FUEL_PRIORITY = 1;
+
+    /** Priority of passenger aircraft */
+    private static final int PASSENGER_PRIORITY = 2;
+
+    /** Priority of all other aircraft */
+    private static final int DEFAULT_PRIORITY = 3;
+
+    /** Fuel percentage at or below which an aircraft's fuel level is considered critical */
+    private static final int CRITICAL_FUEL_PERCENT = 20;
+
+    /** Binary min-heap of queue entries, ordered by priority then arrival */
+    private Entry[] heap;
+
+    /** Number of entries currently in the heap */
+    private int size;
+
+    /**
+     * Mapping of each aircraft that has been queued to its entry; entries of aircraft that have
+     * since been removed are kept, with a position of -1, so that they can be reused
+     */
+    private final Map<Aircraft, Entry> entries;
+
+    /** Arrival number to assign to the next aircraft added to the queue */
+    private long nextArrival;
+
+    /** Listener that repositions aircraft when their landing priority may have changed */
+    private final AircraftListener priorityListener;
 
     /**
      * Constructs a new LandingQueue with an initially empty queue of aircraft.
      */
     public LandingQueue() {
-        aircrafts = new ArrayList<>();
+        this.heap = new Entry[8];
+        this.size = 0;
+        this.entries = new HashMap<>();
+        this.nextArrival = 0;
+        this.priorityListener = new AircraftListener() {
+            @Override
+            public void emergencyChanged(Aircraft aircraft) {
+                updatePriority(aircraft);
+            }
+
+            @Override
+            public void fuelChanged(Aircraft aircraft) {
+                updatePriority(aircraft);
+            }
+        };
     }
 
     /**
      * Adds the given aircraft to the queue.
+     * <p>
+     * If the aircraft is already in the queue, no action is taken.
      *
      * @param aircraft - aircraft to add to queue
      */
     @Override
     public void addAircraft(Aircraft aircraft) {
-        aircrafts.add(aircraft);
+        Entry entry = entries.get(aircraft);
+        if (entry == null) {
+            entry = new Entry(aircraft, nextArrival++, priorityOf(aircraft));
+            entries.put(aircraft, entry);
+        } else if (entry.position >= 0) {
+            return;
+        } else {
+            entry.arrival = nextArrival++;
+            entry.priority = priorityOf(aircraft);
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = entry;
+        entry.position = size;
+        size++;
+        siftUp(entry.position);
+        aircraft.addListener(priorityListener);
     }
 
     /**
@@ -51,25 +123,10 @@ public class LandingQueue extends AircraftQueue {
      * @return aircraft at front of queue
      */
     public Aircraft peekAircraft() {
-        for (Aircraft aircraftEntryOne : aircrafts) {
-            if (aircraftEntryOne.hasEmergency() == true) {
-                return aircraftEntryOne;
-            }
-        }
-        for (Aircraft aircraftEntryTwo : aircrafts) {
-            if (aircraftEntryTwo.getFuelPercentRemaining() <= 20) {
-                return aircraftEntryTwo;
-            }
-        }
-        for (Aircraft aircraftEntryThree : aircrafts) {
-            if (aircraftEntryThree.getClass().getSimpleName().equals("PassengerAircraft")) {
-                return aircraftEntryThree;
-            }
+        if (size == 0) {
+            return null;
         }
-        if (aircrafts.size() >= 1) {
-            return aircrafts.get(0);
-        }
-        return null;
+        return heap[0].aircraft;
     }
 
     /**
@@ -82,16 +139,20 @@ public class LandingQueue extends AircraftQueue {
      */
     @Override
     public Aircraft removeAircraft() {
-        Aircraft aircraftAtFront = peekAircraft();
-        int i = 0;
-        for (Aircraft aircraft : aircrafts) {
-            if (aircraftAtFront.hashCode() == aircraft.hashCode()) {
-                aircrafts.remove(i);
-                return aircraftAtFront;
-            }
-            i++;
+        if (size == 0) {
+            return null;
         }
-        return aircraftAtFront;
+        Entry front = heap[0];
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            heap[0].position = 0;
+            siftDown(0);
+        }
+        heap[size] = null;
+        front.position = -1;
+        front.aircraft.removeListener(priorityListener);
+        return front.aircraft;
     }
 
     /**
@@ -105,15 +166,11 @@ public class LandingQueue extends AircraftQueue {
      */
     @Override
     public List<Aircraft> getAircraftInOrder() {
-        List<Aircraft> orderedAircrafts = new ArrayList<>();
-        LandingQueue originalAircrafts = new LandingQueue();
-        for (Aircraft aircraft : aircrafts) {
-            originalAircrafts.addAircraft(aircraft);
-        }
-        int i = 0;
-        while (i < aircrafts.size()) {
-            orderedAircrafts.add(originalAircrafts.removeAircraft());
-            i++;
+        Entry[] ordered = Arrays.copyOf(heap, size);
+        Arrays.sort(ordered, LandingQueue::compare);
+        List<Aircraft> orderedAircrafts = new ArrayList<>(size);
+        for (Entry entry : ordered) {
+            orderedAircrafts.add(entry.aircraft);
         }
         return orderedAircrafts;
     }
@@ -126,12 +183,118 @@ public class LandingQueue extends AircraftQueue {
      */
     @Override
     public boolean containsAircraft(Aircraft aircraft) {
-        boolean result = false;
-        for (Aircraft aircraftEntry : aircrafts) {
-            if (aircraft.hashCode() == aircraftEntry.hashCode()) {
-                result = true;
+        Entry entry = entries.get(aircraft);
+        return entry != null && entry.position >= 0;
+    }
+
+    /*
+     * Recalculates the landing priority of the given aircraft and moves it to its new position
+     * in the heap if the priority has changed.
+     */
+    private void updatePriority(Aircraft aircraft) {
+        Entry entry = entries.get(aircraft);
+        if (entry == null || entry.position < 0) {
+            return;
+        }
+        int priority = priorityOf(aircraft);
+        if (priority < entry.priority) {
+            entry.priority = priority;
+            siftUp(entry.position);
+        } else if (priority > entry.priority) {
+            entry.priority = priority;
+            siftDown(entry.position);
+        }
+    }
+
+    /* Returns the landing priority of the given aircraft; lower values land first */
+    private static int priorityOf(Aircraft aircraft) {
+        if (aircraft.hasEmergency()) {
+            return EMERGENCY_PRIORITY;
+        }
+        if (aircraft.getFuelPercentRemaining() <= CRITICAL_FUEL_PERCENT) {
+            return LOW_FUEL_PRIORITY;
+        }
+        if (aircraft instanceof PassengerAircraft) {
+            return PASSENGER_PRIORITY;
+        }
+        return DEFAULT_PRIORITY;
+    }
+
+    /* Compares two entries by priority, then by the order they were added to the queue */
+    private static int compare(Entry first, Entry second) {
+        if (first.priority != second.priority) {
+            return Integer.compare(first.priority, second.priority);
+        }
+        return Long.compare(first.arrival, second.arrival);
+    }
+
+    /* Moves the entry at the given position towards the root until the heap is ordered */
+    private void siftUp(int position) {
+        Entry entry = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (compare(entry, heap[parent]) >= 0) {
+                break;
+            }
+            heap[position] = heap[parent];
+            heap[position].position = position;
+            position = parent;
+        }
+        heap[position] = entry;
+        entry.position = position;
+    }
+
+    /* Moves the entry at the given position towards the leaves until the heap is ordered */
+    private void siftDown(int position) {
+        Entry entry = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (compare(entry, heap[child]) <= 0) {
+                break;
             }
+            heap[position] = heap[child];
+            heap[position].position = position;
+            position = child;
+        }
+        heap[position] = entry;
+        entry.position = position;
+    }
+
+    /**
+     * An aircraft in the landing queue along with its current priority, the order in which it
+     * was added and its position in the heap.
+     */
+    private static class Entry {
+
+        /** Aircraft waiting to land */
+        private final Aircraft aircraft;
+
+        /** Order in which the aircraft was added to the queue */
+        private long arrival;
+
+        /** Current landing priority of the aircraft */
+        private int priority;
+
+        /** Index of this entry in the heap, or -1 if the aircraft is not in the queue */
+        private int position;
+
+        /**
+         * Creates a new entry for the given aircraft.
+         *
+         * @param aircraft aircraft waiting to land
+         * @param arrival  order in which the aircraft was added to the queue
+         * @param priority current landing priority of the aircraft
+         */
+        private Entry(Aircraft aircraft, long arrival, int priority) {
+            this.aircraft = aircraft;
+            this.arrival = arrival;
+            this.priority = priority;
         }
-        return result;
     }
 }
@@ -0,0 +1,239 @@
+package towersim.control;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of which aircraft are loading cargo and when each will finish.
+ * <p>
+ * Aircraft are identified by their position in the control tower's list of aircraft. Rather than
+ * counting down the ticks remaining for every loading aircraft on every load step, the schedule
+ * records the absolute load step on which each aircraft will finish, and keeps the aircraft that
+ * will finish in a binary min-heap ordered by that step. Each load step then only touches the
+ * aircraft that finish on it, and the ticks remaining for any aircraft are derived from the
+ * current step when asked for.
+ * <p>
+ * An aircraft that starts loading with a negative number of ticks remaining never finishes, as
+ * counting down from a negative number never reaches zero. Such aircraft are kept apart from
+ * the heap.
+ */
+class LoadingSchedule {
+
+    /** Load step that the next call to {@link #advance()} completes */
+    private long step;
+
+    /** Number of aircraft that have started loading, used to order aircraft that tie */
+    private long started;
+
+    /** Whether each aircraft is loading, by position */
+    private boolean[] loading;
+
+    /** Load step on which each loading aircraft finishes, by position */
+    private long[] completions;
+
+    /** Order in which each loading aircraft started loading, by position */
+    private long[] sequences;
+
+    /** Binary min-heap of positions of aircraft that will finish, by completion then sequence */
+    private int[] heap;
+
+    /** Number of positions in the heap */
+    private int heapSize;
+
+    /** Positions of aircraft that will never finish loading */
+    private int[] neverFinishing;
+
+    /** Number of positions in neverFinishing */
+    private int neverFinishingSize;
+
+    /*
+     * Creates a new, empty schedule with room for aircraft at positions below the given capacity.
+     */
+    LoadingSchedule(int capacity) {
+        this.step = 0;
+        this.started = 0;
+        this.loading = new boolean[capacity];
+        this.completions = new long[capacity];
+        this.sequences = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapSize = 0;
+        this.neverFinishing = new int[capacity];
+        this.neverFinishingSize = 0;
+    }
+
+    /*
+     * Makes room for aircraft at positions below the given capacity.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity <= this.loading.length) {
+            return;
+        }
+        capacity = Math.max(capacity, this.loading.length * 2);
+        this.loading = Arrays.copyOf(this.loading, capacity);
+        this.completions = Arrays.copyOf(this.completions, capacity);
+        this.sequences = Arrays.copyOf(this.sequences, capacity);
+        this.heap = Arrays.copyOf(this.heap, capacity);
+        this.neverFinishing = Arrays.copyOf(this.neverFinishing, capacity);
+    }
+
+    /*
+     * Returns the number of aircraft that are loading.
+     */
+    int size() {
+        return this.heapSize + this.neverFinishingSize;
+    }
+
+    /*
+     * Returns true if the aircraft at the given position is loading.
+     */
+    boolean isLoading(int position) {
+        return this.loading[position];
+    }
+
+    /*
+     * Starts loading the aircraft at the given position.
+     * <p>
+     * The aircraft finishes during the call to {@link #advance()} that follows the given number
+     * of further calls, so an aircraft with zero ticks remaining finishes on the next call.
+     */
+    void start(int position, int ticksRemaining) {
+        this.loading[position] = true;
+        this.completions[position] = this.step + ticksRemaining;
+        this.sequences[position] = this.started++;
+        if (ticksRemaining < 0) {
+            this.neverFinishing[this.neverFinishingSize++] = position;
+        } else {
+            this.heap[this.heapSize] = position;
+            siftUp(this.heapSize++);
+        }
+    }
+
+    /*
+     * Returns the number of ticks remaining for loading the aircraft at the given position.
+     */
+    int getTicksRemaining(int position) {
+        return (int) (this.completions[position] - this.step);
+    }
+
+    /*
+     * Returns the smallest number of ticks remaining among aircraft that will finish loading, or
+     * -1 if no loading aircraft will ever finish.
+     */
+    int getMinTicksRemaining() {
+        if (this.heapSize == 0) {
+            return -1;
+        }
+        return getTicksRemaining(this.heap[0]);
+    }
+
+    /*
+     * Removes and returns the position of an aircraft that finishes on the current load step, or
+     * returns -1 if there are no more such aircraft.
+     * <p>
+     * Aircraft that finish on the same step are returned in the order they started loading.
+     */
+    int pollFinished() {
+        if (this.heapSize == 0 || this.completions[this.heap[0]] != this.step) {
+            return -1;
+        }
+        int position = this.heap[0];
+        this.heapSize--;
+        if (this.heapSize > 0) {
+            this.heap[0] = this.heap[this.heapSize];
+            siftDown(0);
+        }
+        this.loading[position] = false;
+        return position;
+    }
+
+    /*
+     * Completes the current load step, reducing the ticks remaining for every loading aircraft
+     * by one.
+     * <p>
+     * Aircraft that finish on the current step should be removed with {@link #pollFinished()}
+     * first; otherwise they will never finish.
+     */
+    void advance() {
+        skip(1);
+    }
+
+    /*
+     * Completes the given number of load steps at once, reducing the ticks remaining for every
+     * loading aircraft by that number.
+     */
+    void skip(long steps) {
+        this.step += steps;
+        // aircraft whose finishing step has passed count down past zero and so never finish
+        while (this.heapSize > 0 && this.completions[this.heap[0]] < this.step) {
+            int position = this.heap[0];
+            this.heapSize--;
+            if (this.heapSize > 0) {
+                this.heap[0] = this.heap[this.heapSize];
+                siftDown(0);
+            }
+            this.neverFinishing[this.neverFinishingSize++] = position;
+        }
+    }
+
+    /*
+     * Returns the positions of all loading aircraft, in the order they started loading.
+     */
+    int[] getLoadingInOrder() {
+        int[] positions = new int[size()];
+        System.arraycopy(this.heap, 0, positions, 0, this.heapSize);
+        System.arraycopy(this.neverFinishing, 0, positions, this.heapSize,
+                this.neverFinishingSize);
+        long[] keys = new long[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            keys[i] = this.sequences[positions[i]];
+        }
+        // sequences are unique, so sorting them gives the order of the positions
+        Arrays.sort(keys);
+        int[] ordered = new int[positions.length];
+        for (int position : positions) {
+            ordered[Arrays.binarySearch(keys, this.sequences[position])] = position;
+        }
+        return ordered;
+    }
+
+    /* Compares the aircraft at two positions by completion step, then by sequence */
+    private int compare(int first, int second) {
+        if (this.completions[first] != this.completions[second]) {
+            return Long.compare(this.completions[first], this.completions[second]);
+        }
+        return Long.compare(this.sequences[first], this.sequences[second]);
+    }
+
+    /* Moves the position at the given heap index towards the root until the heap is ordered */
+    private void siftUp(int index) {
+        int position = this.heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (compare(position, this.heap[parent]) >= 0) {
+                break;
+            }
+            this.heap[index] = this.heap[parent];
+            index = parent;
+        }
+        this.heap[index] = position;
+    }
+
+    /* Moves the position at the given heap index towards the leaves until the heap is ordered */
+    private void siftDown(int index) {
+        int position = this.heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= this.heapSize) {
+                break;
+            }
+            if (child + 1 < this.heapSize && compare(this.heap[child + 1], this.heap[child]) < 0) {
+                child++;
+            }
+            if (compare(position, this.heap[child]) <= 0) {
+                break;
+            }
+            this.heap[index] = this.heap[child];
+            index = child;
+        }
+        this.heap[index] = position;
+    }
+}
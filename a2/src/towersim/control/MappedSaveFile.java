@@ -0,0 +1,289 @@
+package towersim.control;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the lines of a save file by mapping the file into memory, rather than decoding it into
+ * strings.
+ * <p>
+ * Lines are ended in the same way as for {@link java.io.BufferedReader#readLine()}, by a line
+ * feed, a carriage return, or a carriage return followed by a line feed. Each line is given as a
+ * region of a character sequence that reads the bytes of the mapped file in place, one character
+ * per byte, so that a line can be tokenized with a {@link SaveTokenizer} without copying it. A
+ * line that contains any byte outside the ASCII range is instead decoded into a string with the
+ * platform's default charset, as a {@link java.io.FileReader} would decode it.
+ * <p>
+ * Files larger than a single mapping can hold are mapped one window at a time, with each window
+ * starting at the beginning of a line. The lines of a file can also be split into chunks, each
+ * of which can be read by its own mapped save file, so that they can be read concurrently.
+ */
+final class MappedSaveFile implements Closeable {
+
+    /** Largest number of bytes mapped at once by default */
+    private static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    /** Number of bytes read at once when searching for the start of a line */
+    private static final int SEARCH_BUFFER_SIZE = 256;
+
+    /** Channel of the mapped file */
+    private final FileChannel channel;
+
+    /** Offset in the file just past the last byte to read */
+    private final long end;
+
+    /** Largest number of bytes mapped at once */
+    private final int windowSize;
+
+    /** Part of the file that is currently mapped */
+    private MappedByteBuffer window;
+
+    /** Offset in the file of the first byte of the window */
+    private long windowOffset;
+
+    /** Characters of the bytes in the window */
+    private CharSequence windowText;
+
+    /** Index in the window of the first byte of the next line */
+    private int next;
+
+    /** Characters containing the current line */
+    private CharSequence lineText;
+
+    /** Index in lineText of the first character of the current line */
+    private int lineStart;
+
+    /** Index in lineText just past the last character of the current line */
+    private int lineEnd;
+
+    /*
+     * Opens and maps the file at the given path, with no current line.
+     */
+    MappedSaveFile(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /*
+     * Opens and maps the file at the given path, mapping at most the given number of bytes at
+     * once, with no current line. No line may be longer than the window.
+     */
+    MappedSaveFile(Path path, int windowSize) throws IOException {
+        this(path, 0, Long.MAX_VALUE, windowSize);
+    }
+
+    /*
+     * Opens the file at the given path and maps the part of it from start (inclusive) to end
+     * (exclusive), with no current line. The part must start at the beginning of a line, and end
+     * at the beginning of a line or at or past the end of the file, as the offsets returned by
+     * splitRemainingLines(int) do.
+     */
+    MappedSaveFile(Path path, long start, long end) throws IOException {
+        this(path, start, end, DEFAULT_WINDOW_SIZE);
+    }
+
+    /*
+     * Opens the file at the given path and maps the given part of it as for
+     * MappedSaveFile(Path, long, long), mapping at most the given number of bytes at once.
+     */
+    MappedSaveFile(Path path, long start, long end, int windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.end = Math.min(end, this.channel.size());
+            this.windowSize = windowSize;
+            mapWindow(Math.min(start, this.end));
+        } catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /*
+     * Moves on to the next line, returning false if the end of the file has been reached, as
+     * BufferedReader.readLine() would return null.
+     */
+    boolean nextLine() throws IOException {
+        while (true) {
+            if (this.windowOffset + this.next >= this.end) {
+                return false;
+            }
+            int windowLength = this.window.limit();
+            boolean windowEndsFile = this.windowOffset + windowLength == this.end;
+            int end = this.next;
+            boolean ascii = true;
+            while (end < windowLength) {
+                byte b = this.window.get(end);
+                if (b == '\n' || b == '\r') {
+                    break;
+                }
+                if (b < 0) {
+                    ascii = false;
+                }
+                end++;
+            }
+            // a line ending at the edge of the window may carry on in, or its terminator be
+            // followed by a line feed in, the part of the file after the window
+            if (!windowEndsFile && end >= windowLength - 1) {
+                if (this.next == 0) {
+                    throw new IOException("Line is longer than " + this.windowSize + " bytes");
+                }
+                mapWindow(this.windowOffset + this.next);
+                continue;
+            }
+            if (ascii) {
+                this.lineText = this.windowText;
+                this.lineStart = this.next;
+                this.lineEnd = end;
+            } else {
+                byte[] bytes = new byte[end - this.next];
+                this.window.get(this.next, bytes);
+                this.lineText = new String(bytes, Charset.defaultCharset());
+                this.lineStart = 0;
+                this.lineEnd = this.lineText.length();
+            }
+            if (end < windowLength) {
+                if (this.window.get(end) == '\r' && end + 1 < windowLength
+                        && this.window.get(end + 1) == '\n') {
+                    end++;
+                }
+                end++;
+            }
+            this.next = end;
+            return true;
+        }
+    }
+
+    /* Returns the characters containing the current line */
+    CharSequence lineText() {
+        return this.lineText;
+    }
+
+    /* Returns the index in lineText() of the first character of the current line */
+    int lineStart() {
+        return this.lineStart;
+    }
+
+    /* Returns the index in lineText() just past the last character of the current line */
+    int lineEnd() {
+        return this.lineEnd;
+    }
+
+    /* Returns the current line as a string */
+    String line() {
+        return this.lineText.subSequence(this.lineStart, this.lineEnd).toString();
+    }
+
+    /*
+     * Returns the offsets in the file at which the lines after the current line are split into
+     * chunks of at least the given number of bytes, each starting at the beginning of a line.
+     * The first offset is that of the line after the current line, and the last is the end of
+     * the part of the file being read, so that each chunk runs from one offset to the next.
+     */
+    List<Long> splitRemainingLines(int chunkSize) throws IOException {
+        long start = this.windowOffset + this.next;
+        List<Long> offsets = new ArrayList<>();
+        offsets.add(start);
+        while (start < this.end) {
+            start = findLineStart(start + chunkSize);
+            offsets.add(start);
+        }
+        return offsets;
+    }
+
+    /*
+     * Returns the offset of the first line that starts at or after the given offset, or the end
+     * of the part of the file being read if no line does.
+     */
+    private long findLineStart(long offset) throws IOException {
+        if (offset >= this.end) {
+            return this.end;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(SEARCH_BUFFER_SIZE);
+        // a line starts after a terminator, so search from the byte before the offset
+        long position = offset - 1;
+        boolean afterCarriageReturn = false;
+        while (position < this.end) {
+            bytes.clear();
+            int read = this.channel.read(bytes, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = bytes.get(i);
+                if (afterCarriageReturn) {
+                    return Math.min(position + (b == '\n' ? i + 1 : i), this.end);
+                }
+                if (b == '\n') {
+                    return Math.min(position + i + 1, this.end);
+                }
+                afterCarriageReturn = b == '\r';
+            }
+            position += read;
+        }
+        return this.end;
+    }
+
+    /**
+     * Closes the file. The mapped bytes are released once they are no longer referenced.
+     *
+     * @throws IOException if an IOException occurs when closing the file
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /* Maps the window of the file starting at the given offset */
+    private void mapWindow(long offset) throws IOException {
+        long length = Math.min(this.windowSize, this.end - offset);
+        this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        this.windowOffset = offset;
+        this.windowText = new ByteText(this.window);
+        this.next = 0;
+    }
+
+    /*
+     * Characters of the bytes of a buffer, one character per byte, for bytes known to be ASCII.
+     */
+    private static final class ByteText implements CharSequence {
+
+        /** Bytes of the characters */
+        private final MappedByteBuffer bytes;
+
+        /* Creates a character sequence of the given bytes */
+        ByteText(MappedByteBuffer bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int length() {
+            return this.bytes.limit();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) this.bytes.get(index);
+        }
+
+        /* Returns the characters as a string, rather than a view of this sequence */
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            byte[] characters = new byte[end - start];
+            this.bytes.get(start, characters);
+            return new String(characters, StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+}
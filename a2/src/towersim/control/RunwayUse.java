@@ -0,0 +1,29 @@
+package towersim.control;
+
+/**
+ * Enum to represent the kinds of movements a runway can be used for.
+ * <table border="1">
+ * <caption>Enum Definitions</caption>
+ * <tr><th>RunwayUse</th><th>Movements allowed on each tick</th></tr>
+ * <tr><td>{@code LANDING}</td><td>One aircraft may land</td></tr>
+ * <tr><td>{@code TAKEOFF}</td><td>One aircraft may take off</td></tr>
+ * <tr><td>{@code MIXED}</td><td>One aircraft may land on even ticks, falling back to a takeoff
+ * if no aircraft could land; one aircraft may take off on odd ticks</td></tr>
+ * </table>
+ */
+public enum RunwayUse {
+    /**
+     * Runway dedicated to aircraft landing.
+     */
+    LANDING,
+
+    /**
+     * Runway dedicated to aircraft taking off.
+     */
+    TAKEOFF,
+
+    /**
+     * Runway shared between landings and takeoffs, alternating between the two on each tick.
+     */
+    MIXED
+}
@@ -0,0 +1,353 @@
+package towersim.control;
+
+import towersim.util.MalformedSaveException;
+
+/**
+ * Walks over the fields of a line of a save file, parsing each field in place.
+ * <p>
+ * A tokenizer covers a region of a character sequence, such as a string or the bytes of a
+ * {@link MappedSaveFile}, and splits it into fields separated by a single
+ * separator character. Fields are found in the same way as by {@link String#split(String)} with
+ * the separator as the pattern: if the region contains the separator, empty fields at the end of
+ * the region are ignored, so {@code "A:B::"} has the two fields {@code "A"} and {@code "B"};
+ * otherwise the whole region is a single field, even if it is empty.
+ * <p>
+ * The current field is parsed directly from the characters of the sequence, without creating a
+ * substring or an array of fields. Numbers are accepted and rejected exactly as by
+ * {@link Integer#parseInt(String)} and {@link Double#parseDouble(String)}, but any field that
+ * cannot be parsed results in a {@link MalformedSaveException}.
+ */
+final class SaveTokenizer {
+
+    /** Powers of ten that can be represented exactly as doubles, by exponent */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** Largest integer such that it and every smaller natural number are exact doubles */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /** Most decimal digits that can be accumulated in a long without overflow */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /** Characters containing the region to split */
+    private final CharSequence text;
+
+    /** Character separating fields */
+    private final char separator;
+
+    /** Index of the first character of the region */
+    private final int start;
+
+    /** Index just past the last character of the last field in the region */
+    private final int end;
+
+    /** Whether the region has any fields at all */
+    private final boolean hasFields;
+
+    /** Index at which the next field starts, or -1 if there are no more fields */
+    private int next;
+
+    /** Index of the first character of the current field */
+    private int fieldStart;
+
+    /** Index just past the last character of the current field */
+    private int fieldEnd;
+
+    /*
+     * Creates a tokenizer over the whole of the given line, with no current field.
+     */
+    SaveTokenizer(CharSequence line, char separator) {
+        this(line, 0, line.length(), separator);
+    }
+
+    /*
+     * Creates a tokenizer over the given characters from start (inclusive) to end (exclusive),
+     * with no current field.
+     */
+    SaveTokenizer(CharSequence text, int start, int end, char separator) {
+        this.text = text;
+        this.separator = separator;
+        this.start = start;
+        this.next = start;
+        if (indexOf(text, separator, start, end) != -1) {
+            // as for String.split, trailing empty fields are dropped
+            while (end > start && text.charAt(end - 1) == separator) {
+                end--;
+            }
+            if (end == start) {
+                this.next = -1;
+            }
+        }
+        this.end = end;
+        this.hasFields = this.next != -1;
+        this.fieldStart = start;
+        this.fieldEnd = start;
+    }
+
+    /*
+     * Returns the number of fields in the region, as would be the length of the array returned
+     * by String.split.
+     */
+    int countFields() {
+        if (!this.hasFields) {
+            return 0;
+        }
+        int count = 1;
+        for (int i = this.start; i < this.end; i++) {
+            if (this.text.charAt(i) == this.separator) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /*
+     * Moves on to the next field, returning false if there are no more fields.
+     */
+    boolean nextField() {
+        if (this.next == -1) {
+            return false;
+        }
+        this.fieldStart = this.next;
+        int separatorIndex = indexOf(this.text, this.separator, this.next, this.end);
+        if (separatorIndex == -1) {
+            this.fieldEnd = this.end;
+            this.next = -1;
+        } else {
+            this.fieldEnd = separatorIndex;
+            this.next = separatorIndex + 1;
+        }
+        return true;
+    }
+
+    /*
+     * Moves on to the next field, throwing MalformedSaveException if there are no more fields.
+     */
+    void requireField() throws MalformedSaveException {
+        if (!nextField()) {
+            throw new MalformedSaveException();
+        }
+    }
+
+    /* Returns the index of the first character of the current field */
+    int fieldStart() {
+        return this.fieldStart;
+    }
+
+    /* Returns the index just past the last character of the current field */
+    int fieldEnd() {
+        return this.fieldEnd;
+    }
+
+    /* Returns the current field as a string */
+    String field() {
+        return this.text.subSequence(this.fieldStart, this.fieldEnd).toString();
+    }
+
+    /* Returns true if the current field is exactly the given string */
+    boolean fieldEquals(String expected) {
+        return regionEquals(this.text, this.fieldStart, this.fieldEnd, expected);
+    }
+
+    /*
+     * Returns a tokenizer over the current field, splitting it with the given separator.
+     */
+    SaveTokenizer fieldTokenizer(char fieldSeparator) {
+        return new SaveTokenizer(this.text, this.fieldStart, this.fieldEnd, fieldSeparator);
+    }
+
+    /*
+     * Parses the current field as an int, as for Integer.parseInt(String).
+     */
+    int parseInt() throws MalformedSaveException {
+        return parseInt(this.text, this.fieldStart, this.fieldEnd);
+    }
+
+    /*
+     * Parses the current field as a double, as for Double.parseDouble(String).
+     */
+    double parseDouble() throws MalformedSaveException {
+        return parseDouble(this.text, this.fieldStart, this.fieldEnd);
+    }
+
+    /*
+     * Parses the current field as a boolean, as for Boolean.parseBoolean(String). Any field other
+     * than "true", ignoring case, is false.
+     */
+    boolean parseBoolean() {
+        if (this.fieldEnd - this.fieldStart != 4) {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            char c = this.text.charAt(this.fieldStart + i);
+            char expected = "true".charAt(i);
+            // compared in the same way as by String.equalsIgnoreCase
+            if (c != expected && Character.toUpperCase(c) != Character.toUpperCase(expected)
+                    && Character.toLowerCase(Character.toUpperCase(c)) != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Returns the constant of the given enum constants whose name is exactly the current field,
+     * as for Enum.valueOf(Class, String), or throws MalformedSaveException if there is none.
+     */
+    <E extends Enum<E>> E parseEnum(E[] constants) throws MalformedSaveException {
+        for (E constant : constants) {
+            if (fieldEquals(constant.name())) {
+                return constant;
+            }
+        }
+        throw new MalformedSaveException();
+    }
+
+    /*
+     * Returns the index of the first occurrence of the given character in the given characters
+     * from start (inclusive) to end (exclusive), or -1 if it does not occur there.
+     */
+    static int indexOf(CharSequence text, char c, int start, int end) {
+        // String.indexOf would search past the end of the region
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Returns true if the given characters from start (inclusive) to end (exclusive) are exactly
+     * the expected string.
+     */
+    static boolean regionEquals(CharSequence text, int start, int end, String expected) {
+        return end - start == expected.length() && regionStartsWith(text, start, expected);
+    }
+
+    /*
+     * Returns true if the given characters from start (inclusive) begin with the expected
+     * string. There must be at least as many characters from start as in the expected string.
+     */
+    static boolean regionStartsWith(CharSequence text, int start, String expected) {
+        for (int i = 0; i < expected.length(); i++) {
+            if (text.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Parses the given characters from start (inclusive) to end (exclusive) as an int, accepting
+     * and rejecting exactly the strings Integer.parseInt(String) does.
+     */
+    static int parseInt(CharSequence text, int start, int end) throws MalformedSaveException {
+        if (start >= end) {
+            throw new MalformedSaveException();
+        }
+        int i = start;
+        boolean negative = false;
+        // accumulate negatively, as Integer.MIN_VALUE has no positive counterpart
+        int limit = -Integer.MAX_VALUE;
+        char first = text.charAt(i);
+        if (first == '-' || first == '+') {
+            if (end - start == 1) {
+                throw new MalformedSaveException();
+            }
+            if (first == '-') {
+                negative = true;
+                limit = Integer.MIN_VALUE;
+            }
+            i++;
+        }
+        int multiplyLimit = limit / 10;
+        int result = 0;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                if (c >= 128) {
+                    // Integer.parseInt also accepts digits from other scripts
+                    return parseIntSlowly(text, start, end);
+                }
+                throw new MalformedSaveException();
+            }
+            int digit = c - '0';
+            if (result < multiplyLimit) {
+                throw new MalformedSaveException();
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw new MalformedSaveException();
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /*
+     * Parses the given characters from start (inclusive) to end (exclusive) as a double,
+     * accepting and rejecting exactly the strings Double.parseDouble(String) does.
+     * <p>
+     * Plain decimals with few enough digits, such as the fuel amounts written by
+     * Aircraft.encode(), are converted directly: the digits form an exact double, and dividing
+     * it by an exact power of ten gives the correctly rounded result. Every other form is left to
+     * Double.parseDouble.
+     */
+    static double parseDouble(CharSequence text, int start, int end) throws MalformedSaveException {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_LONG_DIGITS) {
+                    return parseDoubleSlowly(text, start, end);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (point) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return parseDoubleSlowly(text, start, end);
+            }
+        }
+        if (digits == 0 || mantissa > MAX_EXACT_MANTISSA
+                || fractionDigits >= EXACT_POWERS_OF_TEN.length) {
+            return parseDoubleSlowly(text, start, end);
+        }
+        double value = mantissa / EXACT_POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /* Parses an int using Integer.parseInt, for strings the fast path does not handle */
+    private static int parseIntSlowly(CharSequence text, int start, int end)
+            throws MalformedSaveException {
+        try {
+            return Integer.parseInt(text.subSequence(start, end).toString());
+        } catch (NumberFormatException e) {
+            throw new MalformedSaveException();
+        }
+    }
+
+    /* Parses a double using Double.parseDouble, for strings the fast path does not handle */
+    private static double parseDoubleSlowly(CharSequence text, int start, int end)
+            throws MalformedSaveException {
+        try {
+            return Double.parseDouble(text.subSequence(start, end).toString());
+        } catch (NumberFormatException e) {
+            throw new MalformedSaveException();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Terminal;
+import towersim.util.MalformedSaveException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class that contains static methods for converting between the text save files read by
+ * {@link ControlTowerInitialiser#createControlTower(Reader, Reader, Reader, Reader)} and the
+ * binary snapshots written by {@link SnapshotWriter} and read by {@link SnapshotReader}.
+ * <p>
+ * Fuel amounts are rounded to two decimal places in the text format, so converting a snapshot
+ * to text and back does not necessarily give the same snapshot. Converting text to a snapshot and
+ * back gives text that loads the same control tower as the original text.
+ */
+public class SnapshotConverter {
+
+    /**
+     * Reads a control tower from the given text save readers, and writes a snapshot of it to the
+     * given output stream.
+     * <p>
+     * The output stream is flushed, but not closed.
+     *
+     * @param tick               reader from which to load the number of ticks elapsed
+     * @param aircraft           reader from which to load the list of aircraft
+     * @param queues             reader from which to load the aircraft queues and map of
+     *                           loading aircraft
+     * @param terminalsWithGates reader from which to load the terminals and their gates
+     * @param snapshot           output stream to write the snapshot to
+     * @throws MalformedSaveException if the contents of any of the readers are invalid, as for
+     *                                {@link ControlTowerInitialiser#createControlTower(Reader,
+     *                                Reader, Reader, Reader)}
+     * @throws IOException            if an IOException occurs when reading from any of the
+     *                                readers or writing to the output stream
+     */
+    public static void textToSnapshot(Reader tick, Reader aircraft, Reader queues,
+                                      Reader terminalsWithGates, OutputStream snapshot)
+            throws MalformedSaveException, IOException {
+        ControlTower controlTower = ControlTowerInitialiser.createControlTower(tick, aircraft,
+                queues, terminalsWithGates);
+        SnapshotWriter.write(controlTower, snapshot);
+    }
+
+    /**
+     * Reads a control tower from the snapshot in the given input stream, and writes it to the
+     * given writers in the text save format.
+     * <p>
+     * Each writer is flushed, but not closed.
+     *
+     * @param snapshot           input stream to read the snapshot from
+     * @param tick               writer to which the number of ticks elapsed is written
+     * @param aircraft           writer to which the list of aircraft is written
+     * @param queues             writer to which the aircraft queues and map of loading aircraft
+     *                           are written
+     * @param terminalsWithGates writer to which the terminals and their gates are written
+     * @throws MalformedSaveException if the snapshot is invalid, as for
+     *                                {@link SnapshotReader#read(InputStream)}
+     * @throws IOException            if an IOException occurs when reading from the input stream
+     *                                or writing to any of the writers
+     */
+    public static void snapshotToText(InputStream snapshot, Writer tick, Writer aircraft,
+                                      Writer queues, Writer terminalsWithGates)
+            throws MalformedSaveException, IOException {
+        writeText(SnapshotReader.read(snapshot), tick, aircraft, queues, terminalsWithGates);
+    }
+
+    /*
+     * Writes the given control tower to the given writers in the text save format, in the same
+     * layout as read by ControlTowerInitialiser.
+     */
+    private static void writeText(ControlTower controlTower, Writer tick, Writer aircraft,
+                                  Writer queues, Writer terminalsWithGates) throws IOException {
+        BufferedWriter bufferedTick = new BufferedWriter(tick);
+        bufferedTick.write(String.valueOf(controlTower.getTicksElapsed()));
+        bufferedTick.flush();
+
+        BufferedWriter bufferedAircraft = new BufferedWriter(aircraft);
+        List<Aircraft> allAircraft = controlTower.getAircraftView();
+        bufferedAircraft.write(String.valueOf(allAircraft.size()));
+        for (Aircraft plane : allAircraft) {
+            bufferedAircraft.newLine();
+            plane.encodeTo(bufferedAircraft);
+        }
+        bufferedAircraft.flush();
+
+        BufferedWriter bufferedQueues = new BufferedWriter(queues);
+        controlTower.getTakeoffQueue().encodeTo(bufferedQueues);
+        bufferedQueues.newLine();
+        controlTower.getLandingQueue().encodeTo(bufferedQueues);
+        bufferedQueues.newLine();
+        Map<Aircraft, Integer> loadingAircraft = controlTower.getLoadingAircraft();
+        bufferedQueues.write("LoadingAircraft:" + loadingAircraft.size());
+        if (!loadingAircraft.isEmpty()) {
+            bufferedQueues.newLine();
+            boolean first = true;
+            for (Map.Entry<Aircraft, Integer> entry : loadingAircraft.entrySet()) {
+                if (!first) {
+                    bufferedQueues.write(',');
+                }
+                first = false;
+                bufferedQueues.write(entry.getKey().getCallsign());
+                bufferedQueues.write(':');
+                bufferedQueues.write(String.valueOf(entry.getValue()));
+            }
+        }
+        bufferedQueues.flush();
+
+        BufferedWriter bufferedTerminals = new BufferedWriter(terminalsWithGates);
+        List<Terminal> terminals = controlTower.getTerminalsView();
+        bufferedTerminals.write(String.valueOf(terminals.size()));
+        for (Terminal terminal : terminals) {
+            bufferedTerminals.newLine();
+            terminal.encodeTo(bufferedTerminals);
+        }
+        bufferedTerminals.flush();
+    }
+}
@@ -0,0 +1,288 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskSchedule;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSpaceException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Reads a control tower from a binary snapshot written by
+ * {@link SnapshotWriter#write(ControlTower, java.io.OutputStream)}.
+ * <p>
+ * The control tower is created in the same way as by
+ * {@link ControlTowerInitialiser#createControlTower(Reader, Reader, Reader, Reader)}: aircraft are
+ * added to the queues in the order they were written, loading aircraft are held in a map ordered
+ * by callsign, and terminals are added to the tower after it is created. Aircraft flying the same
+ * schedule share a single {@link TaskSchedule}, and each task list is restored to the positions
+ * it was written at.
+ */
+public class SnapshotReader {
+
+    /** Every aircraft model, in declaration order */
+    private static final AircraftCharacteristics[] CHARACTERISTICS =
+            AircraftCharacteristics.values();
+
+    /** Every type of task, in declaration order */
+    private static final TaskType[] TASK_TYPES = TaskType.values();
+
+    /**
+     * Reads a control tower from the snapshot in the given input stream.
+     * <p>
+     * The whole of the stream is read, but the stream is not closed.
+     * <p>
+     * The snapshot is invalid if any of the following conditions are true:
+     * <ul>
+     * <li>It does not start with {@link SnapshotWriter#MAGIC}, or is of a version other than
+     * {@link SnapshotWriter#VERSION}.</li>
+     * <li>It ends before all of its sections have been read, or has bytes left over after
+     * them.</li>
+     * <li>Any count is negative, or any ordinal, schedule index or aircraft index is not that of
+     * an aircraft model, type of task, schedule or aircraft in the snapshot.</li>
+     * <li>The number of ticks elapsed is less than zero.</li>
+     * <li>Two or more aircraft have the same callsign.</li>
+     * <li>Any task, schedule, task list, aircraft, terminal or gate cannot be created from the
+     * values read, as its constructor throws an {@code IllegalArgumentException}, or a gate
+     * cannot be added to its terminal or an aircraft parked at its gate.</li>
+     * </ul>
+     *
+     * @param in input stream to read the snapshot from
+     * @return control tower read from the snapshot
+     * @throws MalformedSaveException if the snapshot is invalid according to the rules above
+     * @throws IOException            if an IOException occurs when reading from the stream
+     */
+    public static ControlTower read(InputStream in) throws MalformedSaveException, IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(in.readAllBytes());
+        try {
+            return read(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException | NoSpaceException e) {
+            throw new MalformedSaveException(e);
+        }
+    }
+
+    /* Reads every section of a snapshot from the given buffer */
+    private static ControlTower read(ByteBuffer buffer)
+            throws MalformedSaveException, NoSpaceException {
+        if (buffer.getInt() != SnapshotWriter.MAGIC) {
+            throw new MalformedSaveException("Not a control tower snapshot");
+        }
+        int version = buffer.getInt();
+        if (version != SnapshotWriter.VERSION) {
+            throw new MalformedSaveException("Unsupported snapshot version " + version);
+        }
+        long ticksElapsed = buffer.getLong();
+        if (ticksElapsed < 0) {
+            throw new MalformedSaveException();
+        }
+
+        TaskSchedule[] schedules = new TaskSchedule[readCount(buffer)];
+        for (int i = 0; i < schedules.length; i++) {
+            schedules[i] = readSchedule(buffer);
+        }
+        Aircraft[] aircraft = readAircraft(buffer, schedules);
+
+        TakeoffQueue takeoffQueue = new TakeoffQueue();
+        readQueue(buffer, aircraft, takeoffQueue);
+        LandingQueue landingQueue = new LandingQueue();
+        readQueue(buffer, aircraft, landingQueue);
+
+        TreeMap<Aircraft, Integer> loadingAircraft =
+                new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
+        int loadingCount = readCount(buffer);
+        for (int i = 0; i < loadingCount; i++) {
+            Aircraft loading = readAircraftIndex(buffer, aircraft);
+            loadingAircraft.put(loading, buffer.getInt());
+        }
+
+        List<Terminal> terminals = new ArrayList<>();
+        int terminalCount = readCount(buffer);
+        for (int i = 0; i < terminalCount; i++) {
+            terminals.add(readTerminal(buffer, aircraft));
+        }
+        if (buffer.hasRemaining()) {
+            throw new MalformedSaveException("Unexpected bytes after the end of the snapshot");
+        }
+
+        ControlTower controlTower = new ControlTower(ticksElapsed,
+                new ArrayList<>(Arrays.asList(aircraft)), landingQueue, takeoffQueue,
+                loadingAircraft);
+        for (Terminal terminal : terminals) {
+            controlTower.addTerminal(terminal);
+        }
+        return controlTower;
+    }
+
+    /*
+     * Reads a count of elements. Every element takes at least one byte, so a count larger than
+     * the number of bytes left cannot be valid, and is rejected before anything is allocated.
+     */
+    private static int readCount(ByteBuffer buffer) throws MalformedSaveException {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new MalformedSaveException();
+        }
+        return count;
+    }
+
+    /* Reads an ordinal of the given enum constants */
+    private static <E extends Enum<E>> E readOrdinal(ByteBuffer buffer, E[] constants)
+            throws MalformedSaveException {
+        int ordinal = buffer.get();
+        if (ordinal < 0 || ordinal >= constants.length) {
+            throw new MalformedSaveException();
+        }
+        return constants[ordinal];
+    }
+
+    /* Reads a byte that must be 0 for false or 1 for true */
+    private static boolean readFlag(ByteBuffer buffer) throws MalformedSaveException {
+        byte flag = buffer.get();
+        if (flag != 0 && flag != 1) {
+            throw new MalformedSaveException();
+        }
+        return flag == 1;
+    }
+
+    /* Reads the tasks of a schedule */
+    private static TaskSchedule readSchedule(ByteBuffer buffer) throws MalformedSaveException {
+        int size = readCount(buffer);
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TaskType type = readOrdinal(buffer, TASK_TYPES);
+            int loadPercent = buffer.getInt();
+            int repeatCount = buffer.getInt();
+            tasks.add(new Task(type, loadPercent, repeatCount));
+        }
+        return new TaskSchedule(tasks);
+    }
+
+    /* Reads the callsign table and the record of every aircraft */
+    private static Aircraft[] readAircraft(ByteBuffer buffer, TaskSchedule[] schedules)
+            throws MalformedSaveException {
+        String[] callsigns = new String[readCount(buffer)];
+        Set<String> distinctCallsigns = new HashSet<>(callsigns.length * 4 / 3 + 1);
+        for (int i = 0; i < callsigns.length; i++) {
+            int length = readCount(buffer);
+            callsigns[i] = new String(buffer.array(), buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            if (!distinctCallsigns.add(callsigns[i])) {
+                throw new MalformedSaveException("Duplicate callsign " + callsigns[i]);
+            }
+        }
+        Aircraft[] aircraft = new Aircraft[callsigns.length];
+        for (int i = 0; i < aircraft.length; i++) {
+            AircraftCharacteristics characteristics = readOrdinal(buffer, CHARACTERISTICS);
+            boolean emergency = readFlag(buffer);
+            int scheduleIndex = buffer.getInt();
+            if (scheduleIndex < 0 || scheduleIndex >= schedules.length) {
+                throw new MalformedSaveException();
+            }
+            TaskList tasks = readTaskList(buffer, schedules[scheduleIndex]);
+            double fuel = buffer.getDouble();
+            int cargo = buffer.getInt();
+            if (characteristics.passengerCapacity == 0) {
+                aircraft[i] = new FreightAircraft(callsigns[i], characteristics, tasks, fuel,
+                        cargo);
+            } else {
+                aircraft[i] = new PassengerAircraft(callsigns[i], characteristics, tasks, fuel,
+                        cargo);
+            }
+            if (emergency) {
+                aircraft[i].declareEmergency();
+            }
+        }
+        return aircraft;
+    }
+
+    /*
+     * Reads the first and current positions of a task list flying the given schedule, returning
+     * a task list that started from the first position and has moved on to the current one.
+     */
+    private static TaskList readTaskList(ByteBuffer buffer, TaskSchedule schedule)
+            throws MalformedSaveException {
+        TaskList tasks = new TaskList(schedule, buffer.getInt());
+        int currentPosition = buffer.getInt();
+        if (currentPosition < 0 || currentPosition >= schedule.getLength()) {
+            throw new MalformedSaveException();
+        }
+        // no listeners have been added yet, so moving the task list notifies nobody
+        tasks.moveForward((int) ((currentPosition - (long) tasks.getFirstPosition()
+                + schedule.getLength()) % schedule.getLength()));
+        return tasks;
+    }
+
+    /* Reads the index of an aircraft, returning the aircraft */
+    private static Aircraft readAircraftIndex(ByteBuffer buffer, Aircraft[] aircraft)
+            throws MalformedSaveException {
+        int index = buffer.getInt();
+        if (index < 0 || index >= aircraft.length) {
+            throw new MalformedSaveException();
+        }
+        return aircraft[index];
+    }
+
+    /* Reads the aircraft in a queue, adding them to the given queue in order */
+    private static void readQueue(ByteBuffer buffer, Aircraft[] aircraft, AircraftQueue queue)
+            throws MalformedSaveException {
+        int count = readCount(buffer);
+        for (int i = 0; i < count; i++) {
+            queue.addAircraft(readAircraftIndex(buffer, aircraft));
+        }
+    }
+
+    /* Reads a terminal and its gates, parking aircraft at the gates */
+    private static Terminal readTerminal(ByteBuffer buffer, Aircraft[] aircraft)
+            throws MalformedSaveException, NoSpaceException {
+        byte kind = buffer.get();
+        int terminalNumber = buffer.getInt();
+        boolean emergency = readFlag(buffer);
+        Terminal terminal;
+        if (kind == SnapshotWriter.AIRPLANE_TERMINAL) {
+            terminal = new AirplaneTerminal(terminalNumber);
+        } else if (kind == SnapshotWriter.HELICOPTER_TERMINAL) {
+            terminal = new HelicopterTerminal(terminalNumber);
+        } else {
+            throw new MalformedSaveException();
+        }
+        int gateCount = readCount(buffer);
+        for (int i = 0; i < gateCount; i++) {
+            Gate gate = new Gate(buffer.getInt());
+            int index = buffer.getInt();
+            if (index != -1) {
+                if (index < 0 || index >= aircraft.length) {
+                    throw new MalformedSaveException();
+                }
+                gate.parkAircraft(aircraft[index]);
+            }
+            terminal.addGate(gate);
+        }
+        if (emergency) {
+            terminal.declareEmergency();
+        }
+        return terminal;
+    }
+}
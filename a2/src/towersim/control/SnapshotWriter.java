@@ -0,0 +1,286 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.HelicopterTerminal;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskSchedule;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a control tower to a compact binary snapshot, which can be read back with
+ * {@link SnapshotReader#read(java.io.InputStream)}.
+ * <p>
+ * A snapshot holds the same information as the text files read by
+ * {@link ControlTowerInitialiser#createControlTower(Reader, Reader, Reader, Reader)}, but needs
+ * no text to be formatted or parsed: aircraft models are written as ordinals of
+ * {@link AircraftCharacteristics}, each distinct {@link TaskSchedule} is written once and shared
+ * by every aircraft flying it, and every number is written in a fixed number of bytes. Unlike
+ * the text format, fuel amounts are written exactly rather than rounded to two decimal places.
+ * <p>
+ * All numbers are big-endian. A snapshot consists of, in order:
+ * <ol>
+ * <li>the int {@link #MAGIC}, the int {@link #VERSION} of the format, and the long number of
+ * ticks elapsed;</li>
+ * <li>the schedule table: the int number of schedules, then for each schedule the int number of
+ * tasks and, for each task, the byte ordinal of its type followed by its int load percentage and
+ * int repeat count;</li>
+ * <li>the callsign table: the int number of aircraft, then the callsign of each aircraft in the
+ * order they are managed by the tower, as its int length in bytes followed by its UTF-8
+ * bytes;</li>
+ * <li>a record of {@value #AIRCRAFT_RECORD_SIZE} bytes for each aircraft, in the same order:
+ * the byte ordinal of its characteristics, a byte that is 1 if it has declared an emergency and
+ * 0 otherwise, the int index of its schedule in the schedule table, the int positions in that
+ * schedule at which its task list started and of its current task (see
+ * {@link TaskList#getFirstPosition()} and {@link TaskList#getCurrentPosition()}), its double
+ * amount of fuel and its int amount of cargo;</li>
+ * <li>the takeoff queue and then the landing queue, each as the int number of aircraft in the
+ * queue followed by the int index of each aircraft, in queue order;</li>
+ * <li>the loading aircraft, as the int number of loading aircraft followed by the int index of
+ * each aircraft and its int number of ticks remaining;</li>
+ * <li>the terminals: the int number of terminals, then for each terminal a byte that is
+ * {@value #AIRPLANE_TERMINAL} for an airplane terminal or {@value #HELICOPTER_TERMINAL} for a
+ * helicopter terminal, its int terminal number, a byte that is 1 if it has declared an emergency
+ * and 0 otherwise, and its int number of gates, followed by the int gate number of each gate and
+ * the int index of the aircraft parked at it, or -1 if the gate is empty.</li>
+ * </ol>
+ * Aircraft are identified by their index in the callsign table.
+ */
+public class SnapshotWriter {
+
+    /** Number that every snapshot starts with, the ASCII characters "TWRS" */
+    public static final int MAGIC = 0x54575253;
+
+    /** Version of the snapshot format written by this class */
+    public static final int VERSION = 1;
+
+    /** Number of bytes in the record of each aircraft */
+    public static final int AIRCRAFT_RECORD_SIZE = 26;
+
+    /** Kind of terminal written for an airplane terminal */
+    public static final int AIRPLANE_TERMINAL = 0;
+
+    /** Kind of terminal written for a helicopter terminal */
+    public static final int HELICOPTER_TERMINAL = 1;
+
+    /** Number of bytes collected before they are written to the output stream */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Stream the snapshot is written to */
+    private final OutputStream out;
+
+    /** Bytes of the snapshot not yet written to the output stream */
+    private final ByteBuffer buffer;
+
+    /* Creates a writer that writes to the given stream */
+    private SnapshotWriter(OutputStream out) {
+        this.out = out;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    /**
+     * Writes a snapshot of the given control tower to the given output stream.
+     * <p>
+     * The output stream is flushed, but not closed.
+     * <p>
+     * Any aircraft parked at a gate that is not managed by the control tower is left out of the
+     * snapshot, so its gate is read back as empty, as it would be from the text format.
+     *
+     * @param tower control tower to write
+     * @param out   output stream to write the snapshot to
+     * @throws IOException              if an IOException occurs when writing to the stream
+     * @throws IllegalArgumentException if an aircraft in the takeoff or landing queue or among
+     *                                  the loading aircraft is not managed by the control tower,
+     *                                  or a terminal is neither an airplane terminal nor a
+     *                                  helicopter terminal
+     */
+    public static void write(ControlTower tower, OutputStream out) throws IOException {
+        SnapshotWriter writer = new SnapshotWriter(out);
+        writer.writeTower(tower);
+        writer.flushBuffer();
+        out.flush();
+    }
+
+    /* Writes every section of the snapshot of the given tower */
+    private void writeTower(ControlTower tower) throws IOException {
+        List<Aircraft> aircraft = tower.getAircraftView();
+        writeInt(MAGIC);
+        writeInt(VERSION);
+        writeLong(tower.getTicksElapsed());
+
+        List<TaskSchedule> schedules = new ArrayList<>();
+        int[] scheduleIndices = indexSchedules(aircraft, schedules);
+        writeInt(schedules.size());
+        for (TaskSchedule schedule : schedules) {
+            writeSchedule(schedule);
+        }
+
+        writeInt(aircraft.size());
+        for (Aircraft plane : aircraft) {
+            writeString(plane.getCallsign());
+        }
+        for (int i = 0; i < aircraft.size(); i++) {
+            Aircraft plane = aircraft.get(i);
+            TaskList tasks = plane.getTaskList();
+            ensureRemaining(AIRCRAFT_RECORD_SIZE);
+            this.buffer.put((byte) plane.getCharacteristics().ordinal())
+                    .put((byte) (plane.hasEmergency() ? 1 : 0))
+                    .putInt(scheduleIndices[i])
+                    .putInt(tasks.getFirstPosition())
+                    .putInt(tasks.getCurrentPosition())
+                    .putDouble(plane.getFuelAmount())
+                    .putInt(plane.getCargoAmount());
+        }
+
+        writeQueue(tower, tower.getTakeoffQueue());
+        writeQueue(tower, tower.getLandingQueue());
+
+        Map<Aircraft, Integer> loadingAircraft = tower.getLoadingAircraft();
+        writeInt(loadingAircraft.size());
+        for (Map.Entry<Aircraft, Integer> entry : loadingAircraft.entrySet()) {
+            writeInt(indexOfManagedAircraft(tower, entry.getKey(), "Loading"));
+            writeInt(entry.getValue());
+        }
+
+        List<Terminal> terminals = tower.getTerminalsView();
+        writeInt(terminals.size());
+        for (Terminal terminal : terminals) {
+            writeTerminal(tower, terminal);
+        }
+    }
+
+    /*
+     * Adds each distinct schedule flown by the given aircraft to the given list, in the order
+     * they are first flown, and returns the index in the list of the schedule of each aircraft.
+     */
+    private static int[] indexSchedules(List<Aircraft> aircraft, List<TaskSchedule> schedules) {
+        Map<TaskSchedule, Integer> indices = new HashMap<>();
+        int[] scheduleIndices = new int[aircraft.size()];
+        TaskSchedule previous = null;
+        int previousIndex = -1;
+        for (int i = 0; i < aircraft.size(); i++) {
+            TaskSchedule schedule = aircraft.get(i).getTaskList().getSchedule();
+            // aircraft loaded together usually share their schedule with the aircraft before
+            if (schedule != previous) {
+                Integer index = indices.putIfAbsent(schedule, schedules.size());
+                if (index == null) {
+                    index = schedules.size();
+                    schedules.add(schedule);
+                }
+                previous = schedule;
+                previousIndex = index;
+            }
+            scheduleIndices[i] = previousIndex;
+        }
+        return scheduleIndices;
+    }
+
+    /* Writes the tasks of the given schedule */
+    private void writeSchedule(TaskSchedule schedule) throws IOException {
+        writeInt(schedule.size());
+        for (int i = 0; i < schedule.size(); i++) {
+            Task task = schedule.getTask(i);
+            ensureRemaining(9);
+            this.buffer.put((byte) task.getType().ordinal())
+                    .putInt(task.getLoadPercent())
+                    .putInt(task.getRepeatCount());
+        }
+    }
+
+    /* Writes the indices of the aircraft in the given queue, in queue order */
+    private void writeQueue(ControlTower tower, AircraftQueue queue) throws IOException {
+        List<Aircraft> aircraft = queue.getAircraftInOrder();
+        writeInt(aircraft.size());
+        for (Aircraft plane : aircraft) {
+            writeInt(indexOfManagedAircraft(tower, plane, "Queued"));
+        }
+    }
+
+    /*
+     * Returns the index of the given aircraft in the given tower, throwing
+     * IllegalArgumentException, described by the given role, if the tower does not manage it.
+     */
+    private static int indexOfManagedAircraft(ControlTower tower, Aircraft aircraft,
+            String role) {
+        int index = tower.indexOfAircraft(aircraft);
+        if (index == -1) {
+            throw new IllegalArgumentException(role + " aircraft " + aircraft.getCallsign()
+                    + " is not managed by the tower");
+        }
+        return index;
+    }
+
+    /* Writes the given terminal and its gates */
+    private void writeTerminal(ControlTower tower, Terminal terminal) throws IOException {
+        int kind;
+        if (terminal instanceof AirplaneTerminal) {
+            kind = AIRPLANE_TERMINAL;
+        } else if (terminal instanceof HelicopterTerminal) {
+            kind = HELICOPTER_TERMINAL;
+        } else {
+            throw new IllegalArgumentException("Unknown kind of terminal "
+                    + terminal.getClass().getSimpleName());
+        }
+        List<Gate> gates = terminal.getGatesView();
+        ensureRemaining(10);
+        this.buffer.put((byte) kind)
+                .putInt(terminal.getTerminalNumber())
+                .put((byte) (terminal.hasEmergency() ? 1 : 0))
+                .putInt(gates.size());
+        for (Gate gate : gates) {
+            writeInt(gate.getGateNumber());
+            writeInt(gate.isOccupied() ? tower.indexOfAircraft(gate.getAircraftAtGate()) : -1);
+        }
+    }
+
+    /* Writes the given int */
+    private void writeInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        this.buffer.putInt(value);
+    }
+
+    /* Writes the given long */
+    private void writeLong(long value) throws IOException {
+        ensureRemaining(Long.BYTES);
+        this.buffer.putLong(value);
+    }
+
+    /* Writes the length in bytes of the UTF-8 encoding of the given string, then its bytes */
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        if (bytes.length > this.buffer.capacity()) {
+            flushBuffer();
+            this.out.write(bytes);
+        } else {
+            ensureRemaining(bytes.length);
+            this.buffer.put(bytes);
+        }
+    }
+
+    /* Writes out the buffer if it does not have room for the given number of bytes */
+    private void ensureRemaining(int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            flushBuffer();
+        }
+    }
+
+    /* Writes the bytes collected in the buffer to the output stream and empties the buffer */
+    private void flushBuffer() throws IOException {
+        this.out.write(this.buffer.array(), 0, this.buffer.position());
+        this.buffer.clear();
+    }
+}
@@ -2,8 +2,13 @@ package towersim.control;
 
 import towersim.aircraft.Aircraft;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents a first-in-first-out (FIFO) queue of aircraft waiting to take off.
@@ -11,27 +16,41 @@ import java.util.List;
  * off is based on long they have been waiting in the
  * queue. An aircraft that has been waiting for longer than another aircraft
  * will always be allowed to take off before the other aircraft.
+ * <p>
+ * Aircraft are held in a deque alongside an identity-based set of the queued aircraft, so
+ * adding, peeking, removing and checking whether an aircraft is queued all take constant time.
  */
 public class TakeoffQueue extends AircraftQueue {
 
-    /** List of aircraft in TakeoffQueue */
-    private List<Aircraft> aircrafts;
+    /** Aircraft in TakeoffQueue, in the order they were added */
+    private final Deque<Aircraft> aircrafts;
+
+    /**
+     * Set of all aircraft currently in TakeoffQueue, backed by an identity map, whose open
+     * addressing means that adding and removing aircraft does not allocate
+     */
+    private final Set<Aircraft> queued;
 
     /**
      * Constructs a new TakeoffQueue with an initially empty queue of aircraft.
      */
     public TakeoffQueue() {
-        aircrafts = new ArrayList<>();
+        aircrafts = new ArrayDeque<>();
+        queued = Collections.newSetFromMap(new IdentityHashMap<>());
     }
 
     /**
      * Adds the given aircraft to the queue.
+     * <p>
+     * If the aircraft is already in the queue, no action is taken.
      *
      * @param aircraft - aircraft to add to queue
      */
     @Override
     public void addAircraft(Aircraft aircraft) {
-        aircrafts.add(aircraft);
+        if (queued.add(aircraft)) {
+            aircrafts.addLast(aircraft);
+        }
     }
 
     /**
@@ -44,10 +63,7 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public Aircraft peekAircraft() {
-        if (aircrafts.size() >= 1) {
-            return aircrafts.get(0);
-        }
-        return null;
+        return aircrafts.peekFirst();
     }
 
     /**
@@ -60,14 +76,9 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public Aircraft removeAircraft() {
-        Aircraft aircraftAtFront = peekAircraft();
-        int i = 0;
-        for (Aircraft aircraft : aircrafts) {
-            if (aircraftAtFront.hashCode() == aircraft.hashCode()) {
-                aircrafts.remove(i);
-                return aircraftAtFront;
-            }
-            i++;
+        Aircraft aircraftAtFront = aircrafts.pollFirst();
+        if (aircraftAtFront != null) {
+            queued.remove(aircraftAtFront);
         }
         return aircraftAtFront;
     }
@@ -85,9 +96,7 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public List<Aircraft> getAircraftInOrder() {
-        List<Aircraft> orderedAircrafts = new ArrayList<>();
-        orderedAircrafts.addAll(aircrafts);
-        return orderedAircrafts;
+        return new ArrayList<>(aircrafts);
     }
 
     /**
@@ -97,12 +106,6 @@ public class TakeoffQueue extends AircraftQueue {
      */
     @Override
     public boolean containsAircraft(Aircraft aircraft) {
-        boolean result = false;
-        for (Aircraft aircraftEntry : aircrafts) {
-            if (aircraft.hashCode() == aircraftEntry.hashCode()) {
-                result = true;
-            }
-        }
-        return result;
+        return queued.contains(aircraft);
     }
 }
@@ -309,7 +309,7 @@ public class AirportCanvas extends Canvas {
         gc.strokeLine(x + labelWidth, y, x + labelWidth, y + AIRCRAFT_HEIGHT);
 
         // Draw aircraft in queue
-        var aircraft = viewModel.getControlTower().getAircraft().stream()
+        var aircraft = viewModel.getControlTower().getAircraftView().stream()
                 .filter(a -> a.getTaskList().getCurrentTask().getType() == TaskType.AWAY)
                 .collect(Collectors.toList());
 
@@ -331,7 +331,7 @@ public class AirportCanvas extends Canvas {
         final double spaceAbove = 2 * AIRCRAFT_HEIGHT + 2 * marginBelow; // queues + padding
         final double terminalWidth = getWidth() / 2 - (2 * marginLeft);
 
-        List<Terminal> terminals = this.viewModel.getControlTower().getTerminals();
+        List<Terminal> terminals = this.viewModel.getControlTower().getTerminalsView();
 
         for (int i = 0; i < terminals.size(); ++i) {
             Terminal terminal = terminals.get(i);
@@ -367,7 +367,7 @@ public class AirportCanvas extends Canvas {
                     terminalStartY + 0.5 * terminalLabelHeight);
 
             // Number of gates and max number of gates
-            String numGatesText = terminal.getGates().size() + "/" + Terminal.MAX_NUM_GATES
+            String numGatesText = terminal.getGatesView().size() + "/" + Terminal.MAX_NUM_GATES
                     + " gates";
             gc.setFill(Color.BLACK);
             gc.setTextBaseline(VPos.CENTER);
@@ -393,7 +393,7 @@ public class AirportCanvas extends Canvas {
                     terminalWidth,
                     terminalAircraftHeight);
 
-            List<Gate> gates = terminal.getGates();
+            List<Gate> gates = terminal.getGatesView();
             for (int j = 0; j < gates.size(); ++j) {
                 Gate gate = gates.get(j);
 
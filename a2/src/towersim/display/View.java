@@ -255,7 +255,7 @@ public class View {
         addTerminal.setMnemonicParsing(true);
         addTerminal.setOnAction(event -> {
             var defaultTerminalNumber = 1;
-            var highestTerminalNumber = viewModel.getControlTower().getTerminals()
+            var highestTerminalNumber = viewModel.getControlTower().getTerminalsView()
                     .stream()
                     .mapToInt(Terminal::getTerminalNumber)
                     .max();
@@ -270,7 +270,7 @@ public class View {
                 return;
             }
             /* Can't create a new terminal with the same number as an existing one */
-            if (viewModel.getControlTower().getTerminals().stream()
+            if (viewModel.getControlTower().getTerminalsView().stream()
                     .anyMatch(t -> t.getTerminalNumber() == terminalNumber.get())) {
                 viewModel.createErrorDialog("Cannot create terminal",
                         "Terminal with number " + terminalNumber.get() + " already exists");
@@ -310,7 +310,7 @@ public class View {
                 return;
             }
             var terminal = choice.get();
-            if (terminal.getGates().size() == Terminal.MAX_NUM_GATES) {
+            if (terminal.getGatesView().size() == Terminal.MAX_NUM_GATES) {
                 viewModel.createErrorDialog("Cannot create gate", "Terminal "
                         + terminal.getTerminalNumber()
                         + " already has the maximum possible number of gates.");
@@ -318,9 +318,7 @@ public class View {
             }
             var defaultGateNumber = 1;
             List<Gate> allGates = new ArrayList<>();
-            for (Terminal t : viewModel.getControlTower().getTerminals()) {
-                allGates.addAll(t.getGates());
-            }
+            viewModel.getControlTower().forEachGate(allGates::add);
             var highestGateNumber = allGates
                     .stream()
                     .mapToInt(Gate::getGateNumber)
@@ -376,26 +374,26 @@ public class View {
                     "Passenger Airplane (BOEING_787)",
                     new PassengerAircraft(generateRandomCallsign(
                             new String[]{"QFA", "CSN", "UAL", "UAE"}[random.nextInt(4)],
-                            viewModel.getControlTower().getAircraft()),
+                            viewModel.getControlTower().getAircraftView()),
                             AircraftCharacteristics.BOEING_787,
                             taskList1,
                             AircraftCharacteristics.BOEING_787.fuelCapacity / 6, 0),
                     "Freight Airplane (BOEING_747_8F)",
                     new FreightAircraft(generateRandomCallsign(
                             new String[]{"UPS", "GTI", "CLX", "GEC"}[random.nextInt(4)],
-                            viewModel.getControlTower().getAircraft()),
+                            viewModel.getControlTower().getAircraftView()),
                             AircraftCharacteristics.BOEING_747_8F,
                             taskList2,
                             AircraftCharacteristics.BOEING_747_8F.fuelCapacity / 8, 0),
                     "Passenger Helicopter (ROBINSON_R44)",
                     new PassengerAircraft(generateRandomCallsign(null,
-                            viewModel.getControlTower().getAircraft()),
+                            viewModel.getControlTower().getAircraftView()),
                             AircraftCharacteristics.ROBINSON_R44,
                             taskList2,
                             AircraftCharacteristics.ROBINSON_R44.fuelCapacity / 4, 1),
                     "Freight Helicopter (SIKORSKY_SKYCRANE)",
                     new FreightAircraft(generateRandomCallsign(null,
-                            viewModel.getControlTower().getAircraft()),
+                            viewModel.getControlTower().getAircraftView()),
                             AircraftCharacteristics.SIKORSKY_SKYCRANE,
                             taskList1,
                             AircraftCharacteristics.SIKORSKY_SKYCRANE.fuelCapacity / 10, 0)));
@@ -486,7 +484,7 @@ public class View {
     /* Prompts the user to choose a terminal from a list of all the control tower's terminals */
     private Optional<Terminal> chooseTerminal(String title, String header) {
         var terminalOptions = new TreeMap<String, Terminal>();
-        for (Terminal terminal : viewModel.getControlTower().getTerminals()) {
+        for (Terminal terminal : viewModel.getControlTower().getTerminalsView()) {
             terminalOptions.put(terminal.toString(), terminal);
         }
         var choice = getChoice(title, header, "Terminal:",
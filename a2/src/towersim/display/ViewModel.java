@@ -15,10 +15,12 @@ import towersim.util.MalformedSaveException;
 import towersim.util.NoSuitableGateException;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -125,7 +127,7 @@ public class ViewModel {
      *                  (2) the aircraft file; (3) the queues file; (4) the terminals/gates file
      * @throws IOException            if loading from the files specifies generates an IOException
      * @throws MalformedSaveException if any of the files are invalid according to
-     * {@link ControlTowerInitialiser#createControlTower(Reader, Reader, Reader, Reader)}
+     * {@link ControlTowerInitialiser#createControlTower(Path, Path, Path, Path, ForkJoinPool)}
      * @requires filenames != null &amp;&amp; filenames.size() == 4
      * @given
      */
@@ -136,12 +138,13 @@ public class ViewModel {
         this.defaultTerminalsSaveLocation = filenames.get(3);
 
         this.tower = ControlTowerInitialiser.createControlTower(
-                new FileReader(filenames.get(0)),
-                new FileReader(filenames.get(1)),
-                new FileReader(filenames.get(2)),
-                new FileReader(filenames.get(3)));
+                Path.of(filenames.get(0)),
+                Path.of(filenames.get(1)),
+                Path.of(filenames.get(2)),
+                Path.of(filenames.get(3)),
+                ForkJoinPool.commonPool());
 
-        this.numTerminals.set(tower.getTerminals().size());
+        this.numTerminals.set(tower.getTerminalsView().size());
 
         this.selectedAircraft.addListener((observable, oldValue, newValue) -> {
             if (newValue == null) {
@@ -168,7 +171,7 @@ public class ViewModel {
         return new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent actionEvent) {
-                for (Terminal terminal : getControlTower().getTerminals()) {
+                for (Terminal terminal : getControlTower().getTerminalsView()) {
                     terminal.declareEmergency();
                 }
                 registerChange();
@@ -189,7 +192,7 @@ public class ViewModel {
         return new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent actionEvent) {
-                for (Terminal terminal : getControlTower().getTerminals()) {
+                for (Terminal terminal : getControlTower().getTerminalsView()) {
                     terminal.clearEmergency();
                 }
                 registerChange();
@@ -324,22 +327,22 @@ public class ViewModel {
         bufferedTick.close();
 
         BufferedWriter bufferedAircraft = new BufferedWriter(aircraftWriter);
-        line = ""  + getControlTower().getAircraft().size();
+        line = ""  + getControlTower().getAircraftView().size();
         bufferedAircraft.write(line);
-        for (Aircraft aircraft : getControlTower().getAircraft()) {
+        for (Aircraft aircraft : getControlTower().getAircraftView()) {
             bufferedAircraft.newLine();
-            bufferedAircraft.write(aircraft.encode());
+            aircraft.encodeTo(bufferedAircraft);
         }
         bufferedAircraft.close();
 
         BufferedWriter bufferedQueues = new BufferedWriter(queuesWriter);
-        bufferedQueues.write(getControlTower().getTakeoffQueue().encode());
+        getControlTower().getTakeoffQueue().encodeTo(bufferedQueues);
         for (Aircraft aircraft : allTakeoffAircraft) {
             bufferedQueues.newLine();
             bufferedQueues.write(aircraft.getCallsign());
         }
         bufferedQueues.newLine();
-        bufferedQueues.write(getControlTower().getLandingQueue().encode());
+        getControlTower().getLandingQueue().encodeTo(bufferedQueues);
         for (Aircraft aircraft : allLandAircraft) {
             bufferedQueues.newLine();
             bufferedQueues.write(aircraft.getCallsign());
@@ -359,10 +362,10 @@ public class ViewModel {
         bufferedQueues.close();
 
         BufferedWriter bufferedTerminals = new BufferedWriter(terminalsWithGatesWriter);
-        bufferedTerminals.write("" + getControlTower().getTerminals().size());
-        for (Terminal terminal : getControlTower().getTerminals()) {
+        bufferedTerminals.write("" + getControlTower().getTerminalsView().size());
+        for (Terminal terminal : getControlTower().getTerminalsView()) {
             bufferedTerminals.newLine();
-            bufferedTerminals.write(terminal.encode());
+            terminal.encodeTo(bufferedTerminals);
         }
         bufferedTerminals.close();
     }
@@ -396,7 +399,7 @@ public class ViewModel {
     private void updateTakeoffLandAircraft() {
         this.aircraftTakingOff.set(null);
         this.aircraftLanding.set(null);
-        for (Aircraft aircraft : getControlTower().getAircraft()) {
+        getControlTower().forEachAircraft(aircraft -> {
             TaskType currentTaskType = aircraft.getTaskList().getCurrentTask().getType();
             if (currentTaskType == TaskType.AWAY && allTakeoffAircraft.contains(aircraft)) {
                 // Aircraft has just taken off
@@ -407,7 +410,7 @@ public class ViewModel {
                 // Aircraft has just landed
                 this.aircraftLanding.set(aircraft);
             }
-        }
+        });
         fillTakeoffLandAircraftLists();
     }
 
@@ -416,9 +419,9 @@ public class ViewModel {
      * same for LAND
      */
     private void fillTakeoffLandAircraftLists() {
-        this.allTakeoffAircraft = findAircraftWithTask(getControlTower().getAircraft(),
+        this.allTakeoffAircraft = findAircraftWithTask(getControlTower().getAircraftView(),
                 TaskType.TAKEOFF);
-        this.allLandAircraft = findAircraftWithTask(getControlTower().getAircraft(),
+        this.allLandAircraft = findAircraftWithTask(getControlTower().getAircraftView(),
                 TaskType.LAND);
     }
 
@@ -4,6 +4,10 @@ import towersim.aircraft.Aircraft;
 import towersim.util.Encodable;
 import towersim.util.NoSpaceException;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents an aircraft gate with facilities for a single aircraft to be parked.
  *
@@ -21,6 +25,11 @@ public class Gate implements Encodable {
      */
     private Aircraft aircraftAtGate;
 
+    /**
+     * Listeners to notify when aircraft park at or leave this gate.
+     */
+    private final List<GateListener> listeners;
+
     /**
      * Creates a new Gate with the given unique gate number.
      * <p>
@@ -34,6 +43,16 @@ public class Gate implements Encodable {
     public Gate(int gateNumber) {
         this.gateNumber = gateNumber;
         this.aircraftAtGate = null;
+        this.listeners = new ArrayList<>();
+    }
+
+    /**
+     * Registers the given listener to be notified when aircraft park at or leave this gate.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(GateListener listener) {
+        this.listeners.add(listener);
     }
 
     /**
@@ -62,6 +81,9 @@ public class Gate implements Encodable {
                     + " is occupied, cannot park aircraft");
         }
         this.aircraftAtGate = aircraft;
+        for (int i = 0; i < this.listeners.size(); i++) {
+            this.listeners.get(i).aircraftParked(this, aircraft);
+        }
     }
 
     /**
@@ -72,7 +94,13 @@ public class Gate implements Encodable {
      * @ass1
      */
     public void aircraftLeaves() {
+        Aircraft departingAircraft = this.aircraftAtGate;
         this.aircraftAtGate = null;
+        if (departingAircraft != null) {
+            for (int i = 0; i < this.listeners.size(); i++) {
+                this.listeners.get(i).aircraftLeft(this, departingAircraft);
+            }
+        }
     }
 
     /**
@@ -164,14 +192,25 @@ public class Gate implements Encodable {
      *
      * @return encoded string representation of this gate
      */
+    @Override
     public String encode() {
-        String result = "";
-        result += getGateNumber() + ":";
+        return Encodable.encodeToString(this);
+    }
+
+    /**
+     * Appends the machine-readable string representation of this gate, as returned by
+     * {@link #encode()}, to the given appendable.
+     *
+     * @param out appendable to write the encoded representation to
+     * @throws IOException if an IOException occurs when appending to the appendable
+     */
+    @Override
+    public void encodeTo(Appendable out) throws IOException {
+        out.append(String.valueOf(getGateNumber())).append(':');
         if (isOccupied()) {
-            result += getAircraftAtGate().getCallsign();
+            out.append(getAircraftAtGate().getCallsign());
         } else {
-            result += "empty";
+            out.append("empty");
         }
-        return result;
     }
 }
@@ -0,0 +1,28 @@
+package towersim.ground;
+
+import towersim.aircraft.Aircraft;
+
+/**
+ * Receives notifications when aircraft park at or leave a gate.
+ * <p>
+ * Listeners are registered with {@link Gate#addListener(GateListener)}, or with
+ * {@link Terminal#addGateListener(GateListener)} to listen to every gate in a terminal.
+ */
+public interface GateListener {
+
+    /**
+     * Called after the given aircraft parks at the given gate.
+     *
+     * @param gate     gate the aircraft parked at
+     * @param aircraft aircraft that parked
+     */
+    void aircraftParked(Gate gate, Aircraft aircraft);
+
+    /**
+     * Called after the given aircraft leaves the given gate.
+     *
+     * @param gate     gate the aircraft left
+     * @param aircraft aircraft that left
+     */
+    void aircraftLeft(Gate gate, Aircraft aircraft);
+}
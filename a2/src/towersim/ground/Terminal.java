@@ -1,9 +1,13 @@
 package towersim.ground;
 
+import towersim.aircraft.Aircraft;
 import towersim.util.*;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Represents an airport terminal building, containing several aircraft gates.
@@ -28,11 +32,36 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      */
     private final List<Gate> gates;
 
+    /**
+     * Read-only view of the gates in this terminal.
+     */
+    private final List<Gate> gatesView;
+
     /**
      * Whether or not the terminal is currently in a state of emergency.
      */
     private boolean emergency;
 
+    /**
+     * Listeners to register with every gate in this terminal, including gates added later.
+     */
+    private final List<GateListener> gateListeners;
+
+    /**
+     * Bit mask of unoccupied gates, where bit i is set if the i-th gate in gates is unoccupied.
+     */
+    private int unoccupiedGates;
+
+    /**
+     * Listeners to notify when the availability of this terminal changes.
+     */
+    private final List<TerminalListener> listeners;
+
+    /**
+     * Listener registered with each gate in this terminal to keep unoccupiedGates up to date.
+     */
+    private final GateListener occupancyListener;
+
     /**
      * Creates a new Terminal with the given unique terminal number.
      * <p>
@@ -50,7 +79,22 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
     protected Terminal(int terminalNumber) {
         this.terminalNumber = terminalNumber;
         this.gates = new ArrayList<>();
+        this.gatesView = Collections.unmodifiableList(this.gates);
         this.emergency = false;
+        this.gateListeners = new ArrayList<>();
+        this.unoccupiedGates = 0;
+        this.listeners = new ArrayList<>();
+        this.occupancyListener = new GateListener() {
+            @Override
+            public void aircraftParked(Gate gate, Aircraft aircraft) {
+                updateUnoccupiedGates();
+            }
+
+            @Override
+            public void aircraftLeft(Gate gate, Aircraft aircraft) {
+                updateUnoccupiedGates();
+            }
+        };
     }
 
     /**
@@ -79,6 +123,26 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
             throw new NoSpaceException("Maximum number of gates reached (" + MAX_NUM_GATES + ")");
         }
         this.gates.add(gate);
+        gate.addListener(this.occupancyListener);
+        updateUnoccupiedGates();
+        for (GateListener listener : this.gateListeners) {
+            gate.addListener(listener);
+        }
+    }
+
+    /**
+     * Registers the given listener with every gate in this terminal.
+     * <p>
+     * The listener is registered with the gates currently in the terminal, as well as any gate
+     * added to the terminal afterwards via {@link #addGate(Gate)}.
+     *
+     * @param listener listener to add to all gates
+     */
+    public void addGateListener(GateListener listener) {
+        this.gateListeners.add(listener);
+        for (Gate gate : this.gates) {
+            gate.addListener(listener);
+        }
     }
 
     /**
@@ -98,6 +162,31 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
         return new ArrayList<>(this.gates);
     }
 
+    /**
+     * Returns a read-only view of the gates in this terminal.
+     * <p>
+     * Gates appear in the same order as in {@link #getGates()}. Unlike getGates(), no copy is
+     * made: the view reflects gates added to this terminal after it was returned, and attempting
+     * to modify it throws an {@code UnsupportedOperationException}.
+     *
+     * @return read-only view of terminal's gates
+     */
+    public List<Gate> getGatesView() {
+        return this.gatesView;
+    }
+
+    /**
+     * Performs the given action on each gate in this terminal, in the same order as in
+     * {@link #getGates()}.
+     *
+     * @param action action to perform on each gate
+     */
+    public void forEachGate(Consumer<? super Gate> action) {
+        for (int i = 0; i < this.gates.size(); i++) {
+            action.accept(this.gates.get(i));
+        }
+    }
+
     /**
      * Finds and returns the first non-occupied gate in this terminal.
      * <p>
@@ -111,12 +200,73 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      * @ass1
      */
     public Gate findUnoccupiedGate() throws NoSuitableGateException {
-        for (Gate gate : this.gates) {
-            if (!gate.isOccupied()) {
-                return gate;
+        Gate gate = findUnoccupiedGateOrNull();
+        if (gate == null) {
+            throw new NoSuitableGateException("No unoccupied gate in terminal "
+                    + this.terminalNumber);
+        }
+        return gate;
+    }
+
+    /**
+     * Finds and returns the first non-occupied gate in this terminal, or null if all gates in
+     * this terminal are occupied.
+     * <p>
+     * This behaves the same as {@link #findUnoccupiedGate()}, except that no exception is thrown
+     * when there is no unoccupied gate.
+     *
+     * @return first non-occupied gate in this terminal; or null if none exists
+     */
+    public Gate findUnoccupiedGateOrNull() {
+        if (this.unoccupiedGates == 0) {
+            return null;
+        }
+        return this.gates.get(Integer.numberOfTrailingZeros(this.unoccupiedGates));
+    }
+
+    /**
+     * Returns true if at least one gate in this terminal is unoccupied.
+     *
+     * @return whether this terminal has an unoccupied gate
+     */
+    public boolean hasUnoccupiedGate() {
+        return this.unoccupiedGates != 0;
+    }
+
+    /**
+     * Registers the given listener to be notified when the availability of this terminal
+     * changes.
+     *
+     * @param listener listener to add
+     * @see TerminalListener#availabilityChanged(Terminal)
+     */
+    public void addListener(TerminalListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /*
+     * Recalculates which gates are unoccupied, notifying listeners if this terminal has gained
+     * its first unoccupied gate or lost its last one.
+     */
+    private void updateUnoccupiedGates() {
+        boolean hadUnoccupiedGate = hasUnoccupiedGate();
+        int mask = 0;
+        for (int i = 0; i < this.gates.size(); i++) {
+            if (!this.gates.get(i).isOccupied()) {
+                mask |= 1 << i;
             }
         }
-        throw new NoSuitableGateException("No unoccupied gate in terminal " + this.terminalNumber);
+        this.unoccupiedGates = mask;
+        if (hadUnoccupiedGate != hasUnoccupiedGate()) {
+            notifyAvailabilityChanged();
+        }
+    }
+
+    /* Notifies all registered listeners that the availability of this terminal has changed */
+    private void notifyAvailabilityChanged() {
+        for (int i = 0; i < this.listeners.size(); i++) {
+            this.listeners.get(i).availabilityChanged(this);
+        }
     }
 
     /**
@@ -126,7 +276,10 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      */
     @Override
     public void declareEmergency() {
-        this.emergency = true;
+        if (!this.emergency) {
+            this.emergency = true;
+            notifyAvailabilityChanged();
+        }
     }
 
     /**
@@ -136,7 +289,10 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      */
     @Override
     public void clearEmergency() {
-        this.emergency = false;
+        if (this.emergency) {
+            this.emergency = false;
+            notifyAvailabilityChanged();
+        }
     }
 
     /**
@@ -205,7 +361,7 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
     public int hashCode() {
         int hashCode = 0;
         hashCode += getTerminalNumber();
-        for (Gate gate : getGates()) {
+        for (Gate gate : this.gates) {
             hashCode += gate.hashCode();
         }
         if (hasEmergency()) {
@@ -277,14 +433,28 @@ public abstract class Terminal implements EmergencyState, OccupancyLevel, Encoda
      *
      * @return encoded string representation of this terminal
      */
+    @Override
     public String encode() {
-        String result = "";
-        result += getClass().getSimpleName() + ":" + getTerminalNumber()
-                + ":" + hasEmergency() + ":" + getGates().size();
-        for (Gate gate : getGates()) {
-            result += "\n" + gate.encode();
+        return Encodable.encodeToString(this);
+    }
+
+    /**
+     * Appends the machine-readable string representation of this terminal, as returned by
+     * {@link #encode()}, to the given appendable.
+     *
+     * @param out appendable to write the encoded representation to
+     * @throws IOException if an IOException occurs when appending to the appendable
+     */
+    @Override
+    public void encodeTo(Appendable out) throws IOException {
+        out.append(getClass().getSimpleName()).append(':')
+                .append(String.valueOf(getTerminalNumber())).append(':')
+                .append(String.valueOf(hasEmergency())).append(':')
+                .append(String.valueOf(this.gates.size()));
+        for (int i = 0; i < this.gates.size(); i++) {
+            out.append('\n');
+            this.gates.get(i).encodeTo(out);
         }
-        return result;
     }
 
 }
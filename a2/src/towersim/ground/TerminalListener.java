@@ -0,0 +1,17 @@
+package towersim.ground;
+
+/**
+ * Receives notifications when a terminal's ability to accept aircraft changes.
+ * <p>
+ * Listeners are registered with {@link Terminal#addListener(TerminalListener)}.
+ */
+public interface TerminalListener {
+
+    /**
+     * Called after the given terminal either gains its first unoccupied gate, loses its last
+     * unoccupied gate, or has its state of emergency declared or cleared.
+     *
+     * @param terminal terminal whose availability changed
+     */
+    void availabilityChanged(Terminal terminal);
+}
@@ -1,5 +1,8 @@
 package towersim.tasks;
 
+import towersim.util.Encodable;
+
+import java.io.IOException;
 import java.util.Objects;
 
 /**
@@ -9,7 +12,7 @@ import java.util.Objects;
  *
  * @ass1
  */
-public class Task {
+public class Task implements Encodable {
     /**
      * Type of task.
      */
@@ -20,6 +23,11 @@ public class Task {
      */
     private final int loadPercent;
 
+    /**
+     * Number of consecutive ticks this task is repeated for.
+     */
+    private final int repeatCount;
+
     /**
      * Creates a new Task of the given task type.
      *
@@ -27,8 +35,7 @@ public class Task {
      * @ass1
      */
     public Task(TaskType type) {
-        this.type = type;
-        this.loadPercent = 0;
+        this(type, 0);
     }
 
     /**
@@ -42,8 +49,34 @@ public class Task {
      * @ass1
      */
     public Task(TaskType type, int loadPercent) {
+        this(type, loadPercent, 1);
+    }
+
+    /**
+     * Creates a new Task of the given task type and load percentage, repeated the given number of
+     * times in a row.
+     * <p>
+     * A repeated task stands for that many consecutive tasks of the same type and load
+     * percentage, so a task list holding {@code AWAY} repeated 24 times behaves the same as one
+     * holding 24 separate {@code AWAY} tasks. Only tasks whose type can be followed by the same
+     * type (see {@link TaskType#canBeFollowedBy(TaskType)}) may be repeated.
+     *
+     * @param type        type of task
+     * @param loadPercent percentage of maximum capacity to load
+     * @param repeatCount number of times the task is repeated
+     * @throws IllegalArgumentException if repeatCount &lt; 1, or repeatCount &gt; 1 and the task
+     *                                  type cannot follow itself
+     */
+    public Task(TaskType type, int loadPercent, int repeatCount) {
+        if (repeatCount < 1) {
+            throw new IllegalArgumentException("Repeat count must be at least 1");
+        }
+        if (repeatCount > 1 && !type.canBeFollowedBy(type)) {
+            throw new IllegalArgumentException("Tasks of type " + type + " cannot be repeated");
+        }
         this.type = type;
         this.loadPercent = loadPercent;
+        this.repeatCount = repeatCount;
     }
 
     /**
@@ -66,6 +99,15 @@ public class Task {
         return loadPercent;
     }
 
+    /**
+     * Returns the number of times this task is repeated in a row, or 1 if none was specified.
+     *
+     * @return task repeat count
+     */
+    public int getRepeatCount() {
+        return repeatCount;
+    }
+
     /**
      * Returns the human-readable string representation of this task.
      * <p>
@@ -103,33 +145,63 @@ public class Task {
      * LOAD@20
      * For example:
      * WAIT
+     * <p>
+     * If the task is repeated more than once, the encoding is followed by {@code *repeatCount}.
+     * For example:
+     * <p>
+     * AWAY*24
      *
      * @return encoded string representation of this task
      */
+    @Override
     public String encode() {
-        String result = "";
-        result += getType().name();
-        if (result.equals("LOAD")) {
-            result += "@" + getLoadPercent();
+        return Encodable.encodeToString(this);
+    }
+
+    /**
+     * Appends the machine-readable string representation of this task, as returned by
+     * {@link #encode()}, to the given appendable.
+     *
+     * @param out appendable to write the encoded representation to
+     * @throws IOException if an IOException occurs when appending to the appendable
+     */
+    @Override
+    public void encodeTo(Appendable out) throws IOException {
+        encodeTo(out, getType(), getLoadPercent(), getRepeatCount());
+    }
+
+    /*
+     * Appends the encoded representation of a task with the given type, load percentage and
+     * repeat count to the given appendable, without creating the task
+     */
+    static void encodeTo(Appendable out, TaskType type, int loadPercent, int repeatCount)
+            throws IOException {
+        out.append(type.name());
+        if (type == TaskType.LOAD) {
+            out.append('@').append(String.valueOf(loadPercent));
+        }
+        if (repeatCount > 1) {
+            out.append('*').append(String.valueOf(repeatCount));
         }
-        return result;
     }
 
     /**
      * Returns true if and only if this task is equal to the other given task.
-     * For two tasks to be equal, they must have the same task type and load percentage.
+     * For two tasks to be equal, they must have the same task type, load percentage and repeat
+     * count.
      *
      * @param obj - other object to check equality
      * @return true if equal, false otherwise
      */
     @Override
     public boolean equals(Object obj) {
-        boolean result = false;
-        Task task = (Task) obj;
-        if (task.hashCode() == hashCode()) {
-            result = true;
+        if (!(obj instanceof Task)) {
+            return false;
         }
-        return result;
+        Task task = (Task) obj;
+        return getType() == task.getType()
+                && getLoadPercent() == task.getLoadPercent()
+                && getRepeatCount() == task.getRepeatCount();
     }
 
     /**
@@ -140,9 +212,6 @@ public class Task {
      */
     @Override
     public int hashCode() {
-        int hashCode = 0;
-        hashCode += getType().hashCode();
-        hashCode += getLoadPercent();
-        return hashCode;
+        return Objects.hash(getType(), getLoadPercent(), getRepeatCount());
     }
 }
@@ -1,21 +1,49 @@
 package towersim.tasks;
 
+import towersim.util.Encodable;
+
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Represents a circular list of tasks for an aircraft to cycle through.
+ * <p>
+ * The tasks themselves are held in an immutable {@link TaskSchedule}, which may be shared with
+ * other task lists; each task list keeps only its position within the schedule.
+ * <p>
+ * A {@link Task#getRepeatCount() repeated} task in the list stands for that many consecutive
+ * tasks, and the task list moves through its repetitions one at a time without creating a task
+ * for each. Moving from one repetition of a task to the next does not change the current task,
+ * so listeners are not notified of it.
  *
  * @ass1
  */
-public class TaskList {
+public class TaskList implements Encodable {
+    /**
+     * Listeners of a task list that has none.
+     */
+    private static final TaskListener[] NO_LISTENERS = new TaskListener[0];
     /**
-     * List of tasks to cycle through.
+     * Schedule of tasks to cycle through.
      */
-    private final List<Task> tasks;
+    private final TaskSchedule schedule;
     /**
-     * Index of current task in tasks list.
+     * Index of current task in schedule.
      */
     private int currentTaskIndex;
+    /**
+     * Number of repetitions of the current task that have already been moved past.
+     */
+    private int currentRepetition;
+    /**
+     * Position in schedule of the repetition that was current when this task list was created.
+     */
+    private final int firstPosition;
+    /**
+     * Listeners to notify when the current task changes.
+     */
+    private TaskListener[] listeners;
 
     /**
      * Creates a new TaskList with the given list of tasks.
@@ -28,40 +56,48 @@ public class TaskList {
      * @ass1
      */
     public TaskList(List<Task> tasks) {
-        if (tasks.isEmpty()) {
-            throw new IllegalArgumentException();
-        }
-        int i = 0;
-        int nextI = 1;
-        while (i < tasks.size()) {
-            if (i == tasks.size() - 1) {
-                nextI = 0;
-            }
-            if (tasks.get(i).getType().name().equals("AWAY")) {
-                if (!tasks.get(nextI).getType().name().equals("AWAY")
-                        && !tasks.get(nextI).getType().name().equals("LAND")) {
-                    throw new IllegalArgumentException();
-                }
-            } else if (tasks.get(i).getType().name().equals("LAND")
-                    || tasks.get(i).getType().name().equals("WAIT")) {
-                if (!tasks.get(nextI).getType().name().equals("WAIT")
-                        && !tasks.get(nextI).getType().name().equals("LOAD")) {
-                    throw new IllegalArgumentException();
-                }
-            } else if (tasks.get(i).getType().name().equals("LOAD")) {
-                if (!tasks.get(nextI).getType().name().equals("TAKEOFF")) {
-                    throw new IllegalArgumentException();
-                }
-            } else if (tasks.get(i).getType().name().equals("TAKEOFF")) {
-                if (!tasks.get(nextI).getType().name().equals("AWAY")) {
-                    throw new IllegalArgumentException();
-                }
-            }
-            i++;
-            nextI++;
+        this(new TaskSchedule(tasks), 0);
+    }
+
+    /**
+     * Creates a new TaskList that cycles through the given schedule, starting from the repetition
+     * at the given position (see {@link TaskSchedule}).
+     * <p>
+     * The schedule is not copied, so it may be shared with other task lists.
+     *
+     * @param schedule      schedule of tasks
+     * @param firstPosition position in the schedule of the initial current repetition
+     * @throws IllegalArgumentException if the position is not in the schedule
+     */
+    public TaskList(TaskSchedule schedule, int firstPosition) {
+        if (firstPosition < 0 || firstPosition >= schedule.getLength()) {
+            throw new IllegalArgumentException("Position " + firstPosition
+                    + " is not in the schedule");
         }
-        this.tasks = tasks;
-        this.currentTaskIndex = 0;
+        this.schedule = schedule;
+        this.currentTaskIndex = schedule.indexOfPosition(firstPosition);
+        this.currentRepetition = firstPosition - schedule.getPosition(this.currentTaskIndex);
+        this.firstPosition = firstPosition;
+        this.listeners = NO_LISTENERS;
+    }
+
+    /**
+     * Registers the given listener to be notified whenever the current task changes.
+     *
+     * @param listener listener to add
+     */
+    public void addListener(TaskListener listener) {
+        this.listeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+        this.listeners[this.listeners.length - 1] = listener;
+    }
+
+    /**
+     * Returns the schedule of tasks this task list cycles through.
+     *
+     * @return schedule of tasks
+     */
+    public TaskSchedule getSchedule() {
+        return this.schedule;
     }
 
     /**
@@ -71,7 +107,7 @@ public class TaskList {
      * @ass1
      */
     public Task getCurrentTask() {
-        return this.tasks.get(this.currentTaskIndex);
+        return this.schedule.getTask(this.currentTaskIndex);
     }
 
     /**
@@ -84,13 +120,19 @@ public class TaskList {
      * Note that the list is treated as circular, so if the current task
      * is the last in the list,
      * this method should return the first element of the list.
+     * <p>
+     * If the current task is repeated and is not on its last repetition, the current task is
+     * returned.
      *
      * @return next task
      * @ass1
      */
     public Task getNextTask() {
-        int nextTaskIndex = (this.currentTaskIndex + 1) % this.tasks.size();
-        return this.tasks.get(nextTaskIndex);
+        if (this.currentRepetition + 1 < getCurrentTask().getRepeatCount()) {
+            return getCurrentTask();
+        }
+        int nextTaskIndex = (this.currentTaskIndex + 1) % this.schedule.size();
+        return this.schedule.getTask(nextTaskIndex);
     }
 
     /**
@@ -104,11 +146,101 @@ public class TaskList {
      * Note that the list is treated as circular, so if the current task
      * is the last in the list,
      * the new current task should be the first element of the list.
+     * <p>
+     * If the current task is repeated and is not on its last repetition, this moves on to its
+     * next repetition instead; the current task does not change and listeners are not notified.
      *
      * @ass1
      */
     public void moveToNextTask() {
-        this.currentTaskIndex = (this.currentTaskIndex + 1) % this.tasks.size();
+        Task previousTask = getCurrentTask();
+        this.currentRepetition++;
+        if (this.currentRepetition < previousTask.getRepeatCount()) {
+            return;
+        }
+        this.currentRepetition = 0;
+        this.currentTaskIndex++;
+        if (this.currentTaskIndex == this.schedule.size()) {
+            this.currentTaskIndex = 0;
+        }
+        for (TaskListener listener : this.listeners) {
+            listener.taskChanged(this, previousTask);
+        }
+    }
+
+    /**
+     * Moves the reference to the current task forward by the given number of tasks in the
+     * circular task list.
+     * <p>
+     * This has the same effect on the current task as calling {@link #moveToNextTask()} the given
+     * number of times, but listeners are notified only once, with the task that was current
+     * before this method was called. Listeners are not notified if every move is between
+     * repetitions of the current task. If the number of moves is zero, no action is taken.
+     *
+     * @param moves number of tasks to move forward by
+     * @throws IllegalArgumentException if moves &lt; 0
+     */
+    public void moveForward(int moves) {
+        if (moves < 0) {
+            throw new IllegalArgumentException("Cannot move backwards through a task list");
+        }
+        if (moves == 0) {
+            return;
+        }
+        Task previousTask = getCurrentTask();
+        if (moves < previousTask.getRepeatCount() - this.currentRepetition) {
+            this.currentRepetition += moves;
+            return;
+        }
+        int position = (int) ((getCurrentPosition() + (long) moves) % this.schedule.getLength());
+        this.currentTaskIndex = this.schedule.indexOfPosition(position);
+        this.currentRepetition = position - this.schedule.getPosition(this.currentTaskIndex);
+        for (TaskListener listener : this.listeners) {
+            listener.taskChanged(this, previousTask);
+        }
+    }
+
+    /**
+     * Returns the number of times {@link #moveToNextTask()} would need to be called before the
+     * current task is of a different type to the task that is current now.
+     * <p>
+     * For example, for the task list {@code AWAY, AWAY, LAND, LOAD, TAKEOFF} with the first task
+     * current, this method returns 2. Each repetition of a repeated task counts as one move, so
+     * the list {@code AWAY*2, LAND, LOAD, TAKEOFF} gives the same result. If every task in the
+     * list is of the same type, the type of the current task never changes and -1 is returned.
+     *
+     * @return number of moves until the type of the current task changes; or -1 if it never
+     *         changes
+     */
+    public int getMovesUntilTypeChanges() {
+        int moves = this.schedule.getMovesUntilTypeChanges(this.currentTaskIndex);
+        return moves == -1 ? -1 : moves - this.currentRepetition;
+    }
+
+    /**
+     * Returns the position in the schedule of the current repetition of the current task (see
+     * {@link TaskSchedule}).
+     * <p>
+     * A task list created with {@link #TaskList(TaskSchedule, int)} from the same schedule and
+     * this position has the same current task, and encodes the same as this task list.
+     *
+     * @return position of the current repetition
+     */
+    public int getCurrentPosition() {
+        return this.schedule.getPosition(this.currentTaskIndex) + this.currentRepetition;
+    }
+
+    /**
+     * Returns the position in the schedule of the repetition that was current when this task
+     * list was created.
+     * <p>
+     * The place of the current task in the task list, as shown by {@link #toString()}, is
+     * counted from this position.
+     *
+     * @return position of the initial current repetition
+     */
+    public int getFirstPosition() {
+        return this.firstPosition;
     }
 
     /**
@@ -126,16 +258,19 @@ public class TaskList {
      * {@code [AWAY, LAND, WAIT, LOAD, TAKEOFF]}
      * which is currently on the {@code WAIT} task would have a string representation of
      * {@code "TaskList currently on WAIT [3/5]"}.
+     * <p>
+     * Each repetition of a repeated task counts as one task in the list.
      *
      * @return string representation of this task list
      * @ass1
      */
     @Override
     public String toString() {
+        int length = this.schedule.getLength();
         return String.format("TaskList currently on %s [%d/%d]",
                 this.getCurrentTask(),
-                this.currentTaskIndex + 1,
-                this.tasks.size());
+                (int) ((getCurrentPosition() - (long) this.firstPosition + length) % length) + 1,
+                length);
     }
 
     /**
@@ -150,19 +285,46 @@ public class TaskList {
      * For example, for a task list with 6 tasks and a current task of WAIT:
      * <p>
      * WAIT,LOAD@75,TAKEOFF,AWAY,AWAY,LAND
+     * <p>
+     * Repeated tasks are encoded as described in {@link Task#encode()}. If some repetitions of
+     * the current task have already been moved past, the current task is encoded with the
+     * repetitions that remain, and the repetitions already moved past are encoded as a separate
+     * task at the end. For example, for a task list with the tasks {@code LAND, LOAD@75, TAKEOFF,
+     * AWAY*5} on the third repetition of {@code AWAY}:
+     * <p>
+     * AWAY*3,LAND,LOAD@75,TAKEOFF,AWAY*2
      *
      * @return encoded string representation of this task list
      */
+    @Override
     public String encode() {
-        String result = "";
-        result += getCurrentTask().encode();
-        int i = 0;
-        while (i < tasks.size() - 1) {
-            result += "," + getNextTask().encode();
-            moveToNextTask();
+        return Encodable.encodeToString(this);
+    }
+
+    /**
+     * Appends the machine-readable string representation of this task list, as returned by
+     * {@link #encode()}, to the given appendable.
+     *
+     * @param out appendable to write the encoded representation to
+     * @throws IOException if an IOException occurs when appending to the appendable
+     */
+    @Override
+    public void encodeTo(Appendable out) throws IOException {
+        Task current = getCurrentTask();
+        Task.encodeTo(out, current.getType(), current.getLoadPercent(),
+                current.getRepeatCount() - currentRepetition);
+        int i = currentTaskIndex + 1;
+        for (int count = 1; count < schedule.size(); count++) {
+            if (i == schedule.size()) {
+                i = 0;
+            }
+            out.append(',');
+            schedule.getTask(i).encodeTo(out);
             i++;
         }
-        moveToNextTask();
-        return result;
+        if (currentRepetition > 0) {
+            out.append(',');
+            Task.encodeTo(out, current.getType(), current.getLoadPercent(), currentRepetition);
+        }
     }
 }
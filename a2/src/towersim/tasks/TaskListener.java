@@ -0,0 +1,20 @@
+package towersim.tasks;
+
+/**
+ * Receives notifications when the current task of a task list changes.
+ * <p>
+ * Listeners are registered with {@link TaskList#addListener(TaskListener)}.
+ */
+public interface TaskListener {
+
+    /**
+     * Called after the current task of the given task list has moved on to the next task.
+     * <p>
+     * Moving from one repetition of a repeated task to the next does not change the current
+     * task, so is not reported.
+     *
+     * @param taskList     task list whose current task changed
+     * @param previousTask task that was current before the change
+     */
+    void taskChanged(TaskList taskList, Task previousTask);
+}
@@ -0,0 +1,273 @@
+package towersim.tasks;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable, circular sequence of tasks that can be shared by any number of task lists.
+ * <p>
+ * A task list holds a schedule and its own position within it, so aircraft flying the same
+ * rotation can share a single schedule rather than each holding a copy of the tasks. Identical
+ * schedules can be shared by creating task lists through a {@link TaskSchedulePool}.
+ * <p>
+ * A task in the schedule may be {@link Task#getRepeatCount() repeated}, in which case it stands
+ * for that many consecutive repetitions of the task. Tasks are indexed by their place in the
+ * schedule, from zero, while repetitions are numbered by their <em>position</em> in the sequence
+ * of every repetition of every task, also from zero. For a schedule with no repeated tasks, the
+ * index and position of each task are the same.
+ * <p>
+ * Two schedules are equal if they contain tasks of the same types with the same load
+ * percentages and repeat counts, in the same order.
+ */
+public final class TaskSchedule {
+
+    /** Tasks in the schedule, in order */
+    private final Task[] tasks;
+
+    /** Position of the first repetition of each task in the schedule, by index */
+    private final int[] positions;
+
+    /** Total number of repetitions of all tasks in the schedule */
+    private final int length;
+
+    /**
+     * For each index in the schedule, the number of moves from the first repetition of the task
+     * at that index until the task type changes, or -1 if every task is of the same type
+     */
+    private final int[] movesUntilTypeChanges;
+
+    /** Hash code of the schedule, computed once as schedules are immutable */
+    private final int hashCode;
+
+    /**
+     * Creates a new schedule containing the given tasks, in order.
+     * <p>
+     * Each task must be allowed to be followed by the next task in the list, according to
+     * {@link TaskType#canBeFollowedBy(TaskType)}, and the last task by the first. These are the
+     * same rules as for {@link TaskList#TaskList(List)}.
+     *
+     * @param tasks list of tasks
+     * @throws IllegalArgumentException if the list of tasks is empty, a task is followed by a
+     *                                  task it cannot be followed by, or the tasks are repeated
+     *                                  more than {@link Integer#MAX_VALUE} times in total
+     */
+    public TaskSchedule(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            throw new IllegalArgumentException();
+        }
+        this.tasks = tasks.toArray(new Task[0]);
+        // the schedule is circular, so the last task must be able to lead into the first
+        TaskType previousType = this.tasks[this.tasks.length - 1].getType();
+        for (Task task : this.tasks) {
+            TaskType type = task.getType();
+            if (!previousType.canBeFollowedBy(type)) {
+                throw new IllegalArgumentException();
+            }
+            previousType = type;
+        }
+        this.positions = new int[this.tasks.length];
+        long position = 0;
+        for (int i = 0; i < this.tasks.length; i++) {
+            this.positions[i] = (int) position;
+            position += this.tasks[i].getRepeatCount();
+            if (position > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Schedule is too long");
+            }
+        }
+        this.length = (int) position;
+        this.movesUntilTypeChanges = countMovesUntilTypeChanges(this.tasks);
+        int hash = 1;
+        for (Task task : this.tasks) {
+            hash = 31 * hash + 31 * task.getType().ordinal() + task.getLoadPercent();
+            hash = 31 * hash + task.getRepeatCount();
+        }
+        this.hashCode = hash;
+    }
+
+    /**
+     * Returns the number of tasks in this schedule.
+     *
+     * @return number of tasks
+     */
+    public int size() {
+        return this.tasks.length;
+    }
+
+    /**
+     * Returns the total number of repetitions of all tasks in this schedule.
+     * <p>
+     * This is the number of tasks the schedule would hold if each repeated task were replaced by
+     * that many separate tasks.
+     *
+     * @return number of repetitions
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    /**
+     * Returns the position of the first repetition of the task at the given index.
+     *
+     * @param index index of the task, from zero
+     * @return position of the task's first repetition
+     * @throws IndexOutOfBoundsException if the index is not in the schedule
+     */
+    public int getPosition(int index) {
+        return this.positions[index];
+    }
+
+    /**
+     * Returns the index of the task that the repetition at the given position belongs to.
+     *
+     * @param position position of a repetition, from zero
+     * @return index of the task repeated at that position
+     * @throws IndexOutOfBoundsException if the position is not in the schedule
+     */
+    public int indexOfPosition(int position) {
+        if (position < 0 || position >= this.length) {
+            throw new IndexOutOfBoundsException("Position " + position
+                    + " is not in the schedule");
+        }
+        if (this.length == this.tasks.length) {
+            // no task is repeated, so each position is the index of its task
+            return position;
+        }
+        int found = Arrays.binarySearch(this.positions, position);
+        // otherwise the position falls within the task before the insertion point
+        return found >= 0 ? found : -found - 2;
+    }
+
+    /**
+     * Returns the task at the given index in this schedule.
+     *
+     * @param index index of the task, from zero
+     * @return task at the index
+     * @throws IndexOutOfBoundsException if the index is not in the schedule
+     */
+    public Task getTask(int index) {
+        return this.tasks[index];
+    }
+
+    /**
+     * Returns the number of moves from the first repetition of the task at the given index until
+     * the type of task changes, treating the schedule as circular, or -1 if every task in the
+     * schedule is of the same type.
+     * <p>
+     * Each repetition of a repeated task counts as one move.
+     *
+     * @param index index of the task, from zero
+     * @return number of moves until the type of task changes; or -1 if it never changes
+     * @throws IndexOutOfBoundsException if the index is not in the schedule
+     */
+    public int getMovesUntilTypeChanges(int index) {
+        return this.movesUntilTypeChanges[index];
+    }
+
+    /**
+     * Returns the index from which this schedule, read circularly, gives the smallest sequence
+     * of tasks, comparing tasks by type, then by load percentage, then by repeat count.
+     * <p>
+     * Every rotation of the same circular sequence of tasks has the same smallest rotation, so
+     * schedules rotated to start at this index can be shared by task lists that are at different
+     * points of the same rotation.
+     *
+     * @return index at which the smallest rotation starts
+     */
+    public int getSmallestRotation() {
+        int size = this.tasks.length;
+        int best = 0;
+        for (int start = 1; start < size; start++) {
+            for (int offset = 0; offset < size; offset++) {
+                int compared = compare(this.tasks[(start + offset) % size],
+                        this.tasks[(best + offset) % size]);
+                if (compared < 0) {
+                    best = start;
+                }
+                if (compared != 0) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns true if and only if the given object is a schedule with tasks of the same types
+     * load percentages and repeat counts as this schedule, in the same order.
+     *
+     * @param obj other object to check equality
+     * @return true if equal, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TaskSchedule)) {
+            return false;
+        }
+        TaskSchedule other = (TaskSchedule) obj;
+        if (this.hashCode != other.hashCode || this.tasks.length != other.tasks.length) {
+            return false;
+        }
+        for (int i = 0; i < this.tasks.length; i++) {
+            if (compare(this.tasks[i], other.tasks[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of this schedule.
+     *
+     * @return hash code of this schedule
+     */
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    /* Compares two tasks by type, then by load percentage, then by repeat count */
+    private static int compare(Task first, Task second) {
+        if (first.getType() != second.getType()) {
+            return Integer.compare(first.getType().ordinal(), second.getType().ordinal());
+        }
+        if (first.getLoadPercent() != second.getLoadPercent()) {
+            return Integer.compare(first.getLoadPercent(), second.getLoadPercent());
+        }
+        return Integer.compare(first.getRepeatCount(), second.getRepeatCount());
+    }
+
+    /*
+     * Returns, for each index in the given tasks, the number of moves from the first repetition
+     * of the task at that index until the task type changes, treating the tasks as circular.
+     * Every entry is -1 if all tasks are of the same type.
+     */
+    private static int[] countMovesUntilTypeChanges(Task[] tasks) {
+        int size = tasks.length;
+        int[] moves = new int[size];
+        // find the last task of some run of tasks of the same type
+        int runEnd = -1;
+        for (int i = 0; i < size; i++) {
+            if (tasks[i].getType() != tasks[(i + 1) % size].getType()) {
+                runEnd = i;
+                break;
+            }
+        }
+        if (runEnd == -1) {
+            Arrays.fill(moves, -1);
+            return moves;
+        }
+        // walk backwards around the list from there, extending or starting runs
+        moves[runEnd] = tasks[runEnd].getRepeatCount();
+        for (int offset = 1; offset < size; offset++) {
+            int i = (runEnd - offset + size) % size;
+            int next = (i + 1) % size;
+            int repeats = tasks[i].getRepeatCount();
+            moves[i] = tasks[i].getType() == tasks[next].getType()
+                    ? moves[next] + repeats : repeats;
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,146 @@
+package towersim.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates task lists that share a single copy of each distinct schedule of tasks.
+ * <p>
+ * Task lists that cycle through the same tasks are given the same {@link TaskSchedule}, even if
+ * they are at different points in the cycle: each schedule is stored starting from its
+ * {@link TaskSchedule#getSmallestRotation() smallest rotation}, and each task list keeps only its
+ * own position within it. A task list created by a pool behaves exactly the same as one created
+ * with {@link TaskList#TaskList(List)} from the same tasks.
+ * <p>
+ * Consecutive tasks of the same type and load percentage are merged into a single repeated task
+ * if any of them is {@link Task#getRepeatCount() repeated}, so that, for example, the tasks
+ * {@code AWAY*3, LAND, LOAD@50, TAKEOFF, AWAY*2} share a schedule with
+ * {@code AWAY*5, LAND, LOAD@50, TAKEOFF}. Runs of tasks that are each repeated only once are
+ * left as they are.
+ * <p>
+ * A pool may be used by several threads at once; task lists created concurrently with the same
+ * tasks still share a single schedule.
+ */
+public class TaskSchedulePool {
+
+    /** Every distinct schedule created by this pool, mapped to itself */
+    private final Map<TaskSchedule, TaskSchedule> schedules;
+
+    /**
+     * Creates a new, empty pool.
+     */
+    public TaskSchedulePool() {
+        this.schedules = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates a new task list with the given list of tasks, sharing its schedule with any task
+     * list previously created by this pool that cycles through the same tasks.
+     * <p>
+     * Initially, the current task is the first task in the given list.
+     *
+     * @param tasks list of tasks
+     * @return task list cycling through the tasks
+     * @throws IllegalArgumentException if the tasks are invalid according to the rules specified
+     *                                  in {@link TaskList#TaskList(List)}
+     */
+    public TaskList createTaskList(List<Task> tasks) {
+        TaskSchedule schedule = new TaskSchedule(tasks);
+        // position of the first of the given tasks in the schedule
+        int firstPosition = 0;
+        if (schedule.size() > 1 && hasRepeatedTask(tasks)) {
+            int start = findRunStart(tasks);
+            firstPosition = start == 0 ? 0 : schedule.getLength() - schedule.getPosition(start);
+            schedule = new TaskSchedule(mergeRuns(tasks, start));
+        }
+        int rotation = schedule.getSmallestRotation();
+        if (rotation != 0) {
+            List<Task> rotated = new ArrayList<>(schedule.size());
+            for (int i = 0; i < schedule.size(); i++) {
+                rotated.add(schedule.getTask((rotation + i) % schedule.size()));
+            }
+            firstPosition = (int) ((firstPosition - (long) schedule.getPosition(rotation)
+                    + schedule.getLength()) % schedule.getLength());
+            schedule = new TaskSchedule(rotated);
+        }
+        TaskSchedule shared = this.schedules.putIfAbsent(schedule, schedule);
+        if (shared != null) {
+            schedule = shared;
+        }
+        return new TaskList(schedule, firstPosition);
+    }
+
+    /**
+     * Returns the number of distinct schedules created by this pool.
+     *
+     * @return number of schedules
+     */
+    public int size() {
+        return this.schedules.size();
+    }
+
+    /* Returns true if any of the given tasks is repeated more than once */
+    private static boolean hasRepeatedTask(List<Task> tasks) {
+        for (Task task : tasks) {
+            if (task.getRepeatCount() > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* Returns true if the given tasks have the same type and load percentage */
+    private static boolean isSameTask(Task first, Task second) {
+        return first.getType() == second.getType()
+                && first.getLoadPercent() == second.getLoadPercent();
+    }
+
+    /*
+     * Returns the index of a task that starts a run of tasks with the same type and load
+     * percentage, treating the tasks as circular, or 0 if every task is the same.
+     */
+    private static int findRunStart(List<Task> tasks) {
+        int size = tasks.size();
+        for (int i = 0; i < size; i++) {
+            if (!isSameTask(tasks.get((i + size - 1) % size), tasks.get(i))) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /*
+     * Returns the given tasks read circularly from the given index, with each run of tasks of
+     * the same type and load percentage merged into one task if any task in the run is repeated.
+     * The index must start a run, as returned by findRunStart.
+     */
+    private static List<Task> mergeRuns(List<Task> tasks, int start) {
+        int size = tasks.size();
+        List<Task> merged = new ArrayList<>(size);
+        int runStart = 0;
+        while (runStart < size) {
+            Task first = tasks.get((start + runStart) % size);
+            int runEnd = runStart + 1;
+            long repeats = first.getRepeatCount();
+            boolean repeated = repeats > 1;
+            while (runEnd < size && isSameTask(first, tasks.get((start + runEnd) % size))) {
+                int repeatCount = tasks.get((start + runEnd) % size).getRepeatCount();
+                repeats += repeatCount;
+                repeated |= repeatCount > 1;
+                runEnd++;
+            }
+            if (repeated) {
+                // the schedule of the unmerged tasks has already checked the total fits
+                merged.add(new Task(first.getType(), first.getLoadPercent(), (int) repeats));
+            } else {
+                for (int i = runStart; i < runEnd; i++) {
+                    merged.add(tasks.get((start + i) % size));
+                }
+            }
+            runStart = runEnd;
+        }
+        return merged;
+    }
+}
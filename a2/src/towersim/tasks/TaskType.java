@@ -61,6 +61,20 @@ public enum TaskType {
      */
     TAKEOFF("Waiting in queue to take off");
 
+    /**
+     * For each task type, by ordinal, a bit mask of the ordinals of the task types that may
+     * follow it in a task list.
+     */
+    private static final int[] SUCCESSORS = new int[values().length];
+
+    static {
+        allow(AWAY, AWAY, LAND);
+        allow(LAND, WAIT, LOAD);
+        allow(WAIT, WAIT, LOAD);
+        allow(LOAD, TAKEOFF);
+        allow(TAKEOFF, AWAY);
+    }
+
     /**
      * Short written description of the task type.
      */
@@ -79,4 +93,26 @@ public enum TaskType {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Returns true if a task of this type may be followed by a task of the given type in a task
+     * list.
+     * <p>
+     * {@code AWAY} may be followed by {@code AWAY} or {@code LAND}; {@code LAND} and
+     * {@code WAIT} may be followed by {@code WAIT} or {@code LOAD}; {@code LOAD} may be followed
+     * by {@code TAKEOFF}; and {@code TAKEOFF} may be followed by {@code AWAY}.
+     *
+     * @param next type of the following task
+     * @return true if the transition from this type to the given type is allowed
+     */
+    public boolean canBeFollowedBy(TaskType next) {
+        return (SUCCESSORS[ordinal()] & (1 << next.ordinal())) != 0;
+    }
+
+    /* Allows tasks of the given type to be followed by tasks of each of the given types */
+    private static void allow(TaskType type, TaskType... successors) {
+        for (TaskType successor : successors) {
+            SUCCESSORS[type.ordinal()] |= 1 << successor.ordinal();
+        }
+    }
 }
@@ -1,5 +1,8 @@
 package towersim.util;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * Denotes a class whose state can be encoded and represented as a String.
  */
@@ -11,4 +14,42 @@ public interface Encodable {
      * @return encoded String representation
      */
     String encode();
+
+    /**
+     * Appends the machine-readable encoded representation of this object to the given
+     * appendable.
+     * <p>
+     * The characters appended are exactly those returned by {@link #encode()}. The default
+     * implementation appends the result of {@code encode()}; implementations may instead write
+     * their representation piece by piece, so that large objects can be written to a
+     * {@link java.io.Writer} without first being built as a String.
+     *
+     * @param out appendable to write the encoded representation to
+     * @throws IOException if an IOException occurs when appending to the appendable
+     */
+    default void encodeTo(Appendable out) throws IOException {
+        out.append(encode());
+    }
+
+    /**
+     * Returns the characters the given object appends in {@link #encodeTo(Appendable)}, as a
+     * String.
+     * <p>
+     * This allows an implementation of {@code encodeTo(Appendable)} to also serve as its
+     * implementation of {@code encode()}; such an implementation must not rely on the default
+     * {@code encodeTo(Appendable)}.
+     *
+     * @param encodable object to encode
+     * @return encoded String representation
+     */
+    static String encodeToString(Encodable encodable) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            encodable.encodeTo(builder);
+        } catch (IOException e) {
+            // appending to a StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
 }
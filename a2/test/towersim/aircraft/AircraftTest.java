@@ -234,6 +234,41 @@ public class AircraftTest {
                 dummyAircraft2.getFuelAmount(), 1e-5);
     }
 
+    @Test
+    public void tickAndMove_MatchesTickTest() {
+        Aircraft ticked = new PassengerAircraft("AWY001", AircraftCharacteristics.FOKKER_100,
+                new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.AWAY),
+                        new Task(TaskType.AWAY), new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD), new Task(TaskType.TAKEOFF))),
+                AircraftCharacteristics.FOKKER_100.fuelCapacity / 3, 0);
+        Aircraft skipped = new PassengerAircraft("AWY001", AircraftCharacteristics.FOKKER_100,
+                new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.AWAY),
+                        new Task(TaskType.AWAY), new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD), new Task(TaskType.TAKEOFF))),
+                AircraftCharacteristics.FOKKER_100.fuelCapacity / 3, 0);
+        for (int i = 0; i < 3; i++) {
+            ticked.tick();
+            ticked.getTaskList().moveToNextTask();
+        }
+        skipped.tickAndMove(3);
+
+        assertEquals("tickAndMove() should burn the same fuel as calling tick() repeatedly",
+                ticked.getFuelAmount(), skipped.getFuelAmount(), 0);
+        assertEquals("tickAndMove() should move through the same number of tasks",
+                ticked.getTaskList().toString(), skipped.getTaskList().toString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tickAndMove_PastTypeChangeTest() {
+        // passengerAircraft1 starts AWAY, followed immediately by LAND
+        passengerAircraft1.tickAndMove(1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tickAndMove_LoadTaskTest() {
+        dummyAircraft2.tickAndMove(1);
+    }
+
     @Test
     public void tick_FuelCappedAboveBy100Test() {
         String failMsg = "tick() should not refuel an aircraft to more than its maximum fuel "
@@ -284,4 +319,109 @@ public class AircraftTest {
         assertFalse("hasEmergency() should return false after calling clearEmergency()",
                 passengerAircraft1.hasEmergency());
     }
+
+    @Test
+    public void tickLoading_MatchesTickTest() {
+        Aircraft ticked = new PassengerAircraft("LDG001", AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(List.of(new Task(TaskType.LOAD, 70), new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY), new Task(TaskType.LAND))),
+                AircraftCharacteristics.AIRBUS_A320.fuelCapacity / 7, 12);
+        Aircraft skipped = new PassengerAircraft("LDG001", AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(List.of(new Task(TaskType.LOAD, 70), new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY), new Task(TaskType.LAND))),
+                AircraftCharacteristics.AIRBUS_A320.fuelCapacity / 7, 12);
+        for (int i = 0; i < 5; i++) {
+            ticked.tick();
+        }
+        skipped.tickLoading(5);
+
+        assertEquals("tickLoading() should refuel the same as calling tick() repeatedly",
+                ticked.getFuelAmount(), skipped.getFuelAmount(), 0);
+        assertEquals("tickLoading() should load the same as calling tick() repeatedly",
+                ticked.encode(), skipped.encode());
+        assertEquals("tickLoading() should not move on to the next task",
+                TaskType.LOAD, skipped.getTaskList().getCurrentTask().getType());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tickLoading_NotLoadingTest() {
+        // passengerAircraft1 starts AWAY
+        passengerAircraft1.tickLoading(1);
+    }
+
+    @Test
+    public void equals_SameCallsignTest() {
+        Aircraft sameCallsign = new PassengerAircraft(new String("ABC123"),
+                AircraftCharacteristics.AIRBUS_A320, new TaskList(List.of(
+                        new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD), new Task(TaskType.TAKEOFF))),
+                0, 0);
+        assertEquals(passengerAircraft1, sameCallsign);
+        assertEquals(passengerAircraft1.hashCode(), sameCallsign.hashCode());
+    }
+
+    @Test
+    public void equals_PermutedCallsignTest() {
+        Aircraft permuted = new PassengerAircraft("CBA321",
+                AircraftCharacteristics.AIRBUS_A320, taskList1,
+                AircraftCharacteristics.AIRBUS_A320.fuelCapacity,
+                AircraftCharacteristics.AIRBUS_A320.passengerCapacity);
+        assertNotEquals(passengerAircraft1, permuted);
+        assertNotEquals(passengerAircraft1, null);
+    }
+
+    @Test
+    public void hashCode_StableTest() {
+        int hashCode = passengerAircraft2.hashCode();
+        passengerAircraft2.unload();
+        passengerAircraft2.getTaskList().moveToNextTask();
+        passengerAircraft2.declareEmergency();
+        assertEquals(hashCode, passengerAircraft2.hashCode());
+    }
+
+    @Test
+    public void getFuelPercentRemaining_AfterTickTest() {
+        assertEquals(100, passengerAircraft1.getFuelPercentRemaining());
+        passengerAircraft1.tick();
+        assertEquals(90, passengerAircraft1.getFuelPercentRemaining());
+        passengerAircraft1.tick();
+        assertEquals(80, passengerAircraft1.getFuelPercentRemaining());
+    }
+
+    @Test
+    public void getCachedLoadingTime_TaskChangeTest() {
+        Aircraft aircraft = new PassengerAircraft("LDT001", AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(List.of(
+                        new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 1),
+                        new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY),
+                        new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 100),
+                        new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY))),
+                0, 0);
+        aircraft.getTaskList().moveToNextTask();
+        assertEquals(aircraft.getLoadingTime(), aircraft.getCachedLoadingTime());
+        int firstLoadingTime = aircraft.getCachedLoadingTime();
+        aircraft.getTaskList().moveForward(4);
+        assertEquals(aircraft.getLoadingTime(), aircraft.getCachedLoadingTime());
+        assertNotEquals(firstLoadingTime, aircraft.getCachedLoadingTime());
+    }
+
+    @Test
+    public void encode_FuelAmountRoundingTest() {
+        double[] fuelAmounts = {0, 0.005, 0.015, 0.125, 1.005, 2.675, 9.995, 12.344999,
+                AircraftCharacteristics.AIRBUS_A320.fuelCapacity / 3,
+                AircraftCharacteristics.AIRBUS_A320.fuelCapacity};
+        String[] expected = {"0.00", "0.01", "0.02", "0.13", "1.01", "2.68", "10.00", "12.34",
+                "9066.67", "27200.00"};
+        for (int i = 0; i < fuelAmounts.length; i++) {
+            Aircraft aircraft = new PassengerAircraft("FUE001",
+                    AircraftCharacteristics.AIRBUS_A320, taskList1, fuelAmounts[i], 0);
+            String encodedFuel = aircraft.encode().split(":")[3];
+            assertEquals(expected[i], encodedFuel);
+            assertEquals(String.format("%.2f", fuelAmounts[i]), encodedFuel);
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package towersim.aircraft;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FleetStoreTest {
+    private FleetStore store;
+
+    @Before
+    public void setup() {
+        this.store = new FleetStore();
+    }
+
+    /* Creates a fleet of aircraft with a mix of characteristics and starting tasks */
+    private static List<Aircraft> createFleet() {
+        List<Aircraft> fleet = new ArrayList<>();
+        List<Task> cycle = List.of(new Task(TaskType.AWAY), new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.WAIT), new Task(TaskType.LOAD, 40),
+                new Task(TaskType.TAKEOFF));
+        for (int i = 0; i < 40; i++) {
+            // start each aircraft at a different point in the same cycle of tasks
+            List<Task> taskOrder = new ArrayList<>(cycle.subList(i % 6, 6));
+            taskOrder.addAll(cycle.subList(0, i % 6));
+            TaskList tasks = new TaskList(taskOrder);
+            if (i % 2 == 0) {
+                fleet.add(new PassengerAircraft("PAS" + i, AircraftCharacteristics.AIRBUS_A320,
+                        tasks, AircraftCharacteristics.AIRBUS_A320.fuelCapacity * (i % 7) / 6,
+                        i));
+            } else {
+                fleet.add(new FreightAircraft("FRT" + i, AircraftCharacteristics.BOEING_747_8F,
+                        tasks, AircraftCharacteristics.BOEING_747_8F.fuelCapacity * (i % 5) / 4,
+                        1000 * i));
+            }
+        }
+        return fleet;
+    }
+
+    @Test
+    public void tickMatchesAircraftTick() {
+        List<Aircraft> plain = createFleet();
+        List<Aircraft> stored = createFleet();
+        for (Aircraft aircraft : stored) {
+            store.add(aircraft);
+        }
+        for (int tick = 0; tick < 6; tick++) {
+            for (Aircraft aircraft : plain) {
+                aircraft.tick();
+            }
+            store.tick();
+            for (int i = 0; i < plain.size(); i++) {
+                assertEquals(plain.get(i).getFuelAmount(), stored.get(i).getFuelAmount(), 0);
+                assertEquals(plain.get(i).encode(), stored.get(i).encode());
+                plain.get(i).getTaskList().moveToNextTask();
+                stored.get(i).getTaskList().moveToNextTask();
+            }
+        }
+    }
+
+    @Test
+    public void addKeepsState() {
+        Aircraft aircraft = createFleet().get(3);
+        aircraft.declareEmergency();
+        String encoded = aircraft.encode();
+        assertEquals(0, store.add(aircraft));
+        assertEquals(1, store.size());
+        assertSame(aircraft, store.getAircraft(0));
+        assertEquals(encoded, aircraft.encode());
+        assertTrue(aircraft.hasEmergency());
+    }
+
+    @Test
+    public void stateChangesThroughView() {
+        List<Aircraft> plain = createFleet();
+        List<Aircraft> stored = createFleet();
+        for (Aircraft aircraft : stored) {
+            store.add(aircraft);
+        }
+        for (int i = 0; i < plain.size(); i++) {
+            plain.get(i).declareEmergency();
+            stored.get(i).declareEmergency();
+            assertTrue(stored.get(i).hasEmergency());
+            plain.get(i).tick();
+            stored.get(i).tick();
+            assertEquals(plain.get(i).calculateOccupancyLevel(),
+                    stored.get(i).calculateOccupancyLevel());
+            assertEquals(plain.get(i).getTotalWeight(), stored.get(i).getTotalWeight(), 0);
+            plain.get(i).unload();
+            stored.get(i).unload();
+            assertEquals(plain.get(i).encode(), stored.get(i).encode());
+            stored.get(i).clearEmergency();
+            assertFalse(stored.get(i).hasEmergency());
+        }
+    }
+
+    @Test
+    public void currentTaskTypeFollowsTaskList() {
+        Aircraft aircraft = createFleet().get(1);
+        store.add(aircraft);
+        assertEquals(TaskType.AWAY, store.getCurrentTaskType(0));
+        aircraft.getTaskList().moveToNextTask();
+        assertEquals(TaskType.LAND, store.getCurrentTaskType(0));
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        List<Aircraft> fleet = createFleet();
+        for (int i = 0; i < fleet.size(); i++) {
+            assertEquals(i, store.add(fleet.get(i)));
+        }
+        for (int i = 0; i < fleet.size(); i++) {
+            assertSame(fleet.get(i), store.getAircraft(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addTwice() {
+        Aircraft aircraft = createFleet().get(0);
+        store.add(aircraft);
+        new FleetStore().add(aircraft);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getAircraftOutOfRange() {
+        store.getAircraft(0);
+    }
+}
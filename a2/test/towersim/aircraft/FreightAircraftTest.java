@@ -185,4 +185,19 @@ public class FreightAircraftTest {
 
 
 
+
+    @Test
+    public void tickLoading_MatchesTickTest() {
+        Aircraft ticked = new FreightAircraft("EMP002", AircraftCharacteristics.BOEING_747_8F,
+                new TaskList(List.of(new Task(TaskType.LOAD, 65), new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY), new Task(TaskType.LAND))),
+                AircraftCharacteristics.BOEING_747_8F.fuelCapacity / 2, 0);
+        for (int i = 0; i < 4; i++) {
+            ticked.tick();
+        }
+        emptyAircraft2.tickLoading(4);
+
+        assertEquals(ticked.getFuelAmount(), emptyAircraft2.getFuelAmount(), 0);
+        assertEquals(ticked.encode(), emptyAircraft2.encode());
+    }
 }
@@ -6,6 +6,7 @@ import towersim.tasks.Task;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 
+import java.io.IOException;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -200,4 +201,16 @@ public class PassengerAircraftTest {
         // (130 + 38) / capacity = 168 / 150 = 112 percent occupancy (should cap at 100)
         assertEquals(failMsg, 100, fullAircraft.calculateOccupancyLevel());
     }
+
+    @Test
+    public void encodeToTest() throws IOException {
+        taskList1.moveToNextTask();
+        StringBuilder builder = new StringBuilder();
+        aircraft1.encodeTo(builder);
+        assertEquals("ABC001:AIRBUS_A320:TAKEOFF,AWAY,LAND,LOAD@0:"
+                + String.format("%.2f", AircraftCharacteristics.AIRBUS_A320.fuelCapacity / 2)
+                + ":false:" + AircraftCharacteristics.AIRBUS_A320.passengerCapacity,
+                builder.toString());
+        assertEquals(builder.toString(), aircraft1.encode());
+    }
 }
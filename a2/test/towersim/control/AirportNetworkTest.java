@@ -0,0 +1,105 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class AirportNetworkTest {
+
+    private static final List<String> BASIC_SAVE = List.of(
+            "saves/tick_basic.txt",
+            "saves/aircraft_basic.txt",
+            "saves/queues_basic.txt",
+            "saves/terminalsWithGates_basic.txt");
+
+    private static final List<String> DEFAULT_SAVE = List.of(
+            "saves/tick_default.txt",
+            "saves/aircraft_default.txt",
+            "saves/queues_default.txt",
+            "saves/terminalsWithGates_default.txt");
+
+    private AirportNetwork network;
+
+    @Before
+    public void setup() {
+        this.network = new AirportNetwork(new ForkJoinPool(2));
+    }
+
+    @Test
+    public void loadControlTowers_InOrderTest() throws IOException, MalformedSaveException {
+        List<ControlTower> loaded = network.loadControlTowers(
+                List.of(BASIC_SAVE, DEFAULT_SAVE, BASIC_SAVE));
+        assertEquals(3, loaded.size());
+        assertEquals(loaded, network.getControlTowers());
+        assertEquals(4, loaded.get(0).countAircraft());
+        assertEquals(0, loaded.get(1).countAircraft());
+        assertEquals(4, loaded.get(2).countAircraft());
+    }
+
+    @Test
+    public void loadControlTowers_MissingFileTest() throws MalformedSaveException {
+        List<String> missing = new ArrayList<>(BASIC_SAVE);
+        missing.set(1, "saves/aircraft_missing.txt");
+        try {
+            network.loadControlTowers(List.of(BASIC_SAVE, missing));
+            fail("Loading from a missing file should throw an IOException");
+        } catch (IOException expected) {
+            assertTrue("No control towers should be added if any fail to load",
+                    network.getControlTowers().isEmpty());
+        }
+    }
+
+    @Test
+    public void tick_IndependentTowersTest() throws IOException, MalformedSaveException {
+        network.loadControlTowers(List.of(BASIC_SAVE, BASIC_SAVE));
+        ControlTower independent = new AirportNetwork().loadControlTower(BASIC_SAVE.get(0),
+                BASIC_SAVE.get(1), BASIC_SAVE.get(2), BASIC_SAVE.get(3));
+
+        network.advance(25);
+        independent.advance(25);
+
+        assertEquals(25, network.getTicksElapsed());
+        for (ControlTower tower : network.getControlTowers()) {
+            assertEquals(TowerStates.stateOf(independent), TowerStates.stateOf(tower));
+        }
+    }
+
+    @Test
+    public void countAircraft_AggregateTest() throws IOException, MalformedSaveException {
+        network.loadControlTowers(List.of(BASIC_SAVE, DEFAULT_SAVE, BASIC_SAVE));
+        ControlTower basic = network.getControlTowers().get(0);
+        assertEquals(2 * basic.countAircraft(), network.countAircraft());
+        assertEquals(2 * basic.countTerminals(), network.countTerminals());
+        for (TaskType taskType : TaskType.values()) {
+            assertEquals(2 * basic.countAircraftWithTask(taskType),
+                    network.countAircraftWithTask(taskType));
+        }
+    }
+
+    @Test
+    public void toStringTest() throws IOException, MalformedSaveException {
+        network.loadControlTowers(List.of(BASIC_SAVE, DEFAULT_SAVE));
+        ControlTower basic = network.getControlTowers().get(0);
+        assertEquals(String.format("AirportNetwork: 2 control towers, %d terminals, "
+                        + "%d total aircraft (%d LAND, %d TAKEOFF, %d LOAD)",
+                basic.countTerminals(), basic.countAircraft(),
+                basic.countAircraftWithTask(TaskType.LAND),
+                basic.countAircraftWithTask(TaskType.TAKEOFF),
+                basic.countAircraftWithTask(TaskType.LOAD)), network.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addControlTower_TwiceTest() throws IOException, MalformedSaveException {
+        ControlTower tower = network.loadControlTower(BASIC_SAVE.get(0), BASIC_SAVE.get(1),
+                BASIC_SAVE.get(2), BASIC_SAVE.get(3));
+        network.addControlTower(tower);
+    }
+}
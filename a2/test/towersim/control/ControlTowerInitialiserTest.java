@@ -16,8 +16,11 @@ import towersim.util.MalformedSaveException;
 
 import static org.junit.Assert.*;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class ControlTowerInitialiserTest {
 
@@ -262,6 +265,189 @@ public class ControlTowerInitialiserTest {
         ControlTowerInitialiser.loadAircraft(new StringReader(fileContents));
     }
 
+    @Test(expected = MalformedSaveException.class)
+    public void loadAircraftDuplicateCallsign() throws MalformedSaveException, IOException {
+        String fileContents = String.join(System.lineSeparator(),
+                "2",
+                "QFA481:AIRBUS_A320:AWAY,AWAY,LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY:10000.00:false:132",
+                "QFA481:BOEING_787:WAIT,LOAD@100,TAKEOFF,AWAY,AWAY,AWAY,LAND:10000.00:false:0");
+        ControlTowerInitialiser.loadAircraft(new StringReader(fileContents));
+    }
+
+    @Test
+    public void readQueueResolvesCallsigns() throws MalformedSaveException, IOException {
+        String fileContents = String.join(System.lineSeparator(),
+                "3",
+                "QFA481:AIRBUS_A320:AWAY,AWAY,LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY:10000.00:false:132",
+                "UTD302:BOEING_787:WAIT,LOAD@100,TAKEOFF,AWAY,AWAY,AWAY,LAND:10000.00:false:0",
+                "UPS119:BOEING_747_8F:WAIT,LOAD@50,TAKEOFF,AWAY,AWAY,AWAY,LAND:4000.00:false:0");
+        List<Aircraft> aircraft = ControlTowerInitialiser.loadAircraft(
+                new StringReader(fileContents));
+        TakeoffQueue queue = new TakeoffQueue();
+        ControlTowerInitialiser.readQueue(new BufferedReader(new StringReader(String.join(
+                System.lineSeparator(), "TakeoffQueue:2", "UPS119,QFA481"))), aircraft, queue);
+        assertEquals(List.of(aircraft.get(2), aircraft.get(0)), queue.getAircraftInOrder());
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void readQueueTooFewCallsigns() throws MalformedSaveException, IOException {
+        List<Aircraft> aircraft = ControlTowerInitialiser.loadAircraft(new StringReader(
+                String.join(System.lineSeparator(), "1",
+                "UPS119:BOEING_747_8F:WAIT,LOAD@50,TAKEOFF,AWAY,AWAY,AWAY,LAND:4000.00:false:0")));
+        ControlTowerInitialiser.readQueue(new BufferedReader(new StringReader(String.join(
+                System.lineSeparator(), "TakeoffQueue:2", "UPS119"))), aircraft,
+                new TakeoffQueue());
+    }
+
+    @Test
+    public void readAircraftIgnoresTrailingColons() throws MalformedSaveException {
+        Aircraft aircraft = ControlTowerInitialiser.readAircraft(
+                "UTD302:BOEING_787:WAIT,LOAD@100,TAKEOFF,AWAY,LAND:10000.00:true:0::");
+        assertEquals("UTD302:BOEING_787:WAIT,LOAD@100,TAKEOFF,AWAY,LAND:10000.00:false:0",
+                aircraft.encode());
+    }
+
+    @Test
+    public void loadAircraftSharesSchedules() throws MalformedSaveException, IOException {
+        String fileContents = String.join(System.lineSeparator(),
+                "3",
+                "QFA481:AIRBUS_A320:AWAY,AWAY,LAND,WAIT,LOAD@60,TAKEOFF:10000.00:false:132",
+                "UTD302:BOEING_787:WAIT,LOAD@60,TAKEOFF,AWAY,AWAY,LAND:10000.00:false:0",
+                "UPS119:BOEING_747_8F:WAIT,LOAD@50,TAKEOFF,AWAY,AWAY,LAND:4000.00:false:0");
+        List<Aircraft> aircraft = ControlTowerInitialiser.loadAircraft(
+                new StringReader(fileContents));
+        assertSame(aircraft.get(0).getTaskList().getSchedule(),
+                aircraft.get(1).getTaskList().getSchedule());
+        assertNotSame(aircraft.get(0).getTaskList().getSchedule(),
+                aircraft.get(2).getTaskList().getSchedule());
+        assertEquals("WAIT,LOAD@60,TAKEOFF,AWAY,AWAY,LAND",
+                aircraft.get(1).getTaskList().encode());
+    }
+
+    @Test
+    public void loadAircraftFromPathMatchesReader() throws MalformedSaveException, IOException {
+        List<Aircraft> expected = ControlTowerInitialiser.loadAircraft(
+                new FileReader("saves/aircraft_basic.txt"));
+        List<Aircraft> aircraft = ControlTowerInitialiser.loadAircraft(
+                Path.of("saves/aircraft_basic.txt"));
+        assertEquals(expected.size(), aircraft.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getClass(), aircraft.get(i).getClass());
+            assertEquals(expected.get(i).encode(), aircraft.get(i).encode());
+        }
+    }
+
+    @Test
+    public void loadAircraftFromPathRejectsMissingAircraft() throws IOException {
+        Path file = Files.createTempFile("aircraft", ".txt");
+        try {
+            Files.writeString(file, String.join(System.lineSeparator(), "2",
+                    "UTD302:BOEING_787:WAIT,LOAD@100,TAKEOFF,AWAY,LAND:10000.00:true:0"));
+            ControlTowerInitialiser.loadAircraft(file);
+            fail("Loading fewer aircraft than the count should be malformed");
+        } catch (MalformedSaveException expected) {
+            // expected
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void createControlTowerFromPaths() throws MalformedSaveException, IOException {
+        ControlTower loaded = ControlTowerInitialiser.createControlTower(
+                Path.of("saves/tick_basic.txt"), Path.of("saves/aircraft_basic.txt"),
+                Path.of("saves/queues_basic.txt"), Path.of("saves/terminalsWithGates_basic.txt"));
+        assertEquals(tower.getTicksElapsed(), loaded.getTicksElapsed());
+        assertEquals(tower.getAircraft().toString(), loaded.getAircraft().toString());
+        assertEquals(tower.getLandingQueue().encode(), loaded.getLandingQueue().encode());
+        assertEquals(tower.getTerminals().get(0).encode(), loaded.getTerminals().get(0).encode());
+    }
+
+    /*
+     * Writes an aircraft file declaring the given number of aircraft, followed by the given
+     * number of lines of distinct aircraft, with the line at the given index (from zero)
+     * replaced by the given line unless the index is negative.
+     */
+    private static Path writeAircraftFile(int count, int lines, int replacedIndex,
+                                          String replacement) throws IOException {
+        Path file = Files.createTempFile("aircraft", ".txt");
+        file.toFile().deleteOnExit();
+        String[] separators = {"\n", "\r\n", "\r"};
+        StringBuilder text = new StringBuilder().append(count).append('\n');
+        for (int i = 0; i < lines; i++) {
+            if (i == replacedIndex) {
+                text.append(replacement);
+            } else {
+                text.append("QFA").append(i).append(i % 2 == 0
+                        ? ":AIRBUS_A320:AWAY,LAND,WAIT,LOAD@50,TAKEOFF:3000.00:false:100"
+                        : ":BOEING_747_8F:LOAD@90,TAKEOFF,AWAY*3,LAND:1000.00:true:5000");
+            }
+            text.append(separators[i % separators.length]);
+        }
+        Files.writeString(file, text);
+        return file;
+    }
+
+    @Test
+    public void loadAircraftInParallelMatchesSerial() throws MalformedSaveException, IOException {
+        // large enough to be split into several chunks
+        Path file = writeAircraftFile(40000, 40000, -1, null);
+        List<Aircraft> expected = ControlTowerInitialiser.loadAircraft(file);
+        List<Aircraft> aircraft = ControlTowerInitialiser.loadAircraft(file, new ForkJoinPool(4));
+        assertEquals(40000, aircraft.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getClass(), aircraft.get(i).getClass());
+            assertEquals(expected.get(i).encode(), aircraft.get(i).encode());
+            assertEquals(expected.get(i).hasEmergency(), aircraft.get(i).hasEmergency());
+        }
+        assertSame(aircraft.get(0).getTaskList().getSchedule(),
+                aircraft.get(39998).getTaskList().getSchedule());
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void loadAircraftInParallelRejectsInvalidLine()
+            throws MalformedSaveException, IOException {
+        Path file = writeAircraftFile(40000, 40000, 25000, "QFA1:AIRBUS_A320:LAND");
+        ControlTowerInitialiser.loadAircraft(file, new ForkJoinPool(4));
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void loadAircraftInParallelRejectsDuplicateInLaterChunk()
+            throws MalformedSaveException, IOException {
+        Path file = writeAircraftFile(40000, 40000, 39999,
+                "QFA0:AIRBUS_A320:AWAY,LAND,WAIT,LOAD@50,TAKEOFF:3000.00:false:100");
+        ControlTowerInitialiser.loadAircraft(file, new ForkJoinPool(4));
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void loadAircraftInParallelRejectsMissingAircraft()
+            throws MalformedSaveException, IOException {
+        Path file = writeAircraftFile(40001, 40000, -1, null);
+        ControlTowerInitialiser.loadAircraft(file, new ForkJoinPool(4));
+    }
+
+    @Test
+    public void loadAircraftInParallelIgnoresLinesAfterCount()
+            throws MalformedSaveException, IOException {
+        Path file = writeAircraftFile(30000, 40000, 35000, "not an aircraft");
+        List<Aircraft> aircraft = ControlTowerInitialiser.loadAircraft(file, new ForkJoinPool(4));
+        assertEquals(30000, aircraft.size());
+        assertEquals("QFA29999", aircraft.get(29999).getCallsign());
+    }
+
+    @Test
+    public void createControlTowerFromPathsInParallel()
+            throws MalformedSaveException, IOException {
+        ControlTower loaded = ControlTowerInitialiser.createControlTower(
+                Path.of("saves/tick_basic.txt"), Path.of("saves/aircraft_basic.txt"),
+                Path.of("saves/queues_basic.txt"), Path.of("saves/terminalsWithGates_basic.txt"),
+                ForkJoinPool.commonPool());
+        assertEquals(tower.getTicksElapsed(), loaded.getTicksElapsed());
+        assertEquals(tower.getAircraft().toString(), loaded.getAircraft().toString());
+        assertEquals(tower.getLandingQueue().encode(), loaded.getLandingQueue().encode());
+        assertEquals(tower.getTerminals().get(0).encode(), loaded.getTerminals().get(0).encode());
+    }
+
     @Test
     public void readTaskListTest() throws MalformedSaveException {
         String fileContents = "AWAY,AWAY,LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY";
@@ -314,4 +500,28 @@ public class ControlTowerInitialiserTest {
         String fileContents = "AWAY,AWAY,LAND,WAIT,WAIT,LOAD@,TAKEOFF,AWAY";
         ControlTowerInitialiser.readTaskList(fileContents);
     }
+
+    @Test
+    public void readTaskList_RepeatedTest() throws MalformedSaveException {
+        String fileContents = "AWAY*24,LAND,WAIT*2,LOAD@60,TAKEOFF";
+        TaskList taskList = ControlTowerInitialiser.readTaskList(fileContents);
+        assertEquals("TaskList currently on AWAY [1/29]", taskList.toString());
+        assertEquals(24, taskList.getMovesUntilTypeChanges());
+        assertEquals(fileContents, taskList.encode());
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void readTaskList_RepeatedLandTest() throws MalformedSaveException {
+        ControlTowerInitialiser.readTaskList("AWAY,LAND*2,LOAD@60,TAKEOFF");
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void readTaskList_RepeatCountZeroTest() throws MalformedSaveException {
+        ControlTowerInitialiser.readTaskList("AWAY*0,LAND,LOAD@60,TAKEOFF");
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void readTaskList_RepeatCountInvalidTest() throws MalformedSaveException {
+        ControlTowerInitialiser.readTaskList("AWAY*2*2,LAND,LOAD@60,TAKEOFF");
+    }
 }
@@ -1,5 +1,6 @@
 package towersim.control;
 
+import com.sun.management.ThreadMXBean;
 import org.junit.Before;
 import org.junit.Test;
 import towersim.aircraft.Aircraft;
@@ -20,10 +21,18 @@ import towersim.util.NoSuitableGateException;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
 public class ControlTowerTest {
     private ControlTower tower;
@@ -182,6 +191,461 @@ public class ControlTowerTest {
 
     }
 
+    @Test
+    public void toStringTest() {
+        assertEquals("ControlTower: 5 terminals, 4 total aircraft (1 LAND, 0 TAKEOFF, 0 LOAD)",
+                tower.toString());
+    }
+
+    @Test
+    public void toStringAfterTick() {
+        tower.tick();
+        assertEquals("ControlTower: 5 terminals, 4 total aircraft (1 LAND, 0 TAKEOFF, 2 LOAD)",
+                tower.toString());
+    }
+
+    @Test
+    public void countAircraftWithTaskTest() {
+        assertEquals(1, tower.countAircraftWithTask(TaskType.AWAY));
+        assertEquals(2, tower.countAircraftWithTask(TaskType.WAIT));
+        tower.getAircraft().get(0).getTaskList().moveToNextTask();
+        tower.getAircraft().get(0).getTaskList().moveToNextTask();
+        assertEquals(0, tower.countAircraftWithTask(TaskType.AWAY));
+        assertEquals(2, tower.countAircraftWithTask(TaskType.LAND));
+    }
+
+    @Test
+    public void tickPlacesChangedAircraftInQueues() {
+        tower.tick();
+        assertEquals(2, tower.getLoadingAircraft().size());
+        assertTrue(tower.getLoadingAircraft().containsKey(tower.getAircraft().get(1)));
+        assertTrue(tower.getLoadingAircraft().containsKey(tower.getAircraft().get(2)));
+    }
+
+    @Test
+    public void findGateOfAircraftLoadedFromSave() {
+        assertEquals(1, tower.findGateOfAircraft(tower.getAircraft().get(1)).getGateNumber());
+        assertEquals(13, tower.findGateOfAircraft(tower.getAircraft().get(2)).getGateNumber());
+        assertNull(tower.findGateOfAircraft(tower.getAircraft().get(0)));
+    }
+
+    @Test
+    public void findGateOfAircraftAfterParkAndLeave() throws NoSpaceException {
+        tower.addTerminal(airplaneTerminal1);
+        airplaneTerminal1.addGate(gate1);
+        gate1.parkAircraft(passengerAircraft1);
+        assertEquals(gate1, tower.findGateOfAircraft(passengerAircraft1));
+        gate1.aircraftLeaves();
+        assertNull(tower.findGateOfAircraft(passengerAircraft1));
+    }
+
+    @Test
+    public void getAircraftViewMatchesGetAircraft() throws NoSpaceException,
+            NoSuitableGateException {
+        List<Aircraft> view = tower.getAircraftView();
+        assertEquals(tower.getAircraft(), view);
+        tower.addAircraft(passengerAircraftAway);
+        assertEquals("view should reflect aircraft added after it was returned",
+                tower.getAircraft(), view);
+        List<Aircraft> visited = new ArrayList<>();
+        tower.forEachAircraft(visited::add);
+        assertEquals(tower.getAircraft(), visited);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getAircraftViewNonModifiable() {
+        tower.getAircraftView().clear();
+    }
+
+    @Test
+    public void getTerminalsViewMatchesGetTerminals() {
+        List<Terminal> view = tower.getTerminalsView();
+        assertEquals(tower.getTerminals(), view);
+        tower.addTerminal(airplaneTerminal1);
+        assertEquals(tower.getTerminals(), view);
+        List<Gate> gates = new ArrayList<>();
+        for (Terminal terminal : tower.getTerminals()) {
+            gates.addAll(terminal.getGates());
+        }
+        List<Gate> visited = new ArrayList<>();
+        tower.forEachGate(visited::add);
+        assertEquals(gates, visited);
+    }
+
+    @Test
+    public void findUnoccupiedGateOrNullSkipsEmergencyAirplaneTerminal() throws NoSpaceException {
+        ControlTower emptyTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        airplaneTerminal1.addGate(gate1);
+        airplaneTerminal2.addGate(gate2);
+        helicopterTerminal1.addGate(gate3);
+        emptyTower.addTerminal(airplaneTerminal1);
+        emptyTower.addTerminal(airplaneTerminal2);
+        emptyTower.addTerminal(helicopterTerminal1);
+
+        assertEquals(gate1, emptyTower.findUnoccupiedGateOrNull(passengerAircraft1));
+        airplaneTerminal1.declareEmergency();
+        assertEquals(gate2, emptyTower.findUnoccupiedGateOrNull(passengerAircraft1));
+        gate2.parkAircraft(passengerAircraft2);
+        assertNull(emptyTower.findUnoccupiedGateOrNull(passengerAircraft1));
+        airplaneTerminal1.clearEmergency();
+        assertEquals(gate1, emptyTower.findUnoccupiedGateOrNull(passengerAircraft1));
+
+        // helicopter terminals accept helicopters even during an emergency
+        helicopterTerminal1.declareEmergency();
+        assertEquals(gate3, emptyTower.findUnoccupiedGateOrNull(passengerAircraft3));
+    }
+
+    @Test(expected = NoSuitableGateException.class)
+    public void findUnoccupiedGateNoTerminals() throws NoSuitableGateException {
+        ControlTower emptyTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        emptyTower.findUnoccupiedGate(passengerAircraft1);
+    }
+
+    /* Creates a passenger aircraft waiting to land with its own task list */
+    private Aircraft createLandingAircraft(String callsign) {
+        return new PassengerAircraft(callsign, AircraftCharacteristics.AIRBUS_A320,
+                new TaskList(List.of(
+                        new Task(TaskType.LAND),
+                        new Task(TaskType.WAIT),
+                        new Task(TaskType.LOAD, 100),
+                        new Task(TaskType.TAKEOFF),
+                        new Task(TaskType.AWAY))),
+                AircraftCharacteristics.AIRBUS_A320.fuelCapacity / 2, 100);
+    }
+
+    @Test
+    public void tickSingleRunwayLandsOneAircraft() throws NoSpaceException,
+            NoSuitableGateException {
+        ControlTower emptyTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        airplaneTerminal1.addGate(gate1);
+        airplaneTerminal1.addGate(gate2);
+        emptyTower.addTerminal(airplaneTerminal1);
+        emptyTower.addAircraft(createLandingAircraft("LAN101"));
+        emptyTower.addAircraft(createLandingAircraft("LAN102"));
+
+        assertEquals(List.of(RunwayUse.MIXED), emptyTower.getRunways());
+        emptyTower.tick();
+        assertEquals(1, emptyTower.getLandingQueue().getAircraftInOrder().size());
+    }
+
+    @Test
+    public void tickTwoLandingRunwaysLandTwoAircraft() throws NoSpaceException,
+            NoSuitableGateException {
+        ControlTower emptyTower = new ControlTower(1, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        airplaneTerminal1.addGate(gate1);
+        airplaneTerminal1.addGate(gate2);
+        emptyTower.addTerminal(airplaneTerminal1);
+        emptyTower.addAircraft(createLandingAircraft("LAN101"));
+        emptyTower.addAircraft(createLandingAircraft("LAN102"));
+        emptyTower.setRunways(List.of(RunwayUse.LANDING, RunwayUse.LANDING, RunwayUse.TAKEOFF));
+
+        emptyTower.tick();
+        assertEquals(0, emptyTower.getLandingQueue().getAircraftInOrder().size());
+        assertEquals(2, emptyTower.countAircraftWithTask(TaskType.WAIT));
+    }
+
+    @Test
+    public void tickHashMapLoadingAircraftFinishLoading() throws NoSpaceException,
+            NoSuitableGateException {
+        // the loading time of an aircraft changes as it loads, which must not affect its key
+        ControlTower emptyTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new HashMap<>());
+        airplaneTerminal1.addGate(gate1);
+        airplaneTerminal1.addGate(gate2);
+        emptyTower.addTerminal(airplaneTerminal1);
+        emptyTower.addAircraft(createLandingAircraft("LAN101"));
+        emptyTower.addAircraft(createLandingAircraft("LAN102"));
+
+        assertTrue(emptyTower.runUntil(t -> !t.getLoadingAircraft().isEmpty(), 50) < 50);
+        assertTrue(emptyTower.runUntil(t -> t.getLoadingAircraft().isEmpty(), 50) < 50);
+        assertEquals(0, emptyTower.countAircraftWithTask(TaskType.LOAD));
+    }
+
+    @Test
+    public void constructor_LoadingMapCopiedTest() {
+        Map<Aircraft, Integer> loadingAircraft =
+                new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
+        loadingAircraft.put(passengerAircraftLoading, 3);
+        ControlTower loadingTower = new ControlTower(0,
+                new ArrayList<>(List.of(passengerAircraftLoading)), new LandingQueue(),
+                new TakeoffQueue(), loadingAircraft);
+
+        loadingTower.tick();
+        assertEquals(Integer.valueOf(3), loadingAircraft.get(passengerAircraftLoading));
+        assertEquals(Integer.valueOf(2),
+                loadingTower.getLoadingAircraft().get(passengerAircraftLoading));
+
+        loadingAircraft.clear();
+        loadingTower.tick();
+        assertEquals(Integer.valueOf(1),
+                loadingTower.getLoadingAircraft().get(passengerAircraftLoading));
+    }
+
+    @Test
+    public void constructor_UnmanagedLoadingAircraftTest() {
+        Map<Aircraft, Integer> loadingAircraft =
+                new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
+        loadingAircraft.put(passengerAircraftLoading, 3);
+        ControlTower loadingTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), loadingAircraft);
+
+        loadingTower.tick();
+        assertEquals(Integer.valueOf(2),
+                loadingTower.getLoadingAircraft().get(passengerAircraftLoading));
+    }
 
+    @Test
+    public void placeAircraftInQueues_UnmanagedLoadingAircraftTest() {
+        int loadingTime = passengerAircraftLoading.getLoadingTime();
+        tower.placeAircraftInQueues(passengerAircraftLoading);
+        assertEquals(Integer.valueOf(loadingTime),
+                tower.getLoadingAircraft().get(passengerAircraftLoading));
+
+        tower.placeAircraftInQueues(passengerAircraftLoading);
+        tower.tick();
+        assertEquals(Integer.valueOf(loadingTime - 1),
+                tower.getLoadingAircraft().get(passengerAircraftLoading));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setRunwaysEmpty() {
+        tower.setRunways(List.of());
+    }
+
+    @Test
+    public void addAircraft_DuplicateCallsignTest() throws NoSuitableGateException {
+        tower.addAircraft(passengerAircraftAway);
+        int size = tower.getAircraft().size();
+        Aircraft duplicate = new FreightAircraft("AWY001",
+                AircraftCharacteristics.BOEING_747_8F,
+                new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 50), new Task(TaskType.TAKEOFF))),
+                AircraftCharacteristics.BOEING_747_8F.fuelCapacity, 0);
+        try {
+            tower.addAircraft(duplicate);
+            fail("Adding an aircraft with a callsign already in the tower should throw");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        assertEquals(size, tower.getAircraft().size());
+        assertEquals(1, tower.getAircraft().stream()
+                .filter(aircraft -> aircraft.getCallsign().equals("AWY001")).count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addAircraft_SameAircraftTwiceTest() throws NoSuitableGateException {
+        tower.addAircraft(passengerAircraftAway);
+        tower.addAircraft(passengerAircraftAway);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_DuplicateCallsignTest() {
+        Aircraft duplicate = new PassengerAircraft("ABC001",
+                AircraftCharacteristics.ROBINSON_R44,
+                new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 50), new Task(TaskType.TAKEOFF))),
+                AircraftCharacteristics.ROBINSON_R44.fuelCapacity, 0);
+        new ControlTower(0, new ArrayList<>(List.of(passengerAircraft1, duplicate)),
+                new LandingQueue(), new TakeoffQueue(), new HashMap<>());
+    }
+
+    @Test
+    public void advanceTest() {
+        long ticksBefore = tower.getTicksElapsed();
+        tower.advance(3);
+        assertEquals(ticksBefore + 3, tower.getTicksElapsed());
+    }
+
+    @Test
+    public void advanceZeroTicks() {
+        long ticksBefore = tower.getTicksElapsed();
+        tower.advance(0);
+        assertEquals(ticksBefore, tower.getTicksElapsed());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void advanceNegativeTicks() {
+        tower.advance(-1);
+    }
 
+    @Test
+    public void runUntilConditionHolds() {
+        long target = tower.getTicksElapsed() + 5;
+        assertEquals(5, tower.runUntil(t -> t.getTicksElapsed() >= target, 100));
+        assertEquals(target, tower.getTicksElapsed());
+    }
+
+    @Test
+    public void runUntilConditionAlreadyHolds() {
+        long ticksBefore = tower.getTicksElapsed();
+        assertEquals(0, tower.runUntil(t -> true, 100));
+        assertEquals(ticksBefore, tower.getTicksElapsed());
+    }
+
+    @Test
+    public void runUntilMaxTicks() {
+        long ticksBefore = tower.getTicksElapsed();
+        assertEquals(4, tower.runUntil(t -> false, 4));
+        assertEquals(ticksBefore + 4, tower.getTicksElapsed());
+    }
+
+    /* Creates a tower with enough aircraft to be ticked in parallel */
+    private static ControlTower createLargeTower() throws NoSpaceException,
+            NoSuitableGateException {
+        ControlTower largeTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        for (int i = 0; i < 4; i++) {
+            Terminal terminal = new AirplaneTerminal(i + 1);
+            for (int j = 0; j < Terminal.MAX_NUM_GATES; j++) {
+                terminal.addGate(new Gate(i * Terminal.MAX_NUM_GATES + j + 1));
+            }
+            largeTower.addTerminal(terminal);
+        }
+        TaskType[] startingTasks = {TaskType.AWAY, TaskType.LAND, TaskType.TAKEOFF};
+        for (int i = 0; i < 10000; i++) {
+            List<Task> tasks = new ArrayList<>();
+            tasks.add(new Task(startingTasks[i % 3]));
+            if (startingTasks[i % 3] == TaskType.LAND) {
+                tasks.add(new Task(TaskType.LOAD, i % 100));
+                tasks.add(new Task(TaskType.TAKEOFF));
+                tasks.add(new Task(TaskType.AWAY));
+            } else if (startingTasks[i % 3] == TaskType.TAKEOFF) {
+                tasks.add(new Task(TaskType.AWAY));
+                tasks.add(new Task(TaskType.LAND));
+                tasks.add(new Task(TaskType.LOAD, i % 100));
+            } else {
+                tasks.add(new Task(TaskType.LAND));
+                tasks.add(new Task(TaskType.LOAD, i % 100));
+                tasks.add(new Task(TaskType.TAKEOFF));
+            }
+            largeTower.addAircraft(new PassengerAircraft("PAR" + i,
+                    AircraftCharacteristics.AIRBUS_A320, new TaskList(tasks),
+                    AircraftCharacteristics.AIRBUS_A320.fuelCapacity * (i % 10) / 10, 0));
+        }
+        return largeTower;
+    }
+
+    @Test
+    public void parallelTickMatchesSerialTick() throws NoSpaceException,
+            NoSuitableGateException {
+        ControlTower serialTower = createLargeTower();
+        ControlTower parallelTower = createLargeTower();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallelTower.setParallelTickPool(pool);
+            for (int tick = 0; tick < 12; tick++) {
+                serialTower.tick();
+                parallelTower.tick();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(serialTower.toString(), parallelTower.toString());
+        assertEquals(serialTower.getLandingQueue().encode(),
+                parallelTower.getLandingQueue().encode());
+        assertEquals(serialTower.getTakeoffQueue().encode(),
+                parallelTower.getTakeoffQueue().encode());
+        assertEquals(serialTower.getLoadingAircraft().toString(),
+                parallelTower.getLoadingAircraft().toString());
+        List<Aircraft> serialAircraft = serialTower.getAircraft();
+        List<Aircraft> parallelAircraft = parallelTower.getAircraft();
+        for (int i = 0; i < serialAircraft.size(); i++) {
+            assertEquals(serialAircraft.get(i).encode(), parallelAircraft.get(i).encode());
+            assertEquals(serialAircraft.get(i).getFuelAmount(),
+                    parallelAircraft.get(i).getFuelAmount(), 0);
+        }
+    }
+
+    @Test
+    public void fleetStoreTickMatchesPlainTick() throws NoSpaceException,
+            NoSuitableGateException {
+        ControlTower plainTower = createLargeTower();
+        ControlTower storeTower = createLargeTower();
+        storeTower.useFleetStore();
+        assertEquals(storeTower.countAircraft(), storeTower.getFleetStore().size());
+        for (int tick = 0; tick < 12; tick++) {
+            plainTower.tick();
+            storeTower.tick();
+        }
+        assertEquals(plainTower.toString(), storeTower.toString());
+        assertEquals(plainTower.getLandingQueue().encode(),
+                storeTower.getLandingQueue().encode());
+        assertEquals(plainTower.getTakeoffQueue().encode(),
+                storeTower.getTakeoffQueue().encode());
+        assertEquals(plainTower.getLoadingAircraft().toString(),
+                storeTower.getLoadingAircraft().toString());
+        List<Aircraft> plainAircraft = plainTower.getAircraft();
+        List<Aircraft> storeAircraft = storeTower.getAircraft();
+        for (int i = 0; i < plainAircraft.size(); i++) {
+            assertEquals(plainAircraft.get(i).encode(), storeAircraft.get(i).encode());
+            assertEquals(plainAircraft.get(i).getFuelAmount(),
+                    storeAircraft.get(i).getFuelAmount(), 0);
+            assertSame(storeAircraft.get(i), storeTower.getFleetStore().getAircraft(i));
+        }
+    }
+
+    @Test
+    public void fleetStoreDefaultNull() {
+        assertNull(tower.getFleetStore());
+    }
+
+    @Test
+    public void parallelTickPoolDefaultNull() {
+        assertNull(tower.getParallelTickPool());
+    }
+
+    @Test
+    public void tick_SteadyStateAllocationFreeTest() throws NoSpaceException,
+            NoSuitableGateException {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        ControlTower cyclingTower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        for (int i = 0; i < 2; i++) {
+            Terminal terminal = new AirplaneTerminal(i + 1);
+            for (int j = 0; j < 6; j++) {
+                terminal.addGate(new Gate(i * 6 + j + 1));
+            }
+            cyclingTower.addTerminal(terminal);
+        }
+        for (int i = 0; i < 40; i++) {
+            List<Task> tasks = new ArrayList<>(List.of(new Task(TaskType.AWAY),
+                    new Task(TaskType.AWAY), new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                    new Task(TaskType.WAIT), new Task(TaskType.LOAD, 50),
+                    new Task(TaskType.TAKEOFF)));
+            // start each aircraft at a different point in the same cycle of tasks
+            Collections.rotate(tasks, -(i % tasks.size()));
+            if (i % 2 == 0) {
+                cyclingTower.addAircraft(new PassengerAircraft("PAS" + i,
+                        AircraftCharacteristics.AIRBUS_A320, new TaskList(tasks),
+                        AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 100));
+            } else {
+                cyclingTower.addAircraft(new FreightAircraft("FRT" + i,
+                        AircraftCharacteristics.BOEING_747_8F, new TaskList(tasks),
+                        AircraftCharacteristics.BOEING_747_8F.fuelCapacity, 1000));
+            }
+        }
+        long threadId = Thread.currentThread().getId();
+        // let every map entry be created and the tick path be compiled before measuring
+        for (int tick = 0; tick < 20000; tick++) {
+            cyclingTower.tick();
+        }
+        long fewestBytes = Long.MAX_VALUE;
+        // compilation in the background can occasionally be charged to this thread
+        for (int window = 0; window < 10 && fewestBytes != 0; window++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int tick = 0; tick < 1000; tick++) {
+                cyclingTower.tick();
+            }
+            fewestBytes = Math.min(fewestBytes,
+                    threads.getThreadAllocatedBytes(threadId) - before);
+        }
+        assertEquals(0, fewestBytes);
+        assertTrue(cyclingTower.getLoadingAircraft().size() > 0);
+    }
 }
@@ -0,0 +1,186 @@
+package towersim.control;
+
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.ground.AirplaneTerminal;
+import towersim.ground.Gate;
+import towersim.ground.Terminal;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+import towersim.util.MalformedSaveException;
+import towersim.util.NoSpaceException;
+import towersim.util.NoSuitableGateException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class EventDrivenSimulatorTest {
+
+    private static ControlTower loadBasicTower() throws IOException, MalformedSaveException {
+        return ControlTowerInitialiser.createControlTower(
+                new FileReader("saves/tick_basic.txt"),
+                new FileReader("saves/aircraft_basic.txt"),
+                new FileReader("saves/queues_basic.txt"),
+                new FileReader("saves/terminalsWithGates_basic.txt"));
+    }
+
+    /* Creates a tower whose aircraft spend long stretches away from the airport */
+    private static ControlTower createSparseTower() throws NoSpaceException,
+            NoSuitableGateException {
+        ControlTower tower = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                new TakeoffQueue(), new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+        Terminal terminal = new AirplaneTerminal(1);
+        terminal.addGate(new Gate(1));
+        tower.addTerminal(terminal);
+        for (int i = 0; i < 3; i++) {
+            List<Task> tasks = new ArrayList<>(Collections.nCopies(40 + 17 * i,
+                    new Task(TaskType.AWAY)));
+            tasks.add(new Task(TaskType.LAND));
+            tasks.add(new Task(TaskType.WAIT));
+            tasks.add(new Task(TaskType.LOAD, 60));
+            tasks.add(new Task(TaskType.TAKEOFF));
+            tower.addAircraft(new PassengerAircraft("SPR00" + i,
+                    AircraftCharacteristics.AIRBUS_A320, new TaskList(tasks),
+                    AircraftCharacteristics.AIRBUS_A320.fuelCapacity, 0));
+        }
+        tower.addAircraft(new FreightAircraft("SPR100", AircraftCharacteristics.BOEING_747_8F,
+                new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.AWAY),
+                        new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                        new Task(TaskType.LOAD, 90), new Task(TaskType.TAKEOFF))),
+                AircraftCharacteristics.BOEING_747_8F.fuelCapacity / 4, 0));
+        return tower;
+    }
+
+    @Test
+    public void advance_BasicSaveTest() throws IOException, MalformedSaveException {
+        ControlTower ticked = loadBasicTower();
+        ControlTower simulated = loadBasicTower();
+        EventDrivenSimulator simulator = new EventDrivenSimulator(simulated);
+        for (int ticks : new int[] {1, 2, 5, 13, 40}) {
+            ticked.advance(ticks);
+            simulator.advance(ticks);
+            assertEquals(TowerStates.stateOf(ticked), TowerStates.stateOf(simulated));
+        }
+    }
+
+    @Test
+    public void advance_SparseScheduleTest() throws NoSpaceException,
+            NoSuitableGateException {
+        ControlTower ticked = createSparseTower();
+        ControlTower simulated = createSparseTower();
+        EventDrivenSimulator simulator = new EventDrivenSimulator(simulated);
+        for (int ticks : new int[] {7, 30, 100, 400}) {
+            ticked.advance(ticks);
+            simulator.advance(ticks);
+            assertEquals(TowerStates.stateOf(ticked), TowerStates.stateOf(simulated));
+        }
+    }
+
+    @Test
+    public void advance_AfterEmergencyTest() throws NoSpaceException,
+            NoSuitableGateException {
+        ControlTower ticked = createSparseTower();
+        ControlTower simulated = createSparseTower();
+        EventDrivenSimulator simulator = new EventDrivenSimulator(simulated);
+        ticked.advance(45);
+        simulator.advance(45);
+        ticked.getTerminals().get(0).declareEmergency();
+        simulated.getTerminals().get(0).declareEmergency();
+        ticked.advance(80);
+        simulator.advance(80);
+        assertEquals(TowerStates.stateOf(ticked), TowerStates.stateOf(simulated));
+
+        ticked.getTerminals().get(0).clearEmergency();
+        simulated.getTerminals().get(0).clearEmergency();
+        ticked.advance(200);
+        simulator.advance(200);
+        assertEquals(TowerStates.stateOf(ticked), TowerStates.stateOf(simulated));
+    }
+
+    @Test
+    public void advance_SharedTaskListTest() throws NoSuitableGateException {
+        ControlTower[] towers = new ControlTower[2];
+        for (int i = 0; i < towers.length; i++) {
+            towers[i] = new ControlTower(0, new ArrayList<>(), new LandingQueue(),
+                    new TakeoffQueue(),
+                    new TreeMap<>(Comparator.comparing(Aircraft::getCallsign)));
+            TaskList shared = new TaskList(List.of(new Task(TaskType.AWAY),
+                    new Task(TaskType.AWAY), new Task(TaskType.AWAY), new Task(TaskType.LAND),
+                    new Task(TaskType.LOAD), new Task(TaskType.TAKEOFF)));
+            towers[i].addAircraft(new PassengerAircraft("SHR001",
+                    AircraftCharacteristics.FOKKER_100, shared,
+                    AircraftCharacteristics.FOKKER_100.fuelCapacity, 0));
+            towers[i].addAircraft(new PassengerAircraft("SHR002",
+                    AircraftCharacteristics.FOKKER_100, shared,
+                    AircraftCharacteristics.FOKKER_100.fuelCapacity, 0));
+        }
+        towers[0].advance(25);
+        new EventDrivenSimulator(towers[1]).advance(25);
+        assertEquals(TowerStates.stateOf(towers[0]), TowerStates.stateOf(towers[1]));
+    }
+
+    @Test
+    public void advance_InterleavedWithTickTest() throws NoSpaceException,
+            NoSuitableGateException {
+        ControlTower ticked = createSparseTower();
+        ControlTower simulated = createSparseTower();
+        EventDrivenSimulator simulator = new EventDrivenSimulator(simulated);
+        ticked.advance(30);
+        simulator.advance(30);
+        for (int i = 0; i < 3; i++) {
+            ticked.tick();
+            simulated.tick();
+        }
+        simulated.getAircraft().get(1).getTaskList().moveToNextTask();
+        ticked.getAircraft().get(1).getTaskList().moveToNextTask();
+        ticked.advance(150);
+        simulator.advance(150);
+        assertEquals(TowerStates.stateOf(ticked), TowerStates.stateOf(simulated));
+    }
+
+    @Test
+    public void advance_NeverFinishingLoadTest() {
+        ControlTower[] towers = new ControlTower[2];
+        for (int i = 0; i < towers.length; i++) {
+            Aircraft loading = new PassengerAircraft("LDG001",
+                    AircraftCharacteristics.AIRBUS_A320,
+                    new TaskList(List.of(new Task(TaskType.LOAD, 80), new Task(TaskType.TAKEOFF),
+                            new Task(TaskType.AWAY), new Task(TaskType.LAND))),
+                    AircraftCharacteristics.AIRBUS_A320.fuelCapacity / 4, 0);
+            Map<Aircraft, Integer> loadingAircraft =
+                    new TreeMap<>(Comparator.comparing(Aircraft::getCallsign));
+            loadingAircraft.put(loading, -5);
+            towers[i] = new ControlTower(0, new ArrayList<>(List.of(loading)),
+                    new LandingQueue(), new TakeoffQueue(), loadingAircraft);
+        }
+        towers[0].advance(500);
+        EventDrivenSimulator simulator = new EventDrivenSimulator(towers[1]);
+        simulator.advance(500);
+        assertEquals(TowerStates.stateOf(towers[0]), TowerStates.stateOf(towers[1]));
+
+        // skipping far more ticks than fit in an int must not perform them one at a time
+        simulator.advance(3_000_000_000L);
+        assertEquals(3_000_000_500L, towers[1].getTicksElapsed());
+        assertEquals((int) (-5 - 3_000_000_500L),
+                (int) towers[1].getLoadingAircraft().values().iterator().next());
+        assertEquals(TaskType.LOAD,
+                towers[1].getAircraft().get(0).getTaskList().getCurrentTask().getType());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void advance_NegativeTicksTest() throws IOException, MalformedSaveException {
+        new EventDrivenSimulator(loadBasicTower()).advance(-1);
+    }
+}
@@ -0,0 +1,59 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EventScheduleTest {
+
+    private EventSchedule schedule;
+
+    @Before
+    public void setup() {
+        schedule = new EventSchedule(2);
+    }
+
+    @Test
+    public void getEarliestTick_EmptyTest() {
+        assertEquals(EventSchedule.NO_EVENT, schedule.getEarliestTick());
+    }
+
+    @Test
+    public void schedule_EarliestFirstTest() {
+        schedule.ensureCapacity(5);
+        schedule.schedule(0, 40);
+        schedule.schedule(1, 12);
+        schedule.schedule(2, 97);
+        schedule.schedule(3, 12);
+        schedule.schedule(4, 25);
+        assertEquals(12, schedule.getEarliestTick());
+    }
+
+    @Test
+    public void schedule_RescheduleTest() {
+        schedule.schedule(0, 40);
+        schedule.schedule(1, 12);
+        schedule.schedule(1, 60);
+        assertEquals(40, schedule.getEarliestTick());
+        schedule.schedule(1, 3);
+        assertEquals(3, schedule.getEarliestTick());
+    }
+
+    @Test
+    public void cancel_NextEarliestTest() {
+        schedule.ensureCapacity(4);
+        schedule.schedule(0, 8);
+        schedule.schedule(1, 3);
+        schedule.schedule(2, 5);
+        schedule.schedule(3, 9);
+        schedule.cancel(1);
+        assertEquals(5, schedule.getEarliestTick());
+        schedule.cancel(2);
+        schedule.cancel(2);
+        assertEquals(8, schedule.getEarliestTick());
+        schedule.cancel(0);
+        schedule.cancel(3);
+        assertEquals(EventSchedule.NO_EVENT, schedule.getEarliestTick());
+    }
+}
@@ -10,6 +10,8 @@ import towersim.tasks.Task;
 import towersim.tasks.TaskList;
 import towersim.tasks.TaskType;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -246,4 +248,40 @@ public class LandingQueueTest {
         assertEquals(expected,aircrafts.encode());
     }
 
+    @Test
+    public void clearEmergencyRestoresOrder() {
+        peekAircraftTestEmergency();
+        emptyAircraft.clearEmergency();
+        assertEquals(aircraft1, aircrafts.peekAircraft());
+        List<Aircraft> aircraftTemp = new ArrayList<>();
+        aircraftTemp.add(aircraft1);
+        aircraftTemp.add(aircraft2);
+        aircraftTemp.add(emptyAircraft);
+        aircraftTemp.add(emptyAircraft2);
+        aircraftTemp.add(fullAircraft);
+        assertEquals(aircraftTemp, aircrafts.getAircraftInOrder());
+    }
+
+    @Test
+    public void emergencyDeclaredInOrderAdded() {
+        fullAircraft.declareEmergency();
+        aircraft2.declareEmergency();
+        assertEquals(aircraft2, aircrafts.removeAircraft());
+        assertEquals(fullAircraft, aircrafts.removeAircraft());
+        assertEquals(aircraft1, aircrafts.removeAircraft());
+    }
+
+    @Test
+    public void removeAircraftEmpty() {
+        LandingQueue queue = new LandingQueue();
+        assertNull(queue.peekAircraft());
+        assertNull(queue.removeAircraft());
+    }
+
+    @Test
+    public void encodeToTest() throws IOException {
+        StringWriter writer = new StringWriter();
+        aircrafts.encodeTo(writer);
+        assertEquals(aircrafts.encode(), writer.toString());
+    }
 }
@@ -0,0 +1,89 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LoadingScheduleTest {
+    private LoadingSchedule schedule;
+
+    @Before
+    public void setup() {
+        this.schedule = new LoadingSchedule(4);
+    }
+
+    @Test
+    public void start_TicksRemainingTest() {
+        schedule.start(2, 3);
+        assertTrue(schedule.isLoading(2));
+        assertFalse(schedule.isLoading(0));
+        assertEquals(1, schedule.size());
+        assertEquals(3, schedule.getTicksRemaining(2));
+        schedule.advance();
+        assertEquals(2, schedule.getTicksRemaining(2));
+        assertEquals(2, schedule.getMinTicksRemaining());
+    }
+
+    @Test
+    public void pollFinished_CompletionStepTest() {
+        schedule.start(0, 1);
+        assertEquals(-1, schedule.pollFinished());
+        schedule.advance();
+        assertEquals(0, schedule.getTicksRemaining(0));
+        assertEquals(0, schedule.pollFinished());
+        assertEquals(-1, schedule.pollFinished());
+        assertFalse(schedule.isLoading(0));
+        assertEquals(0, schedule.size());
+    }
+
+    @Test
+    public void pollFinished_StartOrderTest() {
+        schedule.start(3, 2);
+        schedule.start(1, 0);
+        schedule.advance();
+        schedule.start(0, 1);
+        schedule.start(2, 5);
+        schedule.advance();
+        assertEquals(3, schedule.pollFinished());
+        assertEquals(0, schedule.pollFinished());
+        assertEquals(-1, schedule.pollFinished());
+        assertEquals(4, schedule.getMinTicksRemaining());
+    }
+
+    @Test
+    public void start_NegativeTicksTest() {
+        schedule.start(0, -1);
+        assertEquals(-1, schedule.getMinTicksRemaining());
+        schedule.advance();
+        assertEquals(-1, schedule.pollFinished());
+        assertEquals(-2, schedule.getTicksRemaining(0));
+        assertTrue(schedule.isLoading(0));
+    }
+
+    @Test
+    public void skip_PastCompletionTest() {
+        schedule.start(0, 2);
+        schedule.start(1, 5);
+        schedule.skip(3);
+        assertEquals(-1, schedule.getTicksRemaining(0));
+        assertEquals(2, schedule.getMinTicksRemaining());
+        assertEquals(2, schedule.size());
+    }
+
+    @Test
+    public void getLoadingInOrder_StartOrderTest() {
+        schedule.start(2, 4);
+        schedule.start(0, -3);
+        schedule.start(3, 1);
+        assertArrayEquals(new int[]{2, 0, 3}, schedule.getLoadingInOrder());
+    }
+
+    @Test
+    public void ensureCapacity_GrowsTest() {
+        schedule.ensureCapacity(10);
+        schedule.start(9, 0);
+        assertTrue(schedule.isLoading(9));
+        assertEquals(9, schedule.pollFinished());
+    }
+}
@@ -0,0 +1,143 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.util.MalformedSaveException;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MappedSaveFileTest {
+
+    private Path file;
+
+    @Before
+    public void setup() throws IOException {
+        this.file = Files.createTempFile("mapped", ".txt");
+        this.file.toFile().deleteOnExit();
+    }
+
+    /* Returns the lines of the file as read by BufferedReader.readLine() */
+    private List<String> readLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /* Returns the lines of the file as read by a mapped save file with the given window */
+    private List<String> mapLines(int windowSize) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (MappedSaveFile mapped = new MappedSaveFile(file, windowSize)) {
+            while (mapped.nextLine()) {
+                lines.add(mapped.line());
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void nextLine_ReadLineTest() throws IOException {
+        Files.writeString(file, "4\r\nA:B\nC\rD\r\r\n\nE:F:G", Charset.defaultCharset());
+        assertEquals(readLines(), mapLines(1 << 20));
+    }
+
+    @Test
+    public void nextLine_TrailingTerminatorTest() throws IOException {
+        Files.writeString(file, "1\r\nA\r\n", Charset.defaultCharset());
+        assertEquals(List.of("1", "A"), mapLines(1 << 20));
+    }
+
+    @Test
+    public void nextLine_EmptyFileTest() throws IOException {
+        assertTrue(mapLines(1 << 20).isEmpty());
+    }
+
+    @Test
+    public void nextLine_AcrossWindowsTest() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append("LINE").append(i).append(i % 3 == 0 ? "\r\n" : i % 3 == 1 ? "\n" : "\r");
+        }
+        Files.writeString(file, text, Charset.defaultCharset());
+        List<String> expected = readLines();
+        for (int windowSize = 10; windowSize < 40; windowSize++) {
+            assertEquals("window of " + windowSize, expected, mapLines(windowSize));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void nextLine_LongerThanWindowTest() throws IOException {
+        Files.writeString(file, "SHORT\nMUCH LONGER LINE\nX", Charset.defaultCharset());
+        mapLines(8);
+    }
+
+    @Test
+    public void splitRemainingLines_LineStartsTest() throws IOException {
+        StringBuilder text = new StringBuilder("3\r\n");
+        for (int i = 0; i < 100; i++) {
+            text.append("LINE").append(i).append(i % 3 == 0 ? "\r\n" : i % 3 == 1 ? "\n" : "\r");
+        }
+        Files.writeString(file, text, Charset.defaultCharset());
+        List<String> expected = readLines();
+        expected.remove(0);
+        for (int chunkSize = 1; chunkSize < 40; chunkSize++) {
+            List<Long> offsets;
+            try (MappedSaveFile mapped = new MappedSaveFile(file)) {
+                mapped.nextLine();
+                offsets = mapped.splitRemainingLines(chunkSize);
+            }
+            assertEquals(3, (long) offsets.get(0));
+            assertEquals(Files.size(file), (long) offsets.get(offsets.size() - 1));
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i + 1 < offsets.size(); i++) {
+                assertTrue(offsets.get(i + 1) - offsets.get(i) >= Math.min(chunkSize,
+                        Files.size(file) - offsets.get(i)));
+                try (MappedSaveFile chunk = new MappedSaveFile(file, offsets.get(i),
+                        offsets.get(i + 1))) {
+                    while (chunk.nextLine()) {
+                        lines.add(chunk.line());
+                    }
+                }
+            }
+            assertEquals("chunks of " + chunkSize, expected, lines);
+        }
+    }
+
+    @Test
+    public void lineText_NonAsciiTest() throws IOException {
+        Files.write(file, "A\u00e9:1\nB:2\n".getBytes(Charset.defaultCharset()));
+        assertEquals(readLines(), mapLines(1 << 20));
+    }
+
+    @Test
+    public void lineText_AsciiInPlaceTest() throws IOException, MalformedSaveException {
+        Files.writeString(file, "X\nAB:12:true", Charset.defaultCharset());
+        try (MappedSaveFile mapped = new MappedSaveFile(file)) {
+            assertTrue(mapped.nextLine());
+            assertTrue(mapped.nextLine());
+            SaveTokenizer fields = new SaveTokenizer(mapped.lineText(), mapped.lineStart(),
+                    mapped.lineEnd(), ':');
+            assertEquals(3, fields.countFields());
+            fields.nextField();
+            assertEquals("AB", fields.field());
+            fields.nextField();
+            assertEquals(12, fields.parseInt());
+            fields.nextField();
+            assertTrue(fields.parseBoolean());
+            assertFalse(mapped.nextLine());
+        }
+    }
+}
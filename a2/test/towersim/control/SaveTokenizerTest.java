@@ -0,0 +1,107 @@
+package towersim.control;
+
+import org.junit.Test;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.util.MalformedSaveException;
+
+import static org.junit.Assert.*;
+
+public class SaveTokenizerTest {
+
+    @Test
+    public void nextField_SplitTest() {
+        SaveTokenizer fields = new SaveTokenizer("A::B::", ':');
+        assertEquals(3, fields.countFields());
+        assertTrue(fields.nextField());
+        assertEquals("A", fields.field());
+        assertTrue(fields.nextField());
+        assertEquals("", fields.field());
+        assertTrue(fields.nextField());
+        assertEquals("B", fields.field());
+        assertFalse(fields.nextField());
+    }
+
+    @Test
+    public void countFields_EmptyLineTest() {
+        SaveTokenizer fields = new SaveTokenizer("", ',');
+        assertEquals(1, fields.countFields());
+        assertTrue(fields.nextField());
+        assertEquals("", fields.field());
+        assertFalse(fields.nextField());
+    }
+
+    @Test
+    public void countFields_OnlySeparatorsTest() {
+        SaveTokenizer fields = new SaveTokenizer(",,", ',');
+        assertEquals(0, fields.countFields());
+        assertFalse(fields.nextField());
+    }
+
+    @Test
+    public void fieldTokenizer_StaysInFieldTest() {
+        SaveTokenizer fields = new SaveTokenizer("X:AWAY,LOAD@5,:Y", ':');
+        fields.nextField();
+        fields.nextField();
+        SaveTokenizer tasks = fields.fieldTokenizer(',');
+        assertEquals(2, tasks.countFields());
+        tasks.nextField();
+        assertTrue(tasks.fieldEquals("AWAY"));
+        tasks.nextField();
+        assertTrue(tasks.fieldEquals("LOAD@5"));
+        assertFalse(tasks.nextField());
+    }
+
+    @Test
+    public void parseInt_IntegerParseIntTest() throws MalformedSaveException {
+        for (String valid : new String[]{"0", "-0", "+7", "0042", "2147483647", "-2147483648",
+                "\u0663"}) {
+            assertEquals(Integer.parseInt(valid),
+                    SaveTokenizer.parseInt("[" + valid + "]", 1, valid.length() + 1));
+        }
+        for (String invalid : new String[]{"", "-", "+", " 1", "1.0", "2147483648",
+                "-2147483649", "1e3"}) {
+            try {
+                SaveTokenizer.parseInt(invalid, 0, invalid.length());
+                fail("Expected MalformedSaveException for \"" + invalid + "\"");
+            } catch (MalformedSaveException expected) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void parseDouble_DoubleParseDoubleTest() throws MalformedSaveException {
+        for (String valid : new String[]{"115886.68", "0.1", "-0.0", "12.", ".5", "1e3", " 2.5",
+                "NaN", "9007199254740993", "0.30000000000000004"}) {
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(valid)),
+                    Double.doubleToLongBits(SaveTokenizer.parseDouble(valid, 0, valid.length())));
+        }
+        for (String invalid : new String[]{"", ".", "-", "1.2.3", "1,5"}) {
+            try {
+                SaveTokenizer.parseDouble(invalid, 0, invalid.length());
+                fail("Expected MalformedSaveException for \"" + invalid + "\"");
+            } catch (MalformedSaveException expected) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void parseBoolean_AndEnumTest() throws MalformedSaveException {
+        SaveTokenizer fields = new SaveTokenizer("TRUE:yes:AIRBUS_A320", ':');
+        fields.nextField();
+        assertTrue(fields.parseBoolean());
+        fields.nextField();
+        assertFalse(fields.parseBoolean());
+        fields.nextField();
+        assertEquals(AircraftCharacteristics.AIRBUS_A320,
+                fields.parseEnum(AircraftCharacteristics.values()));
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void parseEnum_UnknownNameTest() throws MalformedSaveException {
+        SaveTokenizer fields = new SaveTokenizer("AIRBUS", ':');
+        fields.nextField();
+        fields.parseEnum(AircraftCharacteristics.values());
+    }
+}
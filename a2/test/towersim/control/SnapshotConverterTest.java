@@ -0,0 +1,72 @@
+package towersim.control;
+
+import org.junit.Test;
+import towersim.util.MalformedSaveException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class SnapshotConverterTest {
+
+    /* Returns the contents of the given save file, with every line ending in a newline */
+    private static String readSave(String filename) throws IOException {
+        return String.join(System.lineSeparator(), Files.readAllLines(Path.of(filename)));
+    }
+
+    /* Converts the given text save to a snapshot and back, returning the four texts */
+    private static String[] roundTrip(String tick, String aircraft, String queues,
+                                      String terminals)
+            throws IOException, MalformedSaveException {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        SnapshotConverter.textToSnapshot(new StringReader(tick), new StringReader(aircraft),
+                new StringReader(queues), new StringReader(terminals), snapshot);
+        StringWriter[] writers = {new StringWriter(), new StringWriter(), new StringWriter(),
+            new StringWriter()};
+        SnapshotConverter.snapshotToText(new ByteArrayInputStream(snapshot.toByteArray()),
+                writers[0], writers[1], writers[2], writers[3]);
+        String[] texts = new String[writers.length];
+        for (int i = 0; i < writers.length; i++) {
+            texts[i] = writers[i].toString();
+        }
+        return texts;
+    }
+
+    @Test
+    public void textToSnapshot_RoundTripBasicSaveTest() throws IOException, MalformedSaveException {
+        String[] original = {readSave("saves/tick_basic.txt"),
+            readSave("saves/aircraft_basic.txt"), readSave("saves/queues_basic.txt"),
+            readSave("saves/terminalsWithGates_basic.txt")};
+        assertArrayEquals(original,
+                roundTrip(original[0], original[1], original[2], original[3]));
+    }
+
+    @Test
+    public void textToSnapshot_RoundTripLoadingTest() throws IOException, MalformedSaveException {
+        String newLine = System.lineSeparator();
+        String[] original = {"12",
+            "2" + newLine
+                + "ABC123:AIRBUS_A320:LOAD@60,TAKEOFF,AWAY*3,LAND,WAIT:300.50:true:10" + newLine
+                + "XYZ987:BOEING_747_8F:LOAD@20,TAKEOFF,AWAY,LAND,WAIT*2:40.00:false:0",
+            "TakeoffQueue:0" + newLine + "LandingQueue:0" + newLine + "LoadingAircraft:2"
+                + newLine + "ABC123:4,XYZ987:2",
+            "1" + newLine + "AirplaneTerminal:3:true:2" + newLine + "1:XYZ987" + newLine
+                + "2:ABC123"};
+        assertArrayEquals(original,
+                roundTrip(original[0], original[1], original[2], original[3]));
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void snapshotToText_RejectsTextTest() throws IOException, MalformedSaveException {
+        StringWriter writer = new StringWriter();
+        SnapshotConverter.snapshotToText(
+                new ByteArrayInputStream(readSave("saves/tick_basic.txt").getBytes()),
+                writer, writer, writer, writer);
+    }
+}
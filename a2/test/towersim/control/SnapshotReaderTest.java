@@ -0,0 +1,163 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.ground.Terminal;
+import towersim.util.MalformedSaveException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SnapshotReaderTest {
+
+    private static final String AIRCRAFT = "4\n"
+            + "QFA481:AIRBUS_A320:AWAY*2,LAND,WAIT,WAIT,LOAD@60,TAKEOFF,AWAY:10000.25:false:132\n"
+            + "UTD302:BOEING_787:LOAD@100,TAKEOFF,AWAY,AWAY,AWAY,LAND,WAIT:10000.00:true:0\n"
+            + "UPS119:BOEING_747_8F:LOAD@100,TAKEOFF,AWAY,AWAY,AWAY,LAND,WAIT:4000.00:false:0\n"
+            + "VH-BFK:ROBINSON_R44:LAND,WAIT,LOAD@75,TAKEOFF,AWAY,AWAY:40.00:false:4";
+
+    private static final String QUEUES = "TakeoffQueue:0\n"
+            + "LandingQueue:1\n"
+            + "VH-BFK\n"
+            + "LoadingAircraft:2\n"
+            + "UTD302:3,UPS119:1";
+
+    private static final String TERMINALS = "2\n"
+            + "AirplaneTerminal:1:false:2\n"
+            + "1:UTD302\n"
+            + "2:UPS119\n"
+            + "HelicopterTerminal:2:true:1\n"
+            + "1:empty";
+
+    private ControlTower tower;
+
+    @Before
+    public void setup() throws IOException, MalformedSaveException {
+        this.tower = ControlTowerInitialiser.createControlTower(new StringReader("7"),
+                new StringReader(AIRCRAFT), new StringReader(QUEUES),
+                new StringReader(TERMINALS));
+    }
+
+    /* Writes a snapshot of the given tower */
+    private static byte[] snapshotOf(ControlTower tower) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter.write(tower, out);
+        return out.toByteArray();
+    }
+
+    /* Reads a tower from the given snapshot */
+    private static ControlTower read(byte[] snapshot)
+            throws IOException, MalformedSaveException {
+        return SnapshotReader.read(new ByteArrayInputStream(snapshot));
+    }
+
+    @Test
+    public void read_RoundTripEncodingsTest() throws IOException, MalformedSaveException {
+        tower.tick();
+        ControlTower read = read(snapshotOf(tower));
+        assertEquals(tower.getTicksElapsed(), read.getTicksElapsed());
+        assertEquals(tower.countAircraft(), read.countAircraft());
+        for (int i = 0; i < tower.countAircraft(); i++) {
+            assertEquals(tower.getAircraft().get(i).encode(), read.getAircraft().get(i).encode());
+            assertEquals(tower.getAircraft().get(i).getTaskList().toString(),
+                    read.getAircraft().get(i).getTaskList().toString());
+        }
+        assertEquals(tower.getTakeoffQueue().encode(), read.getTakeoffQueue().encode());
+        assertEquals(tower.getLandingQueue().encode(), read.getLandingQueue().encode());
+        assertEquals(tower.getLoadingAircraft().toString(), read.getLoadingAircraft().toString());
+        assertEquals(tower.countTerminals(), read.countTerminals());
+        for (int i = 0; i < tower.countTerminals(); i++) {
+            assertEquals(tower.getTerminals().get(i).encode(),
+                    read.getTerminals().get(i).encode());
+        }
+    }
+
+    @Test
+    public void read_RoundTripBehaviourTest() throws IOException, MalformedSaveException {
+        ControlTower read = read(snapshotOf(tower));
+        tower.advance(40);
+        read.advance(40);
+        assertArrayEquals(snapshotOf(tower), snapshotOf(read));
+    }
+
+    @Test
+    public void read_RoundTripExactFuelTest() throws IOException, MalformedSaveException {
+        tower.advance(3);
+        ControlTower read = read(snapshotOf(tower));
+        for (int i = 0; i < tower.countAircraft(); i++) {
+            assertEquals(Double.doubleToLongBits(tower.getAircraft().get(i).getFuelAmount()),
+                    Double.doubleToLongBits(read.getAircraft().get(i).getFuelAmount()));
+        }
+    }
+
+    @Test
+    public void read_RoundTripSharedSchedulesTest() throws IOException, MalformedSaveException {
+        ControlTower read = read(snapshotOf(tower));
+        Aircraft passenger = read.getAircraft().get(1);
+        Aircraft freight = read.getAircraft().get(2);
+        assertSame(passenger.getTaskList().getSchedule(), freight.getTaskList().getSchedule());
+        assertTrue(passenger.hasEmergency());
+        Terminal helicopterTerminal = read.getTerminals().get(1);
+        assertTrue(helicopterTerminal.hasEmergency());
+        Map<Aircraft, Integer> loading = read.getLoadingAircraft();
+        assertEquals(Integer.valueOf(3), loading.get(passenger));
+        assertEquals(passenger, read.getTerminals().get(0).getGates().get(0)
+                .getAircraftAtGate());
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void read_BadMagicTest() throws IOException, MalformedSaveException {
+        byte[] snapshot = snapshotOf(tower);
+        snapshot[0] = 'X';
+        read(snapshot);
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void read_UnsupportedVersionTest() throws IOException, MalformedSaveException {
+        byte[] snapshot = snapshotOf(tower);
+        ByteBuffer.wrap(snapshot).putInt(4, SnapshotWriter.VERSION + 1);
+        read(snapshot);
+    }
+
+    @Test
+    public void read_TruncatedOrExtendedTest() throws IOException {
+        byte[] snapshot = snapshotOf(tower);
+        for (int length : new int[]{0, 12, snapshot.length / 2, snapshot.length - 1,
+                snapshot.length + 1}) {
+            try {
+                read(Arrays.copyOf(snapshot, length));
+                fail("Snapshot of " + length + " bytes should be malformed");
+            } catch (MalformedSaveException expected) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = MalformedSaveException.class)
+    public void read_DuplicateCallsignTest() throws IOException, MalformedSaveException {
+        byte[] snapshot = snapshotOf(tower);
+        String original = new String(snapshot, StandardCharsets.ISO_8859_1);
+        // both callsigns are six bytes long, so the rest of the snapshot is unchanged
+        byte[] duplicated = original.replace("UPS119", "UTD302")
+                .getBytes(StandardCharsets.ISO_8859_1);
+        read(duplicated);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void write_UnmanagedLoadingAircraftTest() throws IOException,
+            MalformedSaveException {
+        Aircraft unmanaged = ControlTowerInitialiser.readAircraft(
+                "QFA999:AIRBUS_A320:LOAD@60,TAKEOFF,AWAY,LAND:10000.00:false:0");
+        tower.placeAircraftInQueues(unmanaged);
+        snapshotOf(tower);
+    }
+}
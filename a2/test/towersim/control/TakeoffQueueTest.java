@@ -0,0 +1,86 @@
+package towersim.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import towersim.aircraft.Aircraft;
+import towersim.aircraft.AircraftCharacteristics;
+import towersim.aircraft.FreightAircraft;
+import towersim.aircraft.PassengerAircraft;
+import towersim.tasks.Task;
+import towersim.tasks.TaskList;
+import towersim.tasks.TaskType;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TakeoffQueueTest {
+
+    private Aircraft aircraft1;
+    private Aircraft aircraft2;
+    private Aircraft aircraft3;
+
+    private TakeoffQueue aircrafts;
+
+    @Before
+    public void setUp() {
+        aircrafts = new TakeoffQueue();
+
+        TaskList taskList = new TaskList(List.of(
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 50)));
+
+        this.aircraft1 = new PassengerAircraft("ABC001", AircraftCharacteristics.AIRBUS_A320,
+                taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity / 2, 0);
+
+        this.aircraft2 = new FreightAircraft("ABC002", AircraftCharacteristics.BOEING_747_8F,
+                taskList, AircraftCharacteristics.BOEING_747_8F.fuelCapacity / 2, 0);
+
+        // same callsign digits as aircraft1, rearranged
+        this.aircraft3 = new PassengerAircraft("CBA100", AircraftCharacteristics.AIRBUS_A320,
+                taskList, AircraftCharacteristics.AIRBUS_A320.fuelCapacity / 2, 0);
+
+        aircrafts.addAircraft(aircraft1);
+        aircrafts.addAircraft(aircraft2);
+    }
+
+    @Test
+    public void peekAircraftFirstAdded() {
+        assertEquals(aircraft1, aircrafts.peekAircraft());
+    }
+
+    @Test
+    public void removeAircraftFifo() {
+        assertEquals(aircraft1, aircrafts.removeAircraft());
+        assertEquals(aircraft2, aircrafts.removeAircraft());
+        assertNull(aircrafts.removeAircraft());
+        assertNull(aircrafts.peekAircraft());
+    }
+
+    @Test
+    public void containsAircraftAfterRemove() {
+        assertTrue(aircrafts.containsAircraft(aircraft1));
+        aircrafts.removeAircraft();
+        assertFalse(aircrafts.containsAircraft(aircraft1));
+        assertTrue(aircrafts.containsAircraft(aircraft2));
+    }
+
+    @Test
+    public void containsAircraftNotAdded() {
+        assertFalse(aircrafts.containsAircraft(aircraft3));
+    }
+
+    @Test
+    public void addAircraftTwice() {
+        aircrafts.addAircraft(aircraft1);
+        assertEquals(List.of(aircraft1, aircraft2), aircrafts.getAircraftInOrder());
+    }
+
+    @Test
+    public void encodeTest() {
+        aircrafts.addAircraft(aircraft3);
+        assertEquals("TakeoffQueue:3\nABC001,ABC002,CBA100", aircrafts.encode());
+    }
+}
@@ -0,0 +1,33 @@
+package towersim.control;
+
+import towersim.aircraft.Aircraft;
+import towersim.ground.Terminal;
+
+import java.util.Map;
+
+/* Describes control tower state for tests that compare two ways of simulating a tower */
+final class TowerStates {
+
+    private TowerStates() {
+    }
+
+    /* Returns a string describing the full state of the given tower */
+    static String stateOf(ControlTower tower) {
+        StringBuilder state = new StringBuilder();
+        state.append(tower.getTicksElapsed()).append('\n');
+        state.append(tower.getLandingQueue().encode()).append('\n');
+        state.append(tower.getTakeoffQueue().encode()).append('\n');
+        for (Map.Entry<Aircraft, Integer> entry : tower.getLoadingAircraft().entrySet()) {
+            state.append(entry.getKey().getCallsign()).append(':').append(entry.getValue())
+                    .append('\n');
+        }
+        for (Aircraft aircraft : tower.getAircraft()) {
+            state.append(aircraft.encode()).append(':').append(aircraft.getFuelAmount())
+                    .append(':').append(aircraft.calculateOccupancyLevel()).append('\n');
+        }
+        for (Terminal terminal : tower.getTerminals()) {
+            state.append(terminal.encode()).append('\n');
+        }
+        return state.toString();
+    }
+}
@@ -11,6 +11,9 @@ import towersim.tasks.TaskType;
 import towersim.util.NoSpaceException;
 import towersim.util.NoSuitableGateException;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -195,6 +198,33 @@ public class TerminalTest {
                 gate2, found);
     }
 
+    @Test
+    public void findUnoccupiedGateOrNull_Test() throws NoSpaceException {
+        assertNull("findUnoccupiedGateOrNull() should return null if there are no gates",
+                airplaneTerminal.findUnoccupiedGateOrNull());
+        airplaneTerminal.addGate(gate1);
+        airplaneTerminal.addGate(gate2);
+        gate1.parkAircraft(aircraft);
+        assertEquals("findUnoccupiedGateOrNull() should return the first unoccupied gate",
+                gate2, airplaneTerminal.findUnoccupiedGateOrNull());
+        gate2.parkAircraft(aircraft);
+        assertNull("findUnoccupiedGateOrNull() should return null if all gates are occupied",
+                airplaneTerminal.findUnoccupiedGateOrNull());
+        gate1.aircraftLeaves();
+        assertEquals("findUnoccupiedGateOrNull() should return a gate once it is vacated",
+                gate1, airplaneTerminal.findUnoccupiedGateOrNull());
+    }
+
+    @Test
+    public void findUnoccupiedGateOrNull_OccupiedBeforeAddedTest() throws NoSpaceException {
+        gate1.parkAircraft(aircraft);
+        airplaneTerminal.addGate(gate1);
+        assertFalse("A terminal whose only gate was already occupied has no unoccupied gate",
+                airplaneTerminal.hasUnoccupiedGate());
+        airplaneTerminal.addGate(gate2);
+        assertEquals(gate2, airplaneTerminal.findUnoccupiedGateOrNull());
+    }
+
     @Test
     public void calculateOccupancyLevel_NoGatesTest() {
         assertEquals("If there are no gates in the terminal, calculateOccupancyLevel() should "
@@ -265,4 +295,41 @@ public class TerminalTest {
         helicopterTerminal.declareEmergency();
         assertEquals("HelicopterTerminal 2, 3 gates (EMERGENCY)", helicopterTerminal.toString());
     }
+
+    @Test
+    public void getGatesView_LiveTest() throws NoSpaceException {
+        List<Gate> view = airplaneTerminal.getGatesView();
+        assertEquals(List.of(), view);
+        airplaneTerminal.addGate(gate1);
+        airplaneTerminal.addGate(gate2);
+        assertEquals("getGatesView() should reflect gates added after it was returned",
+                List.of(gate1, gate2), view);
+        assertSame(view, airplaneTerminal.getGatesView());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getGatesView_NonModifiableTest() {
+        airplaneTerminal.getGatesView().add(gate1);
+    }
+
+    @Test
+    public void forEachGate_OrderTest() throws NoSpaceException {
+        airplaneTerminal.addGate(gate2);
+        airplaneTerminal.addGate(gate1);
+        airplaneTerminal.addGate(gate3);
+        List<Gate> visited = new ArrayList<>();
+        airplaneTerminal.forEachGate(visited::add);
+        assertEquals(airplaneTerminal.getGates(), visited);
+    }
+
+    @Test
+    public void encodeToTest() throws NoSpaceException, IOException {
+        airplaneTerminal.addGate(gate1);
+        airplaneTerminal.addGate(gate2);
+        gate2.parkAircraft(aircraft);
+        StringWriter writer = new StringWriter();
+        airplaneTerminal.encodeTo(writer);
+        assertEquals("AirplaneTerminal:1:false:2\n1:empty\n2:ABC123", writer.toString());
+        assertEquals(writer.toString(), airplaneTerminal.encode());
+    }
 }
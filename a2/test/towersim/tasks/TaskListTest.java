@@ -146,4 +146,86 @@ public class TaskListTest {
                 new Task(TaskType.TAKEOFF)));
         System.out.print(list.encode());
     }
+
+    @Test
+    public void moveForwardTest() {
+        Task loadTask = new Task(TaskType.LOAD);
+        TaskList list = new TaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                loadTask,
+                new Task(TaskType.TAKEOFF)));
+        list.moveForward(6);
+        assertEquals("moveForward() should move through the list circularly",
+                loadTask, list.getCurrentTask());
+    }
+
+    @Test
+    public void getMovesUntilTypeChangesTest() {
+        TaskList list = new TaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY),
+                new Task(TaskType.AWAY)));
+        assertEquals(1, list.getMovesUntilTypeChanges());
+        list.moveForward(4);
+        // the run of AWAY tasks wraps around to the start of the list
+        assertEquals(3, list.getMovesUntilTypeChanges());
+    }
+
+    @Test
+    public void getMovesUntilTypeChanges_SameTypeTest() {
+        TaskList list = new TaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.AWAY)));
+        assertEquals(-1, list.getMovesUntilTypeChanges());
+    }
+
+    @Test
+    public void repeatedTaskTest() {
+        TaskList list = new TaskList(List.of(new Task(TaskType.AWAY, 0, 3),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF)));
+        int[] notifications = new int[1];
+        list.addListener((taskList, previousTask) -> notifications[0]++);
+        assertEquals("TaskList currently on AWAY [1/6]", list.toString());
+        assertEquals(TaskType.AWAY, list.getNextTask().getType());
+        assertEquals(3, list.getMovesUntilTypeChanges());
+        list.moveToNextTask();
+        list.moveToNextTask();
+        assertEquals(0, notifications[0]);
+        assertEquals("TaskList currently on AWAY [3/6]", list.toString());
+        assertEquals(TaskType.LAND, list.getNextTask().getType());
+        assertEquals(1, list.getMovesUntilTypeChanges());
+        list.moveToNextTask();
+        assertEquals(1, notifications[0]);
+        assertEquals(TaskType.LAND, list.getCurrentTask().getType());
+    }
+
+    @Test
+    public void moveForward_RepeatedTaskTest() {
+        TaskList list = new TaskList(List.of(new Task(TaskType.AWAY, 0, 3),
+                new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF)));
+        int[] notifications = new int[1];
+        list.addListener((taskList, previousTask) -> notifications[0]++);
+        list.moveForward(2);
+        assertEquals(0, notifications[0]);
+        list.moveForward(6);
+        assertEquals(1, notifications[0]);
+        assertEquals("TaskList currently on AWAY [3/6]", list.toString());
+        list.moveForward(2);
+        assertEquals(TaskType.LOAD, list.getCurrentTask().getType());
+    }
+
+    @Test
+    public void encode_PartlyRepeatedTaskTest() {
+        TaskList list = new TaskList(List.of(new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 75),
+                new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY, 0, 5)));
+        assertEquals("LAND,LOAD@75,TAKEOFF,AWAY*5", list.encode());
+        list.moveForward(5);
+        assertEquals("AWAY*3,LAND,LOAD@75,TAKEOFF,AWAY*2", list.encode());
+    }
 }
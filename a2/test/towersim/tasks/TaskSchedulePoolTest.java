@@ -0,0 +1,96 @@
+package towersim.tasks;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TaskSchedulePoolTest {
+    private TaskSchedulePool pool;
+
+    @Before
+    public void setup() {
+        this.pool = new TaskSchedulePool();
+    }
+
+    @Test
+    public void identicalTasksShareSchedule() {
+        TaskList first = pool.createTaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.LOAD, 60), new Task(TaskType.TAKEOFF)));
+        TaskList second = pool.createTaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.LOAD, 60), new Task(TaskType.TAKEOFF)));
+        assertSame(first.getSchedule(), second.getSchedule());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void rotationsShareSchedule() {
+        TaskList away = pool.createTaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.WAIT), new Task(TaskType.LOAD, 60),
+                new Task(TaskType.TAKEOFF)));
+        TaskList wait = pool.createTaskList(List.of(new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, 60), new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        assertSame(away.getSchedule(), wait.getSchedule());
+        assertEquals("AWAY,LAND,WAIT,LOAD@60,TAKEOFF", away.encode());
+        assertEquals("WAIT,LOAD@60,TAKEOFF,AWAY,LAND", wait.encode());
+        assertEquals("TaskList currently on WAIT [1/5]", wait.toString());
+        wait.moveToNextTask();
+        assertEquals("TaskList currently on LOAD at 60% [2/5]", wait.toString());
+    }
+
+    @Test
+    public void differentLoadPercentDoesNotShare() {
+        TaskList first = pool.createTaskList(List.of(new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, 60), new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        TaskList second = pool.createTaskList(List.of(new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, 70), new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        assertNotSame(first.getSchedule(), second.getSchedule());
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void sharedScheduleKeepsPositionsSeparate() {
+        TaskList first = pool.createTaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.LOAD, 60), new Task(TaskType.TAKEOFF)));
+        TaskList second = pool.createTaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.LOAD, 60), new Task(TaskType.TAKEOFF)));
+        first.moveToNextTask();
+        assertEquals(TaskType.LAND, first.getCurrentTask().getType());
+        assertEquals(TaskType.AWAY, second.getCurrentTask().getType());
+        assertEquals(1, second.getMovesUntilTypeChanges());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidTasks() {
+        pool.createTaskList(List.of(new Task(TaskType.AWAY), new Task(TaskType.LOAD, 60)));
+    }
+
+    @Test
+    public void repeatedTasksAreMerged() {
+        TaskList split = pool.createTaskList(List.of(new Task(TaskType.AWAY, 0, 3),
+                new Task(TaskType.LAND), new Task(TaskType.LOAD, 50), new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY, 0, 2)));
+        TaskList whole = pool.createTaskList(List.of(new Task(TaskType.LAND),
+                new Task(TaskType.LOAD, 50), new Task(TaskType.TAKEOFF),
+                new Task(TaskType.AWAY, 0, 5)));
+        assertSame(split.getSchedule(), whole.getSchedule());
+        assertEquals(4, split.getSchedule().size());
+        assertEquals("TaskList currently on AWAY [1/8]", split.toString());
+        assertEquals(3, split.getMovesUntilTypeChanges());
+        assertEquals("AWAY*3,LAND,LOAD@50,TAKEOFF,AWAY*2", split.encode());
+    }
+
+    @Test
+    public void unrepeatedRunsAreNotMerged() {
+        TaskList list = pool.createTaskList(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.AWAY), new Task(TaskType.LAND), new Task(TaskType.LOAD, 50),
+                new Task(TaskType.TAKEOFF)));
+        assertEquals(5, list.getSchedule().size());
+        assertEquals("AWAY,AWAY,LAND,LOAD@50,TAKEOFF", list.encode());
+    }
+}
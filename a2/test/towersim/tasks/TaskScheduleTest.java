@@ -0,0 +1,58 @@
+package towersim.tasks;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TaskScheduleTest {
+    @Test
+    public void getTaskInOrder() {
+        TaskSchedule schedule = new TaskSchedule(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.LOAD, 20), new Task(TaskType.TAKEOFF)));
+        assertEquals(4, schedule.size());
+        assertEquals(TaskType.LAND, schedule.getTask(1).getType());
+        assertEquals(20, schedule.getTask(2).getLoadPercent());
+    }
+
+    @Test
+    public void equalsByTypeAndLoadPercent() {
+        TaskSchedule first = new TaskSchedule(List.of(new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, 20), new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        TaskSchedule second = new TaskSchedule(List.of(new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, 20), new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        TaskSchedule other = new TaskSchedule(List.of(new Task(TaskType.WAIT),
+                new Task(TaskType.LOAD, 21), new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY),
+                new Task(TaskType.LAND)));
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    public void getSmallestRotationTest() {
+        TaskSchedule schedule = new TaskSchedule(List.of(new Task(TaskType.LOAD, 20),
+                new Task(TaskType.TAKEOFF), new Task(TaskType.AWAY), new Task(TaskType.AWAY),
+                new Task(TaskType.LAND), new Task(TaskType.WAIT)));
+        assertEquals(2, schedule.getSmallestRotation());
+    }
+
+    @Test
+    public void getMovesUntilTypeChangesTest() {
+        TaskSchedule schedule = new TaskSchedule(List.of(new Task(TaskType.AWAY),
+                new Task(TaskType.AWAY), new Task(TaskType.LAND), new Task(TaskType.LOAD, 20),
+                new Task(TaskType.TAKEOFF)));
+        assertEquals(2, schedule.getMovesUntilTypeChanges(0));
+        assertEquals(1, schedule.getMovesUntilTypeChanges(4));
+        assertEquals(-1, new TaskSchedule(List.of(new Task(TaskType.AWAY)))
+                .getMovesUntilTypeChanges(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyTasks() {
+        new TaskSchedule(List.of());
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Test;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 public class TaskTest {
 
@@ -41,4 +42,35 @@ public class TaskTest {
     public void toString_LoadTaskTest() {
         assertEquals("LOAD at 42%", new Task(TaskType.LOAD, 42).toString());
     }
+
+    @Test
+    public void encode_RepeatedTaskTest() {
+        assertEquals("AWAY*24", new Task(TaskType.AWAY, 0, 24).encode());
+        assertEquals("WAIT", new Task(TaskType.WAIT, 0, 1).encode());
+    }
+
+    @Test
+    public void getRepeatCount_DefaultTest() {
+        assertEquals(1, new Task(TaskType.LOAD, 40).getRepeatCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void repeatCount_NonRepeatableTypeTest() {
+        new Task(TaskType.LAND, 0, 2);
+    }
+
+    @Test
+    public void equals_RepeatCountTest() {
+        // these tasks had the same hash code when it was a sum of their fields
+        assertNotEquals(new Task(TaskType.WAIT, 31), new Task(TaskType.WAIT, 0, 2));
+        assertEquals(new Task(TaskType.AWAY, 0, 3), new Task(TaskType.AWAY, 0, 3));
+        assertEquals(new Task(TaskType.AWAY, 0, 3).hashCode(),
+                new Task(TaskType.AWAY, 0, 3).hashCode());
+        assertNotEquals(new Task(TaskType.AWAY), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void repeatCount_ZeroTest() {
+        new Task(TaskType.AWAY, 0, 0);
+    }
 }
@@ -2,6 +2,9 @@ package towersim.tasks;
 
 import org.junit.Test;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import static org.junit.Assert.assertEquals;
 
 public class TaskTypeTest {
@@ -14,4 +17,17 @@ public class TaskTypeTest {
         assertEquals("Loading at gate", TaskType.LOAD.getDescription());
         assertEquals("Waiting in queue to take off", TaskType.TAKEOFF.getDescription());
     }
+
+    @Test
+    public void canBeFollowedBy_Test() {
+        Set<TaskType> awayNext = EnumSet.of(TaskType.AWAY, TaskType.LAND);
+        Set<TaskType> groundNext = EnumSet.of(TaskType.WAIT, TaskType.LOAD);
+        for (TaskType next : TaskType.values()) {
+            assertEquals(awayNext.contains(next), TaskType.AWAY.canBeFollowedBy(next));
+            assertEquals(groundNext.contains(next), TaskType.LAND.canBeFollowedBy(next));
+            assertEquals(groundNext.contains(next), TaskType.WAIT.canBeFollowedBy(next));
+            assertEquals(next == TaskType.TAKEOFF, TaskType.LOAD.canBeFollowedBy(next));
+            assertEquals(next == TaskType.AWAY, TaskType.TAKEOFF.canBeFollowedBy(next));
+        }
+    }
 }